@@ -9,6 +9,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Objects;
 
 /**
  * The {@code Account} class represents an entity for managing account information.
@@ -21,7 +22,7 @@ import java.time.LocalDate;
  * <p>Annotations:</p>
  * <ul>
  * <li>{@code @Entity} - Specifies that this class is an entity mapped to the database.</li>
- * <li>{@code @Table(name = "account")} - Specifies the table name for this entity.</li>
+ * <li>{@code @Table(name = "account")} - Specifies the table name and indexes for this entity.</li>
  * <li>{@code @Cache} - Configures Hibernate caching with READ_WRITE strategy.</li>
  * </ul>
  *
@@ -31,15 +32,25 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "account", indexes = @Index(name = "idx_acct_id", columnList = "acct_id"))
+@Table(name = "account", indexes = {
+        @Index(name = "idx_account_status", columnList = "status"),
+        @Index(name = "idx_account_contract_date", columnList = "contract_date")
+})
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Account {
 
   /**
    * The unique identifier for the account entity.
+   * <p>
+   * Identifiers are taken from the {@code account} row of the {@code id_generator} table in blocks of 50,
+   * so that inserts can be sent in JDBC batches. An {@code IDENTITY} column would force Hibernate to
+   * execute every insert on its own to read back the generated key.
+   * </p>
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "account_id")
+  @TableGenerator(name = "account_id", table = "id_generator", pkColumnName = "sequence_name",
+          valueColumnName = "next_val", pkColumnValue = "account", allocationSize = 50)
   private Long id;
 
   /**
@@ -118,6 +129,13 @@ public class Account {
   @Column(name = "acct_id", nullable = false, unique = true)
   private String acctID;
 
+  /**
+   * Whether the account is still present in IDMS. Inactive accounts are excluded from reads.
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private AccountStatus status = AccountStatus.ACTIVE;
+
   /**
    * Converts the current {@code Account} entity to an {@code AccountDTO}.
    * <p>
@@ -143,4 +161,50 @@ public class Account {
     accountDTO.setAcctID(acctID);
     return accountDTO;
   }
+
+  /**
+   * Checks whether this account carries the same business data as another account.
+   * <p>
+   * Only the fields received from IDMS are compared; the identifier and version are ignored.
+   * Prices are compared by numeric value so that a difference in scale is not treated as a change.
+   * </p>
+   *
+   * @param other the account to compare with
+   * @return {@code true} if all business fields are equal; otherwise {@code false}
+   */
+  public boolean hasSameContent(Account other) {
+    boolean samePrice = contractSalesPrice == null || other.contractSalesPrice == null
+            ? contractSalesPrice == other.contractSalesPrice
+            : contractSalesPrice.compareTo(other.contractSalesPrice) == 0;
+    return samePrice
+            && Objects.equals(acctType, other.acctType)
+            && Objects.equals(salesGroupPerson1ID, other.salesGroupPerson1ID)
+            && Objects.equals(contractDate, other.contractDate)
+            && Objects.equals(collateralStockNumber, other.collateralStockNumber)
+            && Objects.equals(collateralYearModel, other.collateralYearModel)
+            && Objects.equals(collateralMake, other.collateralMake)
+            && Objects.equals(collateralModel, other.collateralModel)
+            && Objects.equals(borrower1FirstName, other.borrower1FirstName)
+            && Objects.equals(borrower1LastName, other.borrower1LastName)
+            && Objects.equals(acctID, other.acctID);
+  }
+
+  /**
+   * Copies the business data of another account into this entity, keeping this entity's identifier.
+   *
+   * @param other the account to copy from
+   */
+  public void copyContentFrom(Account other) {
+    contractSalesPrice = other.contractSalesPrice;
+    acctType = other.acctType;
+    salesGroupPerson1ID = other.salesGroupPerson1ID;
+    contractDate = other.contractDate;
+    collateralStockNumber = other.collateralStockNumber;
+    collateralYearModel = other.collateralYearModel;
+    collateralMake = other.collateralMake;
+    collateralModel = other.collateralModel;
+    borrower1FirstName = other.borrower1FirstName;
+    borrower1LastName = other.borrower1LastName;
+    acctID = other.acctID;
+  }
 }
@@ -0,0 +1,39 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The {@code AccountBatchRequestDTO} class represents the payload of a batch account lookup.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for deserialization.</li>
+ * <li>{@code @NotEmpty}, {@code @Size} and {@code @NotBlank} - Bound the number of account IDs accepted in one
+ * request and reject blank entries.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBatchRequestDTO {
+
+  /**
+   * The account IDs to look up, in the order the results should be returned.
+   */
+  @NotEmpty(message = "acct_ids cannot be empty")
+  @Size(max = 5000, message = "acct_ids cannot contain more than 5000 entries")
+  @JsonProperty("acct_ids")
+  private List<@NotBlank(message = "acct_ids cannot contain blank entries") String> acctIDs;
+}
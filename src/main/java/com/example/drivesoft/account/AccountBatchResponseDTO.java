@@ -0,0 +1,38 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The {@code AccountBatchResponseDTO} class represents the result of a batch account lookup.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBatchResponseDTO {
+
+  /**
+   * The accounts that were found, in request order.
+   */
+  @JsonProperty("accounts")
+  private List<AccountDTO> accounts;
+
+  /**
+   * The requested account IDs that do not exist locally, in request order.
+   */
+  @JsonProperty("missing")
+  private List<String> missing;
+}
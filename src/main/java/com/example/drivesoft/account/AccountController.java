@@ -1,17 +1,20 @@
 package com.example.drivesoft.account;
 
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 /**
  * AccountController is a REST controller that handles API requests related to accounts.
- * It provides an endpoint to fetch all account details, with an optional synchronization parameter.
+ * It provides endpoints to fetch all account details, with an optional synchronization parameter,
+ * and to fetch accounts by their account IDs, one at a time or in batches.
  * <p>
  * This controller interacts with the AccountService to perform the required business logic.
  * </p>
@@ -41,14 +44,68 @@ public class AccountController {
    * be synchronized before fetching. By default, synchronization is disabled.
    * </p>
    *
-   * @param sync a boolean flag to indicate if accounts should be synchronized before fetching; defaults to false
-   * @return a ResponseEntity containing a list of AccountDTO objects and an HTTP status code
+   * <p>
+   * An optional `fields` parameter restricts the response to a comma-separated list of fields,
+   * for example {@code fields=acct_id,contract_sales_price,contract_date}.
+   * </p>
+   *
+   * <p>
+   * Accounts moved to the archive are only returned with {@code includeArchived=true}.
+   * </p>
+   *
+   * @param sync            a boolean flag to indicate if accounts should be synchronized before fetching; defaults to false
+   * @param fields          a comma-separated list of fields to return; defaults to all fields
+   * @param includeArchived whether to also return archived accounts; defaults to false
+   * @return a ResponseEntity containing the accounts, written as the response is serialized, and an HTTP status code
    */
   @GetMapping("/fetchAll")
-  public ResponseEntity<List<AccountDTO>> fetchAllAccounts(
-          @RequestParam(value = "sync", required = false, defaultValue = "false") boolean sync
+  public ResponseEntity<AccountStream> fetchAllAccounts(
+          @RequestParam(value = "sync", required = false, defaultValue = "false") boolean sync,
+          @RequestParam(value = "fields", required = false) String fields,
+          @RequestParam(value = "includeArchived", required = false, defaultValue = "false") boolean includeArchived
   ) {
     // Fetch all accounts with optional synchronization
-    return new ResponseEntity<>(accountService.fetchAllAccounts(sync), HttpStatus.OK);
+    return new ResponseEntity<>(accountService.fetchAllAccounts(sync, AccountField.parse(fields), includeArchived),
+            HttpStatus.OK);
+  }
+
+  /**
+   * Handles GET requests to fetch a single account by its account ID.
+   *
+   * @param acctID          the account ID to look up
+   * @param fields          a comma-separated list of fields to return; defaults to all fields
+   * @param includeArchived whether to also look the account up in the archive; defaults to false
+   * @return a ResponseEntity containing the AccountDTO and an HTTP status code
+   */
+  @GetMapping("/{acctID}")
+  public ResponseEntity<AccountDTO> fetchAccount(
+          @PathVariable("acctID") String acctID,
+          @RequestParam(value = "fields", required = false) String fields,
+          @RequestParam(value = "includeArchived", required = false, defaultValue = "false") boolean includeArchived
+  ) {
+    return new ResponseEntity<>(accountService.fetchAccount(acctID, AccountField.parse(fields), includeArchived),
+            HttpStatus.OK);
+  }
+
+  /**
+   * Handles POST requests to fetch many accounts by their account IDs in one call.
+   * <p>
+   * The response lists the found accounts and the missing account IDs, both in request order.
+   * </p>
+   *
+   * @param request         the request containing the account IDs to look up
+   * @param fields          a comma-separated list of fields to return; defaults to all fields
+   * @param includeArchived whether to also look the accounts up in the archive; defaults to false
+   * @return a ResponseEntity containing the AccountBatchResponseDTO and an HTTP status code
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<AccountBatchResponseDTO> fetchAccounts(
+          @Valid @RequestBody AccountBatchRequestDTO request,
+          @RequestParam(value = "fields", required = false) String fields,
+          @RequestParam(value = "includeArchived", required = false, defaultValue = "false") boolean includeArchived
+  ) {
+    return new ResponseEntity<>(
+            accountService.fetchAccounts(request.getAcctIDs(), AccountField.parse(fields), includeArchived),
+            HttpStatus.OK);
   }
 }
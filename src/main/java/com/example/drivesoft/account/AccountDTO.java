@@ -2,12 +2,16 @@ package com.example.drivesoft.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Set;
 
 /**
  * The {@code AccountDTO} class is a Data Transfer Object (DTO) that is used to transfer
@@ -21,6 +25,8 @@ import java.time.LocalDate;
  * <ul>
  * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization and deserialization.</li>
  * <li>{@code @JsonIgnore} - Excludes fields from JSON output.</li>
+ * <li>{@code @JsonSerialize} - Writes instances with {@link AccountDTOSerializer} instead of reflective bean
+ * serialization; the output matches the {@code @JsonProperty} and {@code @JsonIgnore} mapping above.</li>
  * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
  * to reduce boilerplate code.</li>
  * </ul>
@@ -30,6 +36,7 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonSerialize(using = AccountDTOSerializer.class)
 public class AccountDTO {
 
   /**
@@ -111,4 +118,36 @@ public class AccountDTO {
    */
   @JsonProperty("acct_id")
   private String acctID;
+
+  /**
+   * The sparse fieldset selected by the client, or {@code null} if all fields are exposed.
+   * This field is not part of the account data and is never serialized itself.
+   */
+  @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private Set<AccountField> fields;
+
+  /**
+   * Returns a copy of this DTO that exposes only the given fields.
+   * <p>
+   * The copy is used for DTOs shared through a cache, which must not be modified.
+   * </p>
+   *
+   * @param fields the fields to expose, or {@code null} for all fields
+   * @return this DTO if {@code fields} is {@code null}; otherwise a narrowed copy
+   */
+  public AccountDTO withFields(Set<AccountField> fields) {
+    if (fields == null) {
+      return this;
+    }
+    AccountDTO copy = new AccountDTO();
+    copy.setId(id);
+    copy.setVersion(version);
+    for (AccountField field : fields) {
+      field.set(copy, field.get(this));
+    }
+    copy.setFields(fields);
+    return copy;
+  }
 }
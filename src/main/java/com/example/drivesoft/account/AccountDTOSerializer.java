@@ -0,0 +1,56 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * The {@code AccountDTOSerializer} class writes an {@link AccountDTO} straight to the {@link JsonGenerator}.
+ * <p>
+ * Reflective bean serialization resolves and filters properties for every instance. This serializer
+ * instead writes the exposed fields in a fixed order using the pre-encoded property names held by
+ * {@link AccountField}, which the generator can copy without re-escaping. The output is identical to the
+ * annotated bean form: the same property names, {@code null} values written, and dates as ISO-8601
+ * strings. It works for every Jackson format, including Smile and CBOR.
+ * </p>
+ * <p>
+ * If the DTO carries a sparse fieldset, only the selected fields are written.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class AccountDTOSerializer extends StdSerializer<AccountDTO> {
+
+  // All fields, in output order
+  private static final AccountField[] ALL_FIELDS = AccountField.values();
+
+  /**
+   * Constructs an {@code AccountDTOSerializer}.
+   */
+  public AccountDTOSerializer() {
+    super(AccountDTO.class);
+  }
+
+  /**
+   * Writes the exposed fields of an {@link AccountDTO} as a single object.
+   *
+   * @param account   the account to write
+   * @param generator the generator to write to
+   * @param provider  the serializer provider
+   * @throws IOException if writing to the generator fails
+   */
+  @Override
+  public void serialize(AccountDTO account, JsonGenerator generator, SerializerProvider provider) throws IOException {
+    generator.writeStartObject(account);
+    Set<AccountField> fields = account.getFields();
+    for (AccountField field : ALL_FIELDS) {
+      if (fields == null || fields.contains(field)) {
+        field.write(account, generator);
+      }
+    }
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,163 @@
+package com.example.drivesoft.account;
+
+import com.example.drivesoft.account.exception.InvalidAccountFieldException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The {@code AccountField} enum lists the fields of an {@link AccountDTO} that are exposed to clients.
+ * <p>
+ * Each constant ties together the JSON property name, the {@link Account} attribute it is read from,
+ * and the accessors of the DTO. It is used to narrow both the database projection and the serialized
+ * output when a client asks for a sparse fieldset, and by {@link AccountDTOSerializer} to write fields
+ * with pre-encoded property names. Constants are declared in output order.
+ * </p>
+ *
+ * @since 1.0
+ */
+public enum AccountField {
+
+  CONTRACT_SALES_PRICE("contract_sales_price", "contractSalesPrice",
+          AccountDTO::getContractSalesPrice, (dto, value) -> dto.setContractSalesPrice((BigDecimal) value)),
+  ACCT_TYPE("acct_type", "acctType",
+          AccountDTO::getAcctType, (dto, value) -> dto.setAcctType((String) value)),
+  SALES_GROUP_PERSON1_ID("sales_group_person1_id", "salesGroupPerson1ID",
+          AccountDTO::getSalesGroupPerson1ID, (dto, value) -> dto.setSalesGroupPerson1ID((String) value)),
+  CONTRACT_DATE("contract_date", "contractDate",
+          AccountDTO::getContractDate, (dto, value) -> dto.setContractDate((LocalDate) value)),
+  COLLATERAL_STOCK_NUMBER("collateral_stock_number", "collateralStockNumber",
+          AccountDTO::getCollateralStockNumber, (dto, value) -> dto.setCollateralStockNumber((String) value)),
+  COLLATERAL_YEAR_MODEL("collateral_year_model", "collateralYearModel",
+          AccountDTO::getCollateralYearModel, (dto, value) -> dto.setCollateralYearModel((String) value)),
+  COLLATERAL_MAKE("collateral_make", "collateralMake",
+          AccountDTO::getCollateralMake, (dto, value) -> dto.setCollateralMake((String) value)),
+  COLLATERAL_MODEL("collateral_model", "collateralModel",
+          AccountDTO::getCollateralModel, (dto, value) -> dto.setCollateralModel((String) value)),
+  BORROWER1_FIRST_NAME("borrower1_first_name", "borrower1FirstName",
+          AccountDTO::getBorrower1FirstName, (dto, value) -> dto.setBorrower1FirstName((String) value)),
+  BORROWER1_LAST_NAME("borrower1_last_name", "borrower1LastName",
+          AccountDTO::getBorrower1LastName, (dto, value) -> dto.setBorrower1LastName((String) value)),
+  ACCT_ID("acct_id", "acctID",
+          AccountDTO::getAcctID, (dto, value) -> dto.setAcctID((String) value));
+
+  // JSON property name
+  private final String jsonName;
+
+  // Pre-encoded JSON property name, copied to the output without re-escaping
+  private final SerializableString encodedName;
+
+  // Name of the Account attribute the field is read from
+  private final String attribute;
+
+  // Reads the field from a DTO
+  private final Function<AccountDTO, Object> getter;
+
+  // Writes the field to a DTO
+  private final BiConsumer<AccountDTO, Object> setter;
+
+  AccountField(String jsonName, String attribute, Function<AccountDTO, Object> getter, BiConsumer<AccountDTO, Object> setter) {
+    this.jsonName = jsonName;
+    this.encodedName = new SerializedString(jsonName);
+    this.attribute = attribute;
+    this.getter = getter;
+    this.setter = setter;
+  }
+
+  /**
+   * Returns the name of the {@link Account} attribute this field is read from.
+   *
+   * @return the entity attribute name
+   */
+  public String getAttribute() {
+    return attribute;
+  }
+
+  /**
+   * Returns the pre-encoded JSON property name, for writers that do not serialize from a DTO.
+   *
+   * @return the encoded property name
+   */
+  SerializableString getEncodedName() {
+    return encodedName;
+  }
+
+  /**
+   * Reads this field from a DTO.
+   *
+   * @param accountDTO the DTO to read from
+   * @return the value of the field
+   */
+  public Object get(AccountDTO accountDTO) {
+    return getter.apply(accountDTO);
+  }
+
+  /**
+   * Sets this field on a DTO.
+   *
+   * @param accountDTO the DTO to update
+   * @param value      the value read from the corresponding entity attribute
+   */
+  public void set(AccountDTO accountDTO, Object value) {
+    setter.accept(accountDTO, value);
+  }
+
+  /**
+   * Writes this field of a DTO as a property of the current JSON object.
+   * Dates are written as ISO-8601 strings and {@code null} values are written explicitly.
+   *
+   * @param accountDTO the DTO to read the value from
+   * @param generator  the generator to write to
+   * @throws IOException if writing to the generator fails
+   */
+  public void write(AccountDTO accountDTO, JsonGenerator generator) throws IOException {
+    generator.writeFieldName(encodedName);
+    Object value = getter.apply(accountDTO);
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof BigDecimal number) {
+      generator.writeNumber(number);
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+
+  /**
+   * Parses a comma-separated list of JSON property names into a set of fields.
+   *
+   * @param fields the comma-separated property names, e.g. {@code acct_id,contract_sales_price}
+   * @return the selected fields, or {@code null} if {@code fields} is {@code null} or blank (meaning all fields)
+   * @throws InvalidAccountFieldException if a name does not match any field
+   */
+  public static Set<AccountField> parse(String fields) {
+    if (fields == null || fields.isBlank()) {
+      return null;
+    }
+    Set<AccountField> selected = EnumSet.noneOf(AccountField.class);
+    for (String name : fields.split(",")) {
+      String trimmed = name.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      selected.add(fromJsonName(trimmed));
+    }
+    return selected.isEmpty() ? null : selected;
+  }
+
+  private static AccountField fromJsonName(String jsonName) {
+    for (AccountField field : values()) {
+      if (field.jsonName.equals(jsonName)) {
+        return field;
+      }
+    }
+    throw new InvalidAccountFieldException(jsonName);
+  }
+}
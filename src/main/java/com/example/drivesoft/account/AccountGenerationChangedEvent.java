@@ -0,0 +1,17 @@
+package com.example.drivesoft.account;
+
+/**
+ * The {@code AccountGenerationChangedEvent} record is published by {@link AccountGenerationWatcher} when
+ * the generation of the account data differs from the one it saw last, so that the state each node
+ * derives from the {@code account} table can catch up with changes made on any node.
+ * <p>
+ * Listeners run on the watcher's thread as {@link com.example.drivesoft.datasource.Workload#SYNC}. Each
+ * one tracks the generation it holds and reads the changes since then itself, so a listener that failed
+ * catches up on the next event.
+ * </p>
+ *
+ * @param generation the committed generation of the account data
+ * @since 1.0
+ */
+public record AccountGenerationChangedEvent(long generation) {
+}
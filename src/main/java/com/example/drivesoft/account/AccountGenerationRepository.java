@@ -0,0 +1,146 @@
+package com.example.drivesoft.account;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@code AccountGenerationRepository} class reads and advances the generation of the account data
+ * held by the single row of the {@code account_generation} table, and logs the acctIDs each generation
+ * changed in the {@code account_change} table.
+ * <p>
+ * Every task that changes the active accounts advances the generation in its own transaction, so a
+ * committed generation always names a committed state of the {@code account} table. Nodes compare it
+ * with the generation their {@link MappedAccountStore} and caches hold to detect that another node
+ * changed the accounts, and read the log to reload only the changed accounts. Log entries older than
+ * {@code account.change-log.retention} are pruned; a node that fell further behind, or that is behind a
+ * generation that replaced the whole table, has to reload everything.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Repository} - Marks this class as a Spring repository component.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code advance} - Advances the generation in the current transaction and logs the changed acctIDs.</li>
+ * <li>{@code reset} - Advances the generation after the whole table was replaced.</li>
+ * <li>{@code current} - Reads the committed generation.</li>
+ * <li>{@code findChangedAcctIDs} - Reads the acctIDs changed between two generations, if they are still logged.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Repository
+public class AccountGenerationRepository {
+
+  private static final String ADVANCE = "UPDATE account_generation SET generation = generation + 1 WHERE id = 1";
+
+  // pruned_through is assigned first, since MySQL evaluates the assignments from left to right
+  private static final String RESET = "UPDATE account_generation " +
+          "SET pruned_through = generation + 1, generation = generation + 1 WHERE id = 1";
+
+  private static final String SELECT_CURRENT = "SELECT generation FROM account_generation WHERE id = 1";
+
+  private static final String SELECT_PRUNED_THROUGH = "SELECT pruned_through FROM account_generation WHERE id = 1";
+
+  private static final String INSERT_CHANGE =
+          "INSERT INTO account_change (generation, acct_id, changed_at) VALUES (?, ?, ?)";
+
+  private static final String SELECT_LAST_EXPIRED = "SELECT MAX(generation) FROM account_change WHERE changed_at < ?";
+
+  private static final String DELETE_CHANGES_THROUGH = "DELETE FROM account_change WHERE generation <= ?";
+
+  private static final String UPDATE_PRUNED_THROUGH =
+          "UPDATE account_generation SET pruned_through = GREATEST(pruned_through, ?) WHERE id = 1";
+
+  private static final String SELECT_CHANGED_ACCT_IDS =
+          "SELECT DISTINCT acct_id FROM account_change WHERE generation > ? AND generation <= ?";
+
+  // Template bound to the application's data source, joining the current transaction
+  private final JdbcTemplate jdbcTemplate;
+
+  // Time for which the changed acctIDs of a generation are kept
+  @Value("${account.change-log.retention}")
+  private Duration retention;
+
+  /**
+   * Constructs an {@code AccountGenerationRepository}.
+   *
+   * @param jdbcTemplate the template used to access the generation and change tables
+   */
+  public AccountGenerationRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Advances the generation and logs the acctIDs it changed, pruning the entries older than
+   * {@code account.change-log.retention}. Must run in the transaction that changes the accounts; the row
+   * stays locked until it commits, which only delays other writers.
+   *
+   * @param changedAcctIDs the acctIDs of the inserted, changed, deactivated or removed accounts
+   */
+  public void advance(Collection<String> changedAcctIDs) {
+    jdbcTemplate.update(ADVANCE);
+    long generation = current();
+    Instant now = Instant.now();
+    Timestamp changedAt = Timestamp.from(now);
+    List<Object[]> rows = new LinkedHashSet<>(changedAcctIDs).stream()
+            .map(acctID -> new Object[]{generation, acctID, changedAt})
+            .toList();
+    jdbcTemplate.batchUpdate(INSERT_CHANGE, rows);
+
+    Long lastExpired = jdbcTemplate.queryForObject(SELECT_LAST_EXPIRED, Long.class,
+            Timestamp.from(now.minus(retention)));
+    if (lastExpired != null) {
+      jdbcTemplate.update(DELETE_CHANGES_THROUGH, lastExpired);
+      jdbcTemplate.update(UPDATE_PRUNED_THROUGH, lastExpired);
+    }
+  }
+
+  /**
+   * Advances the generation after the whole {@code account} table was loaded or replaced, so that
+   * every node reloads all accounts instead of reading the log. Must run in a transaction.
+   */
+  public void reset() {
+    jdbcTemplate.update(RESET);
+  }
+
+  /**
+   * Reads the generation, without locking.
+   *
+   * @return the generation of the account data
+   */
+  public long current() {
+    Long generation = jdbcTemplate.queryForObject(SELECT_CURRENT, Long.class);
+    return generation == null ? 0 : generation;
+  }
+
+  /**
+   * Reads the acctIDs changed after one generation up to and including another. Should run in the
+   * transaction that read {@code until}, so that the log matches it.
+   *
+   * @param since the generation the caller holds
+   * @param until the generation the caller moves to
+   * @return the changed acctIDs, or {@link Optional#empty()} if the log no longer covers the generations
+   * and the caller has to reload everything
+   */
+  public Optional<Set<String>> findChangedAcctIDs(long since, long until) {
+    Long prunedThrough = jdbcTemplate.queryForObject(SELECT_PRUNED_THROUGH, Long.class);
+    if (prunedThrough == null || since < prunedThrough || since > until) {
+      return Optional.empty();
+    }
+    return Optional.of(new HashSet<>(jdbcTemplate.queryForList(SELECT_CHANGED_ACCT_IDS, String.class, since, until)));
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.drivesoft.account;
+
+import com.example.drivesoft.datasource.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code AccountGenerationWatcher} class polls the generation of the account data and publishes an
+ * {@link AccountGenerationChangedEvent} whenever it changed, so that each node brings its read store and
+ * caches up to date with the changes committed by any node.
+ * <p>
+ * The generation is read every {@code account.generation.poll-interval} milliseconds, and by the tasks
+ * changing the accounts on this node right after they have committed. The poll and the listeners run as
+ * {@link Workload#SYNC}, so that catching up never takes connections from the API pool.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * <li>{@code @Scheduled} - Polls the generation of the account data.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class AccountGenerationWatcher {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(AccountGenerationWatcher.class);
+
+  // Repository reading the generation of the account data
+  private final AccountGenerationRepository accountGenerationRepository;
+
+  // Publisher notifying the listeners of a changed generation
+  private final ApplicationEventPublisher eventPublisher;
+
+  // Generation published last; -1 until the first poll
+  private long published = -1;
+
+  /**
+   * Constructs an {@code AccountGenerationWatcher}.
+   *
+   * @param accountGenerationRepository the repository reading the generation of the account data
+   * @param eventPublisher              the publisher notifying the listeners of a changed generation
+   */
+  public AccountGenerationWatcher(AccountGenerationRepository accountGenerationRepository,
+                                  ApplicationEventPublisher eventPublisher) {
+    this.accountGenerationRepository = accountGenerationRepository;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Reads the generation of the account data and publishes an {@link AccountGenerationChangedEvent} if it
+   * differs from the one published last. Errors are logged; the next poll publishes the event again.
+   */
+  @Scheduled(fixedDelayString = "${account.generation.poll-interval}",
+          initialDelayString = "${account.generation.poll-interval}")
+  public synchronized void poll() {
+    Workload.SYNC.run(() -> {
+      try {
+        long generation = accountGenerationRepository.current();
+        if (generation != published) {
+          eventPublisher.publishEvent(new AccountGenerationChangedEvent(generation));
+          published = generation;
+        }
+      } catch (RuntimeException e) {
+        logger.error("Error occurred while polling the generation of the account data: {}", e.getMessage());
+      }
+    });
+  }
+}
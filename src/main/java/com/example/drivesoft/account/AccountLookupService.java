@@ -0,0 +1,277 @@
+package com.example.drivesoft.account;
+
+import com.example.drivesoft.utils.BloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@code AccountLookupService} class serves account lookups by {@code acctID}, singly or in batches,
+ * without touching the database in the common cases.
+ * <p>
+ * Only active accounts are returned. An in-memory {@link BloomFilter} of every known acctID answers
+ * negative lookups directly. Lookups that pass the filter are served from a bounded read-through cache
+ * of {@link AccountDTO}s and fall back to the repository on a cache miss.
+ * </p>
+ * <p>
+ * The filter is rebuilt from the {@code account} table at startup and every
+ * {@code account.lookup.bloom.rebuild-interval} milliseconds, sized for at least twice the current account
+ * count, so that deactivated accounts leave the filter. The local sync process reports inserted, changed
+ * and deactivated acctIDs through {@link #accountsChanged}; they are added to the filter immediately,
+ * including a filter being rebuilt, and evicted from the cache once the sync transaction commits.
+ * </p>
+ * <p>
+ * The filter and the cache are tied to the generation of the account data, so that changes made on other
+ * nodes are seen as well. When the {@link AccountGenerationWatcher} reports a new generation, the acctIDs
+ * changed since the generation the filter was built from are read from the change log and handled like
+ * local changes. If the log no longer covers them, the filter is rebuilt and the whole cache is cleared.
+ * </p>
+ * <p>
+ * While the {@link MappedAccountStore} is available, lookups are served from it instead, without the
+ * filter and the cache.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Service} - Marks this class as a Spring service component.</li>
+ * <li>{@code @PostConstruct} - Builds the filter once the bean is initialized.</li>
+ * <li>{@code @Scheduled} - Rebuilds the filter periodically.</li>
+ * <li>{@code @EventListener} - Catches the filter and the cache up whenever the generation of the account data changed.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class AccountLookupService {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(AccountLookupService.class);
+
+  // Repository to handle account data access operations.
+  private final AccountRepository accountRepository;
+
+  // Off-heap store serving the lookups when it is enabled
+  private final MappedAccountStore mappedAccountStore;
+
+  // Repository reading the generation of the account data and the acctIDs it changed
+  private final AccountGenerationRepository accountGenerationRepository;
+
+  // Template reading a generation and its changes in one read-only transaction
+  private final TransactionTemplate transactionTemplate;
+
+  // Read-through cache of accounts by acctID
+  private final Cache<String, AccountDTO> cache;
+
+  @Value("${account.lookup.batch.in-clause-size}")
+  private int inClauseSize;
+
+  @Value("${account.lookup.bloom.expected-insertions}")
+  private long expectedInsertions;
+
+  @Value("${account.lookup.bloom.false-positive-probability}")
+  private double falsePositiveProbability;
+
+  // Filter of known acctIDs; replaced as a whole on rebuild
+  private volatile BloomFilter knownAcctIDs;
+
+  // Guards the swap of the filter against concurrently reported acctIDs
+  private final Object filterLock = new Object();
+
+  // AcctIDs reported while a rebuild is running, added to the new filter; null when no rebuild is running
+  private Set<String> changedDuringRebuild;
+
+  // Generation of the account data the filter and the cache are up to date with; -1 until the first build
+  private long generation = -1;
+
+  /**
+   * Constructs an {@code AccountLookupService} with the required dependencies.
+   *
+   * @param accountRepository           the repository for account data operations
+   * @param mappedAccountStore          the off-heap store serving the lookups when it is enabled
+   * @param accountGenerationRepository the repository reading the generation of the account data
+   * @param transactionManager          the transaction manager reading the changes of a generation
+   * @param cacheMaxSize                the maximum number of cached accounts
+   * @param cacheTtl                    the time after which a cached account is reloaded
+   */
+  public AccountLookupService(AccountRepository accountRepository, MappedAccountStore mappedAccountStore,
+                              AccountGenerationRepository accountGenerationRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${account.lookup.cache.max-size}") long cacheMaxSize,
+                              @Value("${account.lookup.cache.ttl}") Duration cacheTtl) {
+    this.accountRepository = accountRepository;
+    this.mappedAccountStore = mappedAccountStore;
+    this.accountGenerationRepository = accountGenerationRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfterWrite(cacheTtl)
+            .build();
+  }
+
+  /**
+   * Rebuilds the Bloom filter from the acctIDs of the active accounts in the {@code account} table.
+   * <p>
+   * AcctIDs reported through {@link #accountsChanged} while the table is read are added to the new filter
+   * as well, since the read may not see the transaction reporting them. The generation is read before the
+   * table, so changes committed in between are applied again by {@link #onGenerationChanged}.
+   * </p>
+   */
+  @PostConstruct
+  @Scheduled(fixedDelayString = "${account.lookup.bloom.rebuild-interval}",
+          initialDelayString = "${account.lookup.bloom.rebuild-interval}")
+  public synchronized void rebuildFilter() {
+    synchronized (filterLock) {
+      changedDuringRebuild = new HashSet<>();
+    }
+    long builtGeneration;
+    List<String> acctIDs;
+    try {
+      builtGeneration = accountGenerationRepository.current();
+      acctIDs = accountRepository.findAcctIDsByStatus(AccountStatus.ACTIVE);
+    } catch (RuntimeException e) {
+      synchronized (filterLock) {
+        changedDuringRebuild = null;
+      }
+      throw e;
+    }
+    BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, 2L * acctIDs.size()), falsePositiveProbability);
+    acctIDs.forEach(filter::put);
+    synchronized (filterLock) {
+      changedDuringRebuild.forEach(filter::put);
+      changedDuringRebuild = null;
+      knownAcctIDs = filter;
+    }
+    generation = builtGeneration;
+    logger.info("Account lookup filter built with {} acctIDs of generation {}.", acctIDs.size(), builtGeneration);
+  }
+
+  /**
+   * Catches the filter and the cache up with a new generation of the account data. The acctIDs changed
+   * since the generation they are up to date with are added to the filter and evicted from the cache. If
+   * the change log no longer covers that generation, the filter is rebuilt and the cache cleared.
+   *
+   * @param event the event carrying the new generation
+   */
+  @EventListener
+  public synchronized void onGenerationChanged(AccountGenerationChangedEvent event) {
+    long since = generation;
+    GenerationChanges changes = transactionTemplate.execute(status -> {
+      long current = accountGenerationRepository.current();
+      return new GenerationChanges(current, since == current ? Optional.of(Set.of())
+              : accountGenerationRepository.findChangedAcctIDs(since, current));
+    });
+    if (changes.acctIDs().isPresent()) {
+      accountsChanged(changes.acctIDs().get());
+      generation = changes.generation();
+    } else {
+      rebuildFilter();
+      cache.invalidateAll();
+    }
+  }
+
+  /**
+   * Finds an account by its acctID.
+   *
+   * @param acctID the account ID to look up
+   * @return an {@link Optional} containing the account if found, otherwise {@link Optional#empty()}
+   */
+  public Optional<AccountDTO> findByAcctID(String acctID) {
+    if (mappedAccountStore.isAvailable()) {
+      return mappedAccountStore.findByAcctID(acctID);
+    }
+    if (!knownAcctIDs.mightContain(acctID)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(cache.get(acctID,
+            key -> accountRepository.findByAcctIDAndStatus(key, AccountStatus.ACTIVE).map(Account::toDTO).orElse(null)));
+  }
+
+  /**
+   * Finds many accounts by their acctIDs.
+   * <p>
+   * IDs rejected by the filter are dropped and cached accounts are taken from the cache. The remaining
+   * IDs are loaded in chunks of at most {@code account.lookup.batch.in-clause-size}, one {@code IN} query
+   * per chunk, and the loaded accounts are cached.
+   * </p>
+   *
+   * @param acctIDs the distinct account IDs to look up
+   * @return the found accounts keyed by acctID; IDs that do not exist are absent
+   */
+  public Map<String, AccountDTO> findAllByAcctIDs(Collection<String> acctIDs) {
+    if (mappedAccountStore.isAvailable()) {
+      return mappedAccountStore.findAllByAcctIDs(acctIDs);
+    }
+    BloomFilter filter = knownAcctIDs;
+    List<String> candidates = acctIDs.stream().filter(filter::mightContain).toList();
+    Map<String, AccountDTO> found = new HashMap<>(cache.getAllPresent(candidates));
+    List<String> toLoad = candidates.stream().filter(acctID -> !found.containsKey(acctID)).toList();
+    for (int from = 0; from < toLoad.size(); from += inClauseSize) {
+      List<String> chunk = toLoad.subList(from, Math.min(from + inClauseSize, toLoad.size()));
+      for (Account account : accountRepository.findByAcctIDInAndStatus(chunk, AccountStatus.ACTIVE)) {
+        AccountDTO accountDTO = account.toDTO();
+        found.put(accountDTO.getAcctID(), accountDTO);
+        cache.put(accountDTO.getAcctID(), accountDTO);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Records that accounts were inserted or changed.
+   * <p>
+   * The acctIDs are added to the filter at once, and to the filter being rebuilt, if any. Their cache
+   * entries are evicted after the current transaction commits, so that a concurrent lookup cannot re-cache
+   * the previous values; without an active transaction they are evicted immediately.
+   * </p>
+   *
+   * @param acctIDs the acctIDs of the inserted or changed accounts
+   */
+  public void accountsChanged(Collection<String> acctIDs) {
+    if (acctIDs.isEmpty()) {
+      return;
+    }
+    synchronized (filterLock) {
+      acctIDs.forEach(knownAcctIDs::put);
+      if (changedDuringRebuild != null) {
+        changedDuringRebuild.addAll(acctIDs);
+      }
+    }
+    List<String> evicted = List.copyOf(acctIDs);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          cache.invalidateAll(evicted);
+        }
+      });
+    } else {
+      cache.invalidateAll(evicted);
+    }
+  }
+
+  /**
+   * A generation of the account data and the acctIDs changed since the one the filter was built from.
+   */
+  private record GenerationChanges(long generation, Optional<Set<String>> acctIDs) {
+  }
+}
@@ -1,13 +1,24 @@
 package com.example.drivesoft.account;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * The {@code AccountRepository} interface provides data access methods for the {@link Account} entity.
  * <p>
  * This repository extends the {@link JpaRepository}, which provides standard CRUD operations and
- * additional JPA-specific functionality. Custom query methods can also be defined here.
+ * additional JPA-specific functionality. Custom query methods can also be defined here, and queries built
+ * at runtime are declared in {@link AccountRepositoryCustom}.
  * </p>
  *
  * <p>Annotations:</p>
@@ -18,18 +29,99 @@ import org.springframework.stereotype.Repository;
  * <p>Key Methods:</p>
  * <ul>
  * <li>{@code existsByAcctID} - Checks if an account with a specific account ID exists.</li>
+ * <li>{@code findByAcctIDAndStatus} - Finds an account with a given status by its account ID.</li>
+ * <li>{@code findByStatus} - Finds all accounts with a given status.</li>
+ * <li>{@code findAcctIDsByStatus} - Lists the account IDs of all accounts with a given status.</li>
+ * <li>{@code findByAcctIDIn} - Finds the accounts matching a set of account IDs.</li>
+ * <li>{@code findByAcctIDInAndStatus} - Finds the accounts with a given status matching a set of account IDs.</li>
+ * <li>{@code updateStatusByAcctIDIn} - Sets the status of a set of accounts in one statement.</li>
+ * <li>{@code findAllProjected} - Reads all active accounts, selecting only the requested fields.</li>
  * </ul>
  *
  * @since 1.0
  */
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountRepositoryCustom {
 
   /**
    * Checks if an account exists with the specified account ID.
+   * <p>
+   * The result is held in the query cache, so repeated checks during sync are served without a database
+   * round trip until the {@code account} table is modified.
+   * </p>
    *
    * @param acctID the unique account ID to check
    * @return {@code true} if an account with the given account ID exists; otherwise {@code false}
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   boolean existsByAcctID(String acctID);
+
+  /**
+   * Finds the account with the specified account ID and status.
+   * <p>
+   * Like {@link #existsByAcctID(String)}, the result is held in the query cache and the account itself
+   * in the second-level cache.
+   * </p>
+   *
+   * @param acctID the unique account ID to look up
+   * @param status the status the account must have
+   * @return an {@link Optional} containing the account if found, otherwise {@link Optional#empty()}
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  Optional<Account> findByAcctIDAndStatus(String acctID, AccountStatus status);
+
+  /**
+   * Finds all accounts with the specified status, using the {@code idx_account_status} index.
+   *
+   * @param status the status of the accounts
+   * @return the matching accounts
+   */
+  List<Account> findByStatus(AccountStatus status);
+
+  /**
+   * Lists the account IDs of all accounts with the specified status, reading only the {@code acct_id} column.
+   *
+   * @param status the status of the accounts
+   * @return the account IDs of the matching accounts
+   */
+  @Query("select a.acctID from Account a where a.status = :status")
+  List<String> findAcctIDsByStatus(@Param("status") AccountStatus status);
+
+  /**
+   * Finds the accounts whose account IDs are in the given collection, using the unique key on {@code acct_id}.
+   * <p>
+   * Callers should bound the size of the collection, since it becomes a single {@code IN} list.
+   * </p>
+   *
+   * @param acctIDs the account IDs to look up
+   * @return the matching accounts, in no particular order
+   */
+  List<Account> findByAcctIDIn(Collection<String> acctIDs);
+
+  /**
+   * Finds the accounts with the specified status whose account IDs are in the given collection.
+   * <p>
+   * Callers should bound the size of the collection, since it becomes a single {@code IN} list.
+   * </p>
+   *
+   * @param acctIDs the account IDs to look up
+   * @param status  the status the accounts must have
+   * @return the matching accounts, in no particular order
+   */
+  List<Account> findByAcctIDInAndStatus(Collection<String> acctIDs, AccountStatus status);
+
+  /**
+   * Sets the status of the accounts whose account IDs are in the given collection, in a single
+   * {@code UPDATE} statement. Pending changes are flushed first.
+   * <p>
+   * Callers should bound the size of the collection, since it becomes a single {@code IN} list.
+   * </p>
+   *
+   * @param acctIDs the account IDs of the accounts to update
+   * @param status  the new status
+   * @return the number of updated rows
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("update Account a set a.status = :status where a.acctID in :acctIDs and a.status <> :status")
+  int updateStatusByAcctIDIn(@Param("acctIDs") Collection<String> acctIDs, @Param("status") AccountStatus status);
 }
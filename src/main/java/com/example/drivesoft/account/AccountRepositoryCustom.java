@@ -0,0 +1,22 @@
+package com.example.drivesoft.account;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code AccountRepositoryCustom} interface declares account queries that cannot be expressed as
+ * Spring Data derived queries. It is implemented by {@link AccountRepositoryImpl} and exposed through
+ * {@link AccountRepository}.
+ *
+ * @since 1.0
+ */
+public interface AccountRepositoryCustom {
+
+  /**
+   * Reads all active accounts, selecting only the columns of the given fields.
+   *
+   * @param fields the fields to select; must not be empty
+   * @return DTOs holding only the selected fields, with their sparse fieldset set
+   */
+  List<AccountDTO> findAllProjected(Set<AccountField> fields);
+}
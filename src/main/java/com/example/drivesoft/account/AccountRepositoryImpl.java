@@ -0,0 +1,50 @@
+package com.example.drivesoft.account;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code AccountRepositoryImpl} class implements the custom queries of {@link AccountRepositoryCustom}.
+ * <p>
+ * Spring Data detects this class by its name and merges it into {@link AccountRepository}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class AccountRepositoryImpl implements AccountRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Reads all active accounts with a JPQL projection built from the requested fields, so that only their
+   * columns are read from the database and no entities are loaded into the persistence context.
+   *
+   * @param fields the fields to select; must not be empty
+   * @return DTOs holding only the selected fields, with their sparse fieldset set
+   */
+  @Override
+  public List<AccountDTO> findAllProjected(Set<AccountField> fields) {
+    List<AccountField> selected = List.copyOf(fields);
+    String jpql = selected.stream()
+            .map(field -> "a." + field.getAttribute())
+            .collect(Collectors.joining(", ", "select ", " from Account a where a.status = :status"));
+    return entityManager.createQuery(jpql, Tuple.class)
+            .setParameter("status", AccountStatus.ACTIVE)
+            .getResultStream()
+            .map(tuple -> {
+              AccountDTO accountDTO = new AccountDTO();
+              for (int i = 0; i < selected.size(); i++) {
+                selected.get(i).set(accountDTO, tuple.get(i));
+              }
+              accountDTO.setFields(fields);
+              return accountDTO;
+            })
+            .toList();
+  }
+}
@@ -1,10 +1,25 @@
 package com.example.drivesoft.account;
 
+import com.example.drivesoft.account.exception.AccountNotFoundException;
+import com.example.drivesoft.archive.AccountArchiveRepository;
 import com.example.drivesoft.sync.SyncService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * The {@code AccountService} class provides business logic for managing account-related operations.
@@ -19,9 +34,11 @@ import java.util.List;
  * <li>{@code @Transactional} - Ensures proper transaction management for database operations.</li>
  * </ul>
  *
- * <p>Key Method:</p>
+ * <p>Key Methods:</p>
  * <ul>
  * <li>{@code fetchAllAccounts} - Fetches all accounts with optional synchronization.</li>
+ * <li>{@code fetchAccount} - Fetches a single account by its account ID.</li>
+ * <li>{@code fetchAccounts} - Fetches many accounts by their account IDs in one call.</li>
  * </ul>
  *
  * @since 1.0
@@ -35,35 +52,168 @@ public class AccountService {
   // Service to handle synchronization tasks.
   private final SyncService syncService;
 
+  // Service to handle single-account lookups.
+  private final AccountLookupService accountLookupService;
+
+  // Off-heap store writing full reads when it is enabled.
+  private final MappedAccountStore mappedAccountStore;
+
+  // Repository reading archived accounts when the caller asks for them.
+  private final AccountArchiveRepository accountArchiveRepository;
+
+  // Template streaming the archived accounts in a read-only transaction while the response is serialized.
+  private final TransactionTemplate readOnlyTransactionTemplate;
+
+  @Value("${account.lookup.batch.in-clause-size}")
+  private int inClauseSize;
+
   /**
    * Constructs an {@code AccountService} with the required dependencies.
    *
-   * @param accountRepository the repository for account data operations
-   * @param syncService       the service for synchronization tasks
+   * @param accountRepository        the repository for account data operations
+   * @param syncService              the service for synchronization tasks
+   * @param accountLookupService     the service for single-account lookups
+   * @param mappedAccountStore       the off-heap store serving full reads when it is enabled
+   * @param accountArchiveRepository the repository reading archived accounts
+   * @param transactionManager       the transaction manager streaming the archived accounts
    */
-  public AccountService(AccountRepository accountRepository, SyncService syncService) {
+  public AccountService(AccountRepository accountRepository, SyncService syncService,
+                        AccountLookupService accountLookupService, MappedAccountStore mappedAccountStore,
+                        AccountArchiveRepository accountArchiveRepository,
+                        PlatformTransactionManager transactionManager) {
     this.accountRepository = accountRepository;
     this.syncService = syncService;
+    this.accountLookupService = accountLookupService;
+    this.mappedAccountStore = mappedAccountStore;
+    this.accountArchiveRepository = accountArchiveRepository;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
   }
 
   /**
-   * Fetches all accounts from the repository, optionally performing a synchronization
+   * Fetches all active accounts from the repository, optionally performing a synchronization
    * before retrieving the data.
    * <p>
    * If the {@code sync} parameter is {@code true}, a synchronization operation
-   * is triggered via the {@link SyncService} before fetching the accounts.
+   * is triggered via the {@link SyncService} before fetching the accounts. The sync runs on its own
+   * executor and connection pool, so the accounts returned are those stored when the request is served.
+   * </p>
+   *
+   * <p>
+   * If the {@link MappedAccountStore} is enabled, the accounts are written straight from it while the
+   * response is serialized, so that the account set is never held on the heap. Otherwise they are read
+   * from the database; if a sparse fieldset is given, only the columns of those fields are selected. Either
+   * way only the requested fields are serialized.
+   * </p>
+   *
+   * <p>
+   * Accounts moved to the archive are appended only if {@code includeArchived} is {@code true}. Only the
+   * columns of the requested fields are selected from the archive, and its rows are streamed into the
+   * response one at a time, in a read-only transaction of their own.
    * </p>
    *
-   * @param sync a boolean flag to indicate whether to perform synchronization before fetching accounts
-   * @return a list of {@link AccountDTO} objects representing the account data
+   * @param sync            a boolean flag to indicate whether to perform synchronization before fetching accounts
+   * @param fields          the fields to return, or {@code null} for all fields
+   * @param includeArchived whether to also return the active archived accounts
+   * @return an {@link AccountStream} writing the account data
    */
   @Transactional(readOnly = true)
-  public List<AccountDTO> fetchAllAccounts(boolean sync) {
+  public AccountStream fetchAllAccounts(boolean sync, Set<AccountField> fields, boolean includeArchived) {
     // Perform synchronization if the sync flag is true
     if (sync) {
       syncService.sync();
     }
-    // Retrieve all accounts and map them to DTOs
-    return accountRepository.findAll().stream().map(Account::toDTO).toList();
+    List<AccountStream.Source> sources = new ArrayList<>();
+    sources.add(hotAccounts(fields));
+    if (includeArchived) {
+      sources.add((generator, provider) -> writeArchivedAccounts(fields, generator, provider));
+    }
+    return new AccountStream(sources);
+  }
+
+  private AccountStream.Source hotAccounts(Set<AccountField> fields) {
+    // Write all active accounts straight from the off-heap store when it is enabled
+    if (mappedAccountStore.isAvailable()) {
+      return (generator, provider) -> mappedAccountStore.writeAll(generator, fields);
+    }
+    // Retrieve only the requested columns when a sparse fieldset is given
+    if (fields != null) {
+      return AccountStream.of(accountRepository.findAllProjected(fields));
+    }
+    // Retrieve all active accounts and map them to DTOs
+    return AccountStream.of(accountRepository.findByStatus(AccountStatus.ACTIVE).stream().map(Account::toDTO).toList());
+  }
+
+  private void writeArchivedAccounts(Set<AccountField> fields, JsonGenerator generator, SerializerProvider provider)
+          throws IOException {
+    try {
+      readOnlyTransactionTemplate.executeWithoutResult(status -> accountArchiveRepository.forEachActive(fields,
+              accountDTO -> {
+                try {
+                  provider.defaultSerializeValue(accountDTO, generator);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              }));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Fetches a single account by its account ID.
+   * <p>
+   * Unknown account IDs are rejected by the lookup filter without a database query, and known ones are
+   * usually served from cache. See {@link AccountLookupService}.
+   * </p>
+   *
+   * @param acctID          the account ID to look up
+   * @param fields          the fields to return, or {@code null} for all fields
+   * @param includeArchived whether to look the account up in the archive if it is not found otherwise
+   * @return the {@link AccountDTO} of the account
+   * @throws AccountNotFoundException if no account with the given account ID exists
+   */
+  public AccountDTO fetchAccount(String acctID, Set<AccountField> fields, boolean includeArchived) {
+    return accountLookupService.findByAcctID(acctID)
+            .or(() -> includeArchived ? accountArchiveRepository.findByAcctID(acctID) : Optional.empty())
+            .map(accountDTO -> accountDTO.withFields(fields))
+            .orElseThrow(() -> new AccountNotFoundException(acctID));
+  }
+
+  /**
+   * Fetches many accounts by their account IDs.
+   * <p>
+   * Duplicate IDs are collapsed. Found accounts and missing IDs are both returned in request order.
+   * IDs not found among the current accounts are looked up in the archive if {@code includeArchived}
+   * is {@code true}.
+   * </p>
+   *
+   * @param acctIDs         the account IDs to look up
+   * @param fields          the fields to return, or {@code null} for all fields
+   * @param includeArchived whether to look the accounts that are not found otherwise up in the archive
+   * @return an {@link AccountBatchResponseDTO} with the found accounts and the missing IDs
+   */
+  public AccountBatchResponseDTO fetchAccounts(List<String> acctIDs, Set<AccountField> fields,
+                                               boolean includeArchived) {
+    Set<String> requested = new LinkedHashSet<>(acctIDs);
+    Map<String, AccountDTO> found = new HashMap<>(accountLookupService.findAllByAcctIDs(requested));
+    if (includeArchived) {
+      List<String> notFound = requested.stream().filter(acctID -> !found.containsKey(acctID)).toList();
+      for (int from = 0; from < notFound.size(); from += inClauseSize) {
+        List<String> chunk = notFound.subList(from, Math.min(from + inClauseSize, notFound.size()));
+        accountArchiveRepository.findByAcctIDIn(chunk).forEach(accountDTO -> found.put(accountDTO.getAcctID(), accountDTO));
+      }
+    }
+    List<AccountDTO> accounts = new ArrayList<>(found.size());
+    List<String> missing = new ArrayList<>();
+    for (String acctID : requested) {
+      AccountDTO accountDTO = found.get(acctID);
+      if (accountDTO != null) {
+        accounts.add(accountDTO.withFields(fields));
+      } else {
+        missing.add(acctID);
+      }
+    }
+    return new AccountBatchResponseDTO(accounts, missing);
   }
 }
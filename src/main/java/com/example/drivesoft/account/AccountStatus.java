@@ -0,0 +1,20 @@
+package com.example.drivesoft.account;
+
+/**
+ * The {@code AccountStatus} enum tells whether an account is still present in IDMS.
+ * <p>
+ * Accounts that drop out of the IDMS list of active accounts are not deleted; the sync marks them
+ * {@link #INACTIVE} and read endpoints exclude them. An inactive account that reappears in IDMS is
+ * marked {@link #ACTIVE} again.
+ * </p>
+ *
+ * @since 1.0
+ */
+public enum AccountStatus {
+
+  // Present in the latest IDMS pull
+  ACTIVE,
+
+  // Missing from the latest IDMS pull
+  INACTIVE
+}
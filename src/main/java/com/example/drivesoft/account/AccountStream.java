@@ -0,0 +1,90 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The {@code AccountStream} class is a response body listing accounts that are written to the
+ * {@link JsonGenerator} while the response is serialized, instead of being collected into a list first.
+ * <p>
+ * It is serialized as a single array holding the accounts of each of its sources in turn. A source either
+ * writes accounts straight from where they are stored, as {@link MappedAccountStore} does, or serializes
+ * DTOs through {@link AccountDTOSerializer}. Since it goes through the regular message converters, the
+ * negotiated format, JSON, Smile or CBOR, is kept.
+ * </p>
+ *
+ * @since 1.0
+ */
+@JsonSerialize(using = AccountStream.Serializer.class)
+public class AccountStream {
+
+  // Sources of the accounts, in output order
+  private final List<Source> sources;
+
+  /**
+   * Constructs an {@code AccountStream}.
+   *
+   * @param sources the sources of the accounts, in output order
+   */
+  public AccountStream(List<Source> sources) {
+    this.sources = List.copyOf(sources);
+  }
+
+  /**
+   * Returns a source writing the given accounts.
+   *
+   * @param accounts the accounts to write
+   * @return the source
+   */
+  public static Source of(List<AccountDTO> accounts) {
+    return (generator, provider) -> {
+      for (AccountDTO account : accounts) {
+        provider.defaultSerializeValue(account, generator);
+      }
+    };
+  }
+
+  /**
+   * The {@code Source} interface writes a part of the accounts of an {@link AccountStream}, each as an
+   * object, into the array being written.
+   */
+  @FunctionalInterface
+  public interface Source {
+
+    /**
+     * Writes the accounts of this source.
+     *
+     * @param generator the generator to write to
+     * @param provider  the serializer provider
+     * @throws IOException if writing to the generator fails
+     */
+    void writeTo(JsonGenerator generator, SerializerProvider provider) throws IOException;
+  }
+
+  /**
+   * Writes the accounts of every source as one array.
+   */
+  public static class Serializer extends StdSerializer<AccountStream> {
+
+    /**
+     * Constructs a {@code Serializer}.
+     */
+    public Serializer() {
+      super(AccountStream.class);
+    }
+
+    @Override
+    public void serialize(AccountStream stream, JsonGenerator generator, SerializerProvider provider) throws IOException {
+      generator.writeStartArray();
+      for (Source source : stream.sources) {
+        source.writeTo(generator, provider);
+      }
+      generator.writeEndArray();
+    }
+  }
+}
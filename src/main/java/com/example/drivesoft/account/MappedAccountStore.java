@@ -0,0 +1,777 @@
+package com.example.drivesoft.account;
+
+import com.example.drivesoft.datasource.Workload;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * The {@code MappedAccountStore} class keeps the active accounts in memory-mapped files outside of the
+ * Java heap and serves account reads from them.
+ * <p>
+ * The store is optional and enabled by {@code account.read-store.enabled}. It holds one generation of the
+ * account data, as numbered by {@link AccountGenerationRepository}, in a base file and an optional delta
+ * file. When the {@link AccountGenerationWatcher} reports a new generation, the store reads the acctIDs
+ * changed since its own generation from the change log, loads only those accounts on the sync pool and
+ * writes them, together with the earlier changes of the delta file, into a new delta file; accounts that
+ * are no longer active are written as tombstones. Once the delta file holds more than
+ * {@code account.read-store.max-delta-records} records it is merged into a new base file on this node,
+ * without reading the database. The base file is only written from the {@code account} table when the
+ * log no longer covers the changes, after the whole table was replaced or the node was behind for longer
+ * than the log is kept. The generation and the changed accounts are read in one transaction. Each new
+ * file atomically replaces the previous one and both mappings are published together, so readers keep
+ * the mappings they started with and always see one complete generation. On restart the existing files
+ * are mapped again and caught up from the log.
+ * </p>
+ * <p>
+ * File layout, in big-endian byte order:
+ * </p>
+ * <ul>
+ * <li>Header of {@value #HEADER_SIZE} bytes: magic {@code DSAS}, format version, record count, index
+ * slot count, index offset, generation of the account data, and the generation of the base file the
+ * file applies to, which is its own generation for a base file.</li>
+ * <li>Records, one per account: the identifier ({@code -1} for a tombstone), the contract date as an
+ * epoch day, and the lengths of the variable fields as unsigned shorts holding the length plus one, or
+ * {@code 0} for {@code null}, followed by their bytes. The acctID is the first variable field and the
+ * price, stored as its scale and unscaled two's-complement bytes, the last. Fields longer than
+ * {@value #MAX_FIELD_LENGTH} bytes are rejected.</li>
+ * <li>Index: an open-addressing hash table of record offsets keyed by the FNV-1a hash of the UTF-8
+ * acctID, with linear probing and at least twice as many slots as records; {@code 0} marks an empty
+ * slot.</li>
+ * </ul>
+ * <p>
+ * Lookups hash the requested acctID, compare it with the acctID bytes in the delta file and then in the
+ * base file, and only decode the matching record into an {@link AccountDTO}. Full reads are written
+ * straight from the mappings into the response by {@link #writeAll}, so that no account of the set is
+ * held on the heap.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * <li>{@code @PostConstruct} - Maps the existing files and catches them up with the current generation.</li>
+ * <li>{@code @EventListener} - Catches the files up whenever the generation of the account data changed.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class MappedAccountStore {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(MappedAccountStore.class);
+
+  private static final int MAGIC = 0x44534153; // "DSAS"
+
+  private static final int VERSION = 3;
+
+  private static final int HEADER_SIZE = 40;
+
+  // Header position of the generation the file holds
+  private static final int GENERATION_OFFSET = 24;
+
+  // Header position of the generation of the base file a delta file applies to
+  private static final int BASE_GENERATION_OFFSET = 32;
+
+  // Variable fields of a record, in storage order
+  private static final int ACCT_ID = 0;
+  private static final int ACCT_TYPE = 1;
+  private static final int SALES_GROUP_PERSON1_ID = 2;
+  private static final int COLLATERAL_STOCK_NUMBER = 3;
+  private static final int COLLATERAL_YEAR_MODEL = 4;
+  private static final int COLLATERAL_MAKE = 5;
+  private static final int COLLATERAL_MODEL = 6;
+  private static final int BORROWER1_FIRST_NAME = 7;
+  private static final int BORROWER1_LAST_NAME = 8;
+  private static final int PRICE = 9;
+  private static final int FIELD_COUNT = 10;
+
+  // Identifier, epoch day and one length per variable field
+  private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES + FIELD_COUNT * Short.BYTES;
+
+  // Longest field, since the stored length is one more than the field length and 0 stands for null
+  private static final int MAX_FIELD_LENGTH = 0xfffe;
+
+  // Epoch day stored for a null contract date
+  private static final int NULL_DATE = Integer.MIN_VALUE;
+
+  // Identifier of a delta record marking an account that is no longer active
+  private static final long TOMBSTONE_ID = -1;
+
+  // All fields, in output order
+  private static final AccountField[] ALL_FIELDS = AccountField.values();
+
+  // Variable field holding each exposed field, by AccountField ordinal; -1 for the contract date
+  private static final int[] STORAGE_INDEX = new int[ALL_FIELDS.length];
+
+  static {
+    Arrays.fill(STORAGE_INDEX, -1);
+    STORAGE_INDEX[AccountField.ACCT_ID.ordinal()] = ACCT_ID;
+    STORAGE_INDEX[AccountField.ACCT_TYPE.ordinal()] = ACCT_TYPE;
+    STORAGE_INDEX[AccountField.SALES_GROUP_PERSON1_ID.ordinal()] = SALES_GROUP_PERSON1_ID;
+    STORAGE_INDEX[AccountField.COLLATERAL_STOCK_NUMBER.ordinal()] = COLLATERAL_STOCK_NUMBER;
+    STORAGE_INDEX[AccountField.COLLATERAL_YEAR_MODEL.ordinal()] = COLLATERAL_YEAR_MODEL;
+    STORAGE_INDEX[AccountField.COLLATERAL_MAKE.ordinal()] = COLLATERAL_MAKE;
+    STORAGE_INDEX[AccountField.COLLATERAL_MODEL.ordinal()] = COLLATERAL_MODEL;
+    STORAGE_INDEX[AccountField.BORROWER1_FIRST_NAME.ordinal()] = BORROWER1_FIRST_NAME;
+    STORAGE_INDEX[AccountField.BORROWER1_LAST_NAME.ordinal()] = BORROWER1_LAST_NAME;
+    STORAGE_INDEX[AccountField.CONTRACT_SALES_PRICE.ordinal()] = PRICE;
+  }
+
+  private static final String SELECT_ACTIVE = "SELECT id, acct_id, acct_type, sales_group_person1_id, " +
+          "collateral_stock_number, collateral_year_model, collateral_make, collateral_model, " +
+          "borrower1_first_name, borrower1_last_name, contract_sales_price, contract_date " +
+          "FROM account WHERE status = 'ACTIVE'";
+
+  // Template streaming the active accounts when a file is written
+  private final JdbcTemplate jdbcTemplate;
+
+  // Template streaming the changed accounts, one IN list at a time
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  // Repository reading the generation of the account data and the acctIDs it changed
+  private final AccountGenerationRepository accountGenerationRepository;
+
+  // Template reading the generation and the accounts in one read-only transaction, so that they match
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${account.read-store.enabled}")
+  private boolean enabled;
+
+  @Value("${account.read-store.file}")
+  private Path file;
+
+  // Number of delta records above which the delta file is merged into the base file
+  @Value("${account.read-store.max-delta-records}")
+  private int maxDeltaRecords;
+
+  // Number of changed acctIDs loaded with one query
+  @Value("${account.lookup.batch.in-clause-size}")
+  private int inClauseSize;
+
+  // Mappings of the current generation; null until the files have been written or mapped
+  private volatile Segments segments;
+
+  /**
+   * Constructs a {@code MappedAccountStore}.
+   *
+   * @param jdbcTemplate                the template streaming the active accounts
+   * @param accountGenerationRepository the repository reading the generation of the account data
+   * @param transactionManager          the transaction manager running the reads
+   */
+  public MappedAccountStore(JdbcTemplate jdbcTemplate, AccountGenerationRepository accountGenerationRepository,
+                            PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    // Makes MySQL Connector/J stream the rows instead of buffering the whole result
+    this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+    this.accountGenerationRepository = accountGenerationRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  /**
+   * Maps the existing base file, and the delta file if it applies to it, and catches them up with the
+   * current generation of the account data. Files that are missing or unreadable are written from the
+   * {@code account} table.
+   */
+  @PostConstruct
+  public void open() {
+    if (!enabled) {
+      return;
+    }
+    if (Files.exists(file)) {
+      try {
+        MappedByteBuffer base = map(file);
+        MappedByteBuffer delta = null;
+        if (Files.exists(deltaFile())) {
+          MappedByteBuffer candidate = map(deltaFile());
+          if (candidate.getLong(BASE_GENERATION_OFFSET) == base.getLong(GENERATION_OFFSET)) {
+            delta = candidate;
+          }
+        }
+        segments = new Segments(base, delta, (delta != null ? delta : base).getLong(GENERATION_OFFSET));
+        logger.info("Mapped account read store {} at generation {}.", file, segments.generation());
+      } catch (IOException | IllegalStateException e) {
+        logger.warn("Account read store {} is unreadable and will be rewritten: {}", file, e.getMessage());
+      }
+    }
+    refresh();
+  }
+
+  /**
+   * Catches the files up when the generation of the account data changed on any node.
+   *
+   * @param event the event carrying the new generation
+   */
+  @EventListener
+  public void onGenerationChanged(AccountGenerationChangedEvent event) {
+    refresh();
+  }
+
+  /**
+   * Checks whether reads are served from the store.
+   *
+   * @return {@code true} if the store is enabled and mapped
+   */
+  public boolean isAvailable() {
+    return segments != null;
+  }
+
+  /**
+   * Brings the files to the current generation of the account data, as {@link Workload#SYNC}. The
+   * accounts changed since the mapped generation are written into the delta file, unless the change log no
+   * longer covers them or nothing is mapped yet, in which case the base file is rewritten from the
+   * {@code account} table. Does nothing if the mapped generation is current. A failure is logged and
+   * leaves the previous generation in place.
+   */
+  public synchronized void refresh() {
+    if (!enabled) {
+      return;
+    }
+    Workload.SYNC.run(() -> {
+      long started = System.nanoTime();
+      try {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Segments current = segments;
+        Segments next = transactionTemplate.execute(status -> {
+          long generation = accountGenerationRepository.current();
+          if (current != null && current.generation() == generation) {
+            return null;
+          }
+          Optional<Set<String>> changed = current == null ? Optional.empty()
+                  : accountGenerationRepository.findChangedAcctIDs(current.generation(), generation);
+          try {
+            return changed.isPresent() ? update(current, changed.get(), generation) : rewrite(generation);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        if (next == null) {
+          return;
+        }
+        if (next.delta() != null && next.delta().getInt(8) > maxDeltaRecords) {
+          next = compact(next);
+        }
+        segments = next;
+        logger.info("Account read store moved to generation {} with {} base and {} delta records in {} ms.",
+                next.generation(), next.base().getInt(8), next.delta() == null ? 0 : next.delta().getInt(8),
+                (System.nanoTime() - started) / 1_000_000);
+      } catch (IOException | RuntimeException e) {
+        logger.error("Error occurred while writing the account read store: {}", e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Finds an active account by its acctID.
+   *
+   * @param acctID the account ID to look up
+   * @return an {@link Optional} containing the account if found, otherwise {@link Optional#empty()}
+   * @throws IllegalStateException if the store is not available
+   */
+  public Optional<AccountDTO> findByAcctID(String acctID) {
+    return Optional.ofNullable(lookup(current(), ByteBuffer.wrap(acctID.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  /**
+   * Finds many active accounts by their acctIDs.
+   *
+   * @param acctIDs the distinct account IDs to look up
+   * @return the found accounts keyed by acctID; IDs that do not exist are absent
+   * @throws IllegalStateException if the store is not available
+   */
+  public Map<String, AccountDTO> findAllByAcctIDs(Collection<String> acctIDs) {
+    Segments current = current();
+    Map<String, AccountDTO> found = new HashMap<>();
+    for (String acctID : acctIDs) {
+      AccountDTO accountDTO = lookup(current, ByteBuffer.wrap(acctID.getBytes(StandardCharsets.UTF_8)));
+      if (accountDTO != null) {
+        found.put(acctID, accountDTO);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Writes all active accounts, each as an object, straight from the mappings to the generator. The
+   * output is the same as serializing their DTOs with {@link AccountDTOSerializer}; only a small buffer is
+   * allocated per call.
+   *
+   * @param generator the generator to write to
+   * @param fields    the fields to write, or {@code null} for all fields
+   * @throws IOException           if writing to the generator fails
+   * @throws IllegalStateException if the store is not available
+   */
+  public void writeAll(JsonGenerator generator, Set<AccountField> fields) throws IOException {
+    Segments current = current();
+    ByteBuffer base = current.base();
+    ByteBuffer delta = current.delta();
+    byte[] scratch = new byte[MAX_FIELD_LENGTH];
+    int[] positions = new int[FIELD_COUNT];
+    int offset = HEADER_SIZE;
+    for (int i = base.getInt(8); i > 0; i--) {
+      // Accounts changed since the base file was written are taken from the delta file
+      if (delta == null || find(delta, acctID(base, offset)) == 0) {
+        writeRecord(generator, base, offset, fields, scratch, positions);
+      }
+      offset += recordSize(base, offset);
+    }
+    if (delta != null) {
+      offset = HEADER_SIZE;
+      for (int i = delta.getInt(8); i > 0; i--) {
+        if (!isTombstone(delta, offset)) {
+          writeRecord(generator, delta, offset, fields, scratch, positions);
+        }
+        offset += recordSize(delta, offset);
+      }
+    }
+  }
+
+  private Segments current() {
+    Segments current = segments;
+    if (current == null) {
+      throw new IllegalStateException("Account read store is not available");
+    }
+    return current;
+  }
+
+  private Path deltaFile() {
+    return file.resolveSibling(file.getFileName() + ".delta");
+  }
+
+  /**
+   * Writes the accounts changed since the mapped generation, and the earlier changes of the delta file
+   * that were not changed again, into a new delta file.
+   *
+   * @param current    the mapped files
+   * @param changed    the acctIDs changed since their generation
+   * @param generation the generation being written
+   * @return the base file and the new delta file
+   * @throws IOException if the delta file cannot be written or mapped
+   */
+  private Segments update(Segments current, Set<String> changed, long generation) throws IOException {
+    ByteBuffer delta = current.delta();
+    Path temporary = file.resolveSibling(file.getFileName() + ".delta.tmp");
+    writeFile(temporary, generation, current.base().getLong(GENERATION_OFFSET), writer -> {
+      if (delta != null) {
+        forEachRecord(delta, offset -> {
+          if (!changed.contains(StandardCharsets.UTF_8.decode(acctID(delta, offset)).toString())) {
+            writer.copy(delta, offset);
+          }
+        });
+      }
+      List<String> acctIDs = List.copyOf(changed);
+      Set<String> active = new HashSet<>();
+      for (int from = 0; from < acctIDs.size(); from += inClauseSize) {
+        List<String> chunk = acctIDs.subList(from, Math.min(from + inClauseSize, acctIDs.size()));
+        namedParameterJdbcTemplate.query(SELECT_ACTIVE + " AND acct_id IN (:acctIDs)",
+                new MapSqlParameterSource("acctIDs", chunk), (RowCallbackHandler) rs -> {
+                  active.add(rs.getString(2));
+                  writer.processRow(rs);
+                });
+      }
+      // Changed accounts without an active row were deactivated or archived
+      acctIDs.stream()
+              .filter(acctID -> !active.contains(acctID))
+              .forEach(acctID -> writer.tombstone(acctID.getBytes(StandardCharsets.UTF_8)));
+    });
+    Files.move(temporary, deltaFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return new Segments(current.base(), map(deltaFile()), generation);
+  }
+
+  /**
+   * Writes a new base file from the active accounts of the {@code account} table and removes the delta
+   * file.
+   *
+   * @param generation the generation being written
+   * @return the new base file
+   * @throws IOException if the base file cannot be written or mapped
+   */
+  private Segments rewrite(long generation) throws IOException {
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    writeFile(temporary, generation, generation, writer -> jdbcTemplate.query(SELECT_ACTIVE, writer));
+    return replaceBase(temporary, generation);
+  }
+
+  /**
+   * Merges the delta file into a new base file, copying the records of both without reading the database.
+   *
+   * @param current the mapped files, with a delta file
+   * @return the new base file
+   * @throws IOException if the base file cannot be written or mapped
+   */
+  private Segments compact(Segments current) throws IOException {
+    ByteBuffer base = current.base();
+    ByteBuffer delta = current.delta();
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    writeFile(temporary, current.generation(), current.generation(), writer -> {
+      forEachRecord(base, offset -> {
+        if (find(delta, acctID(base, offset)) == 0) {
+          writer.copy(base, offset);
+        }
+      });
+      forEachRecord(delta, offset -> {
+        if (!isTombstone(delta, offset)) {
+          writer.copy(delta, offset);
+        }
+      });
+    });
+    return replaceBase(temporary, current.generation());
+  }
+
+  // A delta file left behind no longer matches the generation of the new base file and is ignored on restart
+  private Segments replaceBase(Path temporary, long generation) throws IOException {
+    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    Files.deleteIfExists(deltaFile());
+    return new Segments(map(file), null, generation);
+  }
+
+  private static AccountDTO lookup(Segments segments, ByteBuffer acctID) {
+    ByteBuffer delta = segments.delta();
+    if (delta != null) {
+      int offset = find(delta, acctID);
+      if (offset != 0) {
+        return isTombstone(delta, offset) ? null : decode(delta, offset);
+      }
+    }
+    int offset = find(segments.base(), acctID);
+    return offset == 0 ? null : decode(segments.base(), offset);
+  }
+
+  private static int find(ByteBuffer buffer, ByteBuffer acctID) {
+    int slots = buffer.getInt(12);
+    int index = (int) buffer.getLong(16);
+    int slot = (int) (hash(acctID) & (slots - 1));
+    while (true) {
+      int offset = buffer.getInt(index + slot * Integer.BYTES);
+      if (offset == 0) {
+        return 0;
+      }
+      if (acctID(buffer, offset).mismatch(acctID) == -1) {
+        return offset;
+      }
+      slot = (slot + 1) & (slots - 1);
+    }
+  }
+
+  private static void forEachRecord(ByteBuffer buffer, IntConsumer action) {
+    int offset = HEADER_SIZE;
+    for (int i = buffer.getInt(8); i > 0; i--) {
+      action.accept(offset);
+      offset += recordSize(buffer, offset);
+    }
+  }
+
+  private static AccountDTO decode(ByteBuffer buffer, int offset) {
+    AccountDTO accountDTO = new AccountDTO();
+    accountDTO.setId(buffer.getLong(offset));
+    int epochDay = buffer.getInt(offset + Long.BYTES);
+    accountDTO.setContractDate(epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay));
+    int position = offset + RECORD_HEADER_SIZE;
+    String[] strings = new String[PRICE];
+    for (int field = 0; field < PRICE; field++) {
+      int length = fieldLength(buffer, offset, field);
+      if (length >= 0) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        strings[field] = new String(bytes, StandardCharsets.UTF_8);
+        position += length;
+      }
+    }
+    int priceLength = fieldLength(buffer, offset, PRICE);
+    if (priceLength >= 0) {
+      byte[] unscaled = new byte[priceLength - 1];
+      buffer.get(position + 1, unscaled);
+      accountDTO.setContractSalesPrice(new BigDecimal(new BigInteger(unscaled), buffer.get(position)));
+    }
+    accountDTO.setAcctID(strings[ACCT_ID]);
+    accountDTO.setAcctType(strings[ACCT_TYPE]);
+    accountDTO.setSalesGroupPerson1ID(strings[SALES_GROUP_PERSON1_ID]);
+    accountDTO.setCollateralStockNumber(strings[COLLATERAL_STOCK_NUMBER]);
+    accountDTO.setCollateralYearModel(strings[COLLATERAL_YEAR_MODEL]);
+    accountDTO.setCollateralMake(strings[COLLATERAL_MAKE]);
+    accountDTO.setCollateralModel(strings[COLLATERAL_MODEL]);
+    accountDTO.setBorrower1FirstName(strings[BORROWER1_FIRST_NAME]);
+    accountDTO.setBorrower1LastName(strings[BORROWER1_LAST_NAME]);
+    return accountDTO;
+  }
+
+  /**
+   * Writes a record as an object with the same property names, order and values as
+   * {@link AccountDTOSerializer}. Text fields are copied into the scratch buffer and written as UTF-8
+   * without being decoded.
+   */
+  private static void writeRecord(JsonGenerator generator, ByteBuffer buffer, int offset, Set<AccountField> fields,
+                                  byte[] scratch, int[] positions) throws IOException {
+    int position = offset + RECORD_HEADER_SIZE;
+    for (int field = 0; field < FIELD_COUNT; field++) {
+      positions[field] = position;
+      position += Math.max(0, fieldLength(buffer, offset, field));
+    }
+    generator.writeStartObject();
+    for (AccountField field : ALL_FIELDS) {
+      if (fields != null && !fields.contains(field)) {
+        continue;
+      }
+      generator.writeFieldName(field.getEncodedName());
+      int index = STORAGE_INDEX[field.ordinal()];
+      if (index < 0) {
+        int epochDay = buffer.getInt(offset + Long.BYTES);
+        if (epochDay == NULL_DATE) {
+          generator.writeNull();
+        } else {
+          generator.writeString(LocalDate.ofEpochDay(epochDay).toString());
+        }
+        continue;
+      }
+      int length = fieldLength(buffer, offset, index);
+      if (length < 0) {
+        generator.writeNull();
+        continue;
+      }
+      buffer.get(positions[index], scratch, 0, length);
+      if (index == PRICE) {
+        generator.writeNumber(new BigDecimal(new BigInteger(scratch, 1, length - 1), scratch[0]));
+      } else {
+        generator.writeUTF8String(scratch, 0, length);
+      }
+    }
+    generator.writeEndObject();
+  }
+
+  private static ByteBuffer acctID(ByteBuffer buffer, int offset) {
+    return buffer.slice(offset + RECORD_HEADER_SIZE, fieldLength(buffer, offset, ACCT_ID));
+  }
+
+  private static boolean isTombstone(ByteBuffer buffer, int offset) {
+    return buffer.getLong(offset) == TOMBSTONE_ID;
+  }
+
+  // Length of a variable field, or -1 if it is null
+  private static int fieldLength(ByteBuffer buffer, int offset, int field) {
+    return Short.toUnsignedInt(buffer.getShort(offset + Long.BYTES + Integer.BYTES + field * Short.BYTES)) - 1;
+  }
+
+  private static int recordSize(ByteBuffer buffer, int offset) {
+    int size = RECORD_HEADER_SIZE;
+    for (int field = 0; field < FIELD_COUNT; field++) {
+      size += Math.max(0, fieldLength(buffer, offset, field));
+    }
+    return size;
+  }
+
+  /**
+   * Writes a file from the records added by {@code content}, then its index and header.
+   *
+   * @param target         the file to write
+   * @param generation     the generation of the account data being written
+   * @param baseGeneration the generation of the base file the file applies to
+   * @param content        the action adding the records
+   * @return the number of written records
+   */
+  private static int writeFile(Path target, long generation, long baseGeneration, Consumer<RecordWriter> content) {
+    try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      channel.position(HEADER_SIZE);
+      OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+      DataOutputStream out = new DataOutputStream(stream);
+      RecordWriter writer = new RecordWriter(out);
+      content.accept(writer);
+      out.flush();
+
+      // The index follows the records; offsets must fit the int slots of the mapping
+      long indexOffset = HEADER_SIZE + (long) out.size();
+      int slots = Integer.highestOneBit(Math.max(2, writer.count * 2 - 1)) << 1;
+      if (indexOffset + (long) slots * Integer.BYTES > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Account read store exceeds 2 GB");
+      }
+      ByteBuffer index = ByteBuffer.allocate(slots * Integer.BYTES);
+      for (int i = 0; i < writer.count; i++) {
+        int slot = (int) (writer.hashes[i] & (slots - 1));
+        while (index.getInt(slot * Integer.BYTES) != 0) {
+          slot = (slot + 1) & (slots - 1);
+        }
+        index.putInt(slot * Integer.BYTES, (int) (HEADER_SIZE + writer.offsets[i]));
+      }
+      channel.write(index, indexOffset);
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+              .putInt(MAGIC)
+              .putInt(VERSION)
+              .putInt(writer.count)
+              .putInt(slots)
+              .putLong(indexOffset)
+              .putLong(generation)
+              .putLong(baseGeneration)
+              .flip();
+      channel.write(header, 0);
+      channel.force(true);
+      return writer.count;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static MappedByteBuffer map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.BIG_ENDIAN);
+      if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+        throw new IllegalStateException("Unsupported account read store format");
+      }
+      return buffer;
+    }
+  }
+
+  private static long hash(ByteBuffer bytes) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = bytes.position(); i < bytes.limit(); i++) {
+      hash ^= bytes.get(i) & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash ^ (hash >>> 32);
+  }
+
+  /**
+   * Mappings of one generation: the base file and, if accounts changed since it was written, the delta
+   * file overriding its records.
+   */
+  private record Segments(MappedByteBuffer base, MappedByteBuffer delta, long generation) {
+  }
+
+  /**
+   * Writes records from streamed rows, tombstones and records copied from another file, and remembers the
+   * offset and acctID hash of each for the index.
+   */
+  private static final class RecordWriter implements RowCallbackHandler {
+
+    private final DataOutputStream out;
+
+    private long[] hashes = new long[1024];
+
+    private int[] offsets = new int[1024];
+
+    private byte[] copyBuffer = new byte[1 << 12];
+
+    private int count;
+
+    private RecordWriter(DataOutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      byte[][] fields = new byte[FIELD_COUNT][];
+      for (int field = 0; field < PRICE; field++) {
+        String value = rs.getString(2 + field);
+        fields[field] = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+      }
+      BigDecimal price = rs.getBigDecimal(11);
+      if (price != null) {
+        byte[] unscaled = price.unscaledValue().toByteArray();
+        fields[PRICE] = new byte[unscaled.length + 1];
+        fields[PRICE][0] = (byte) price.scale();
+        System.arraycopy(unscaled, 0, fields[PRICE], 1, unscaled.length);
+      }
+      LocalDate date = rs.getObject(12, LocalDate.class);
+      write(rs.getLong(1), date == null ? NULL_DATE : (int) date.toEpochDay(), fields);
+    }
+
+    private void tombstone(byte[] acctID) {
+      byte[][] fields = new byte[FIELD_COUNT][];
+      fields[ACCT_ID] = acctID;
+      write(TOMBSTONE_ID, NULL_DATE, fields);
+    }
+
+    private void copy(ByteBuffer buffer, int offset) {
+      int size = recordSize(buffer, offset);
+      if (copyBuffer.length < size) {
+        copyBuffer = new byte[Math.max(size, copyBuffer.length * 2)];
+      }
+      buffer.get(offset, copyBuffer, 0, size);
+      add(hash(acctID(buffer, offset)));
+      try {
+        out.write(copyBuffer, 0, size);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void write(long id, int epochDay, byte[][] fields) {
+      for (byte[] field : fields) {
+        if (field != null && field.length > MAX_FIELD_LENGTH) {
+          throw new IllegalStateException("A field of account " + new String(fields[ACCT_ID], StandardCharsets.UTF_8)
+                  + " exceeds " + MAX_FIELD_LENGTH + " bytes");
+        }
+      }
+      add(hash(ByteBuffer.wrap(fields[ACCT_ID])));
+      try {
+        out.writeLong(id);
+        out.writeInt(epochDay);
+        for (byte[] field : fields) {
+          out.writeShort(field == null ? 0 : field.length + 1);
+        }
+        for (byte[] field : fields) {
+          if (field != null) {
+            out.write(field);
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    // Records the position and acctID hash of the record about to be written
+    private void add(long hash) {
+      if (count == offsets.length) {
+        offsets = Arrays.copyOf(offsets, count * 2);
+        hashes = Arrays.copyOf(hashes, count * 2);
+      }
+      offsets[count] = out.size();
+      hashes[count] = hash;
+      count++;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.drivesoft.account.exception;
+
+/**
+ * The {@code AccountNotFoundException} class represents an exception that is thrown when a requested
+ * account does not exist locally.
+ *
+ * @since 1.0
+ */
+public class AccountNotFoundException extends RuntimeException {
+
+  /**
+   * Constructs a new {@code AccountNotFoundException} for the specified account ID.
+   *
+   * @param acctID the account ID that was not found
+   */
+  public AccountNotFoundException(String acctID) {
+    super("Account not found: " + acctID);
+  }
+}
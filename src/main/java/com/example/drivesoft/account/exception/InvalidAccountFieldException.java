@@ -0,0 +1,19 @@
+package com.example.drivesoft.account.exception;
+
+/**
+ * The {@code InvalidAccountFieldException} class represents an exception that is thrown when a client
+ * requests an account field that does not exist.
+ *
+ * @since 1.0
+ */
+public class InvalidAccountFieldException extends RuntimeException {
+
+  /**
+   * Constructs a new {@code InvalidAccountFieldException} for the specified field name.
+   *
+   * @param field the requested field name that does not exist
+   */
+  public InvalidAccountFieldException(String field) {
+    super("Unknown account field: " + field);
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.drivesoft.analytics;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * AnalyticsController is a REST controller that serves approximate analytics over the account set.
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+  // Service maintaining the analytics sketches.
+  private final AnalyticsService analyticsService;
+
+  /**
+   * Constructs an AnalyticsController with the specified AnalyticsService.
+   *
+   * @param analyticsService the service maintaining the analytics sketches
+   */
+  public AnalyticsController(AnalyticsService analyticsService) {
+    this.analyticsService = analyticsService;
+  }
+
+  /**
+   * Handles GET requests for the approximate analytics summary.
+   *
+   * @param top the number of salespeople to include in the top-K list; defaults to 10
+   * @return a ResponseEntity containing the analytics summary and an HTTP status code
+   */
+  @GetMapping("/summary")
+  public ResponseEntity<AnalyticsDTO> fetchSummary(
+          @RequestParam(value = "top", required = false, defaultValue = "10") int top
+  ) {
+    return new ResponseEntity<>(analyticsService.getSummary(top), HttpStatus.OK);
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.drivesoft.analytics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The {@code AnalyticsDTO} class carries the approximate analytics computed from the account sketches.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnalyticsDTO {
+
+  /**
+   * The estimated number of distinct borrowers.
+   */
+  @JsonProperty("distinct_borrowers")
+  private long distinctBorrowers;
+
+  /**
+   * Approximate sales price quantiles per collateral make.
+   */
+  @JsonProperty("price_quantiles")
+  private List<PriceQuantilesDTO> priceQuantiles;
+
+  /**
+   * The salespeople with the highest estimated contract volume, largest first.
+   */
+  @JsonProperty("top_salespeople")
+  private List<SalespersonVolumeDTO> topSalespeople;
+}
@@ -0,0 +1,287 @@
+package com.example.drivesoft.analytics;
+
+import com.example.drivesoft.account.Account;
+import com.example.drivesoft.account.AccountGenerationChangedEvent;
+import com.example.drivesoft.account.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import org.apache.datasketches.frequencies.ErrorType;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.quantilescommon.QuantileSearchCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code AnalyticsService} class maintains mergeable probabilistic sketches over the account set and
+ * answers approximate analytics questions from them.
+ * <p>
+ * Three kinds of sketch are kept, each with a fixed memory footprint regardless of how many accounts
+ * are recorded:
+ * </p>
+ * <ul>
+ * <li>An HLL sketch estimating the number of distinct borrowers.</li>
+ * <li>One KLL quantile sketch of contract sales prices per collateral make, for at most
+ * {@code analytics.max-makes} makes; further makes share the {@value #OTHER_MAKE} sketch.</li>
+ * <li>A frequent-items sketch of contracts per salesperson, used for the top-K report.</li>
+ * </ul>
+ * <p>
+ * A sync records its newly inserted accounts in a batch of its own from {@link #newBatch}, so the shared
+ * sketches are never touched by a transaction that may still roll back. {@link #apply} merges the batch
+ * into the persisted {@code analytics_sketch} rows, which it reads and locks first, so that batches
+ * applied by different nodes are all kept. Once the sync transaction has committed, the merged set
+ * replaces the sketches served by {@link #getSummary}. The sketches are loaded on startup, and seeded
+ * once from the {@code account} table if nothing has been persisted yet.
+ * </p>
+ * <p>
+ * Sketches can only record accounts, not remove them, so a batch only covers inserts. Whenever a task
+ * changed, deactivated or archived accounts, the sketches are rebuilt from the active accounts through
+ * {@link #rebuild}, or, by a full refresh, from the pulled accounts through {@link #replace}. Every node
+ * reloads the persisted sketches when the generation of the account data changes, which the tasks
+ * writing the sketches advance in the same transaction.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Service} - Marks this class as a Spring service component.</li>
+ * <li>{@code @PostConstruct} - Loads or seeds the sketches once the bean is initialized.</li>
+ * <li>{@code @EventListener} - Reloads the persisted sketches when the generation of the account data changed.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class AnalyticsService {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+  /**
+   * The make under which prices are recorded once {@code analytics.max-makes} distinct makes are tracked.
+   */
+  public static final String OTHER_MAKE = "OTHER";
+
+  private static final String SELECT_ACTIVE_RECORDED = "SELECT borrower1_first_name, borrower1_last_name, " +
+          "sales_group_person1_id, contract_sales_price, collateral_make FROM account WHERE status = 'ACTIVE'";
+
+  // Repository for persisted sketches.
+  private final AnalyticsSketchRepository analyticsSketchRepository;
+
+  // Repository for accounts, used only to check whether empty sketches need seeding.
+  private final AccountRepository accountRepository;
+
+  // Template streaming the recorded columns of the active accounts, joining the current transaction
+  private final JdbcTemplate streamingJdbcTemplate;
+
+  @Value("${analytics.hll.lg-k}")
+  private int hllLgK;
+
+  @Value("${analytics.kll.k}")
+  private int kllK;
+
+  @Value("${analytics.frequent-items.max-map-size}")
+  private int frequentItemsMaxMapSize;
+
+  @Value("${analytics.max-makes}")
+  private int maxMakes;
+
+  // Template seeding the persisted sketches in a transaction of its own
+  private final TransactionTemplate transactionTemplate;
+
+  // Sketches served by getSummary; replaced as a whole once a merge has committed
+  private AnalyticsSketchSet sketches;
+
+  /**
+   * Constructs an {@code AnalyticsService} with the required dependencies.
+   *
+   * @param analyticsSketchRepository the repository for persisted sketches
+   * @param accountRepository         the repository for account data operations
+   * @param jdbcTemplate              the template reading the active accounts the sketches are built from
+   * @param transactionManager        the transaction manager seeding the persisted sketches
+   */
+  public AnalyticsService(AnalyticsSketchRepository analyticsSketchRepository, AccountRepository accountRepository,
+                          JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.analyticsSketchRepository = analyticsSketchRepository;
+    this.accountRepository = accountRepository;
+    this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    // Makes MySQL Connector/J stream the rows instead of buffering the whole result
+    this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Loads the persisted sketches, or seeds them from the existing accounts if none were persisted.
+   * <p>
+   * When two nodes seed at the same time, the second insert fails on the primary key and that node
+   * loads the sketches seeded by the first.
+   * </p>
+   */
+  @PostConstruct
+  public void load() {
+    List<AnalyticsSketch> persisted = analyticsSketchRepository.findAll();
+    if (persisted.isEmpty() && accountRepository.count() > 0) {
+      logger.info("Seeding analytics sketches from existing accounts...");
+      try {
+        transactionTemplate.executeWithoutResult(status -> {
+          if (analyticsSketchRepository.findAllForUpdate().isEmpty()) {
+            analyticsSketchRepository.saveAll(recordActiveAccounts().toRows());
+          }
+        });
+      } catch (DataIntegrityViolationException e) {
+        logger.info("Analytics sketches were seeded by another node.");
+      }
+      persisted = analyticsSketchRepository.findAll();
+    }
+    publish(toSet(persisted));
+    logger.info("Loaded {} analytics sketches.", persisted.size());
+  }
+
+  /**
+   * Returns an empty set of sketches in which a sync records its inserted accounts.
+   *
+   * @return an empty batch
+   */
+  public AnalyticsSketchSet newBatch() {
+    return new AnalyticsSketchSet(hllLgK, kllK, frequentItemsMaxMapSize, maxMakes);
+  }
+
+  /**
+   * Merges a batch into the persisted sketches within the current transaction.
+   * <p>
+   * The persisted rows are read with a {@code SELECT ... FOR UPDATE}, merged with the batch and written
+   * back, so that concurrent merges from other nodes are serialized instead of overwriting each other.
+   * The merged set is served once the transaction has committed; after a rollback nothing changes.
+   * </p>
+   *
+   * @param batch the sketches recorded by a sync
+   */
+  @Transactional
+  public void apply(AnalyticsSketchSet batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    AnalyticsSketchSet merged = toSet(analyticsSketchRepository.findAllForUpdate());
+    merged.merge(batch);
+    analyticsSketchRepository.saveAll(merged.toRows());
+    publishAfterCommit(merged);
+  }
+
+  /**
+   * Replaces the persisted sketches with a complete set within the current transaction. The persisted
+   * rows are locked first; rows the set no longer has, such as the price sketch of a make without active
+   * accounts, are deleted. The set is served once the transaction has committed.
+   *
+   * @param complete the sketches of every active account
+   */
+  @Transactional
+  public void replace(AnalyticsSketchSet complete) {
+    List<AnalyticsSketch> rows = complete.toRows();
+    Set<String> names = rows.stream().map(AnalyticsSketch::getName).collect(Collectors.toSet());
+    analyticsSketchRepository.deleteAll(analyticsSketchRepository.findAllForUpdate().stream()
+            .filter(row -> !names.contains(row.getName()))
+            .toList());
+    analyticsSketchRepository.saveAll(rows);
+    publishAfterCommit(complete);
+  }
+
+  /**
+   * Rebuilds the persisted sketches from the active accounts within the current transaction, so that
+   * changed, deactivated and archived accounts no longer count. Only the recorded columns are read, and
+   * the rows are streamed into the sketches instead of being loaded as entities. The caller must advance
+   * the generation of the account data in the same transaction, so that the other nodes reload the
+   * sketches.
+   */
+  @Transactional
+  public void rebuild() {
+    replace(recordActiveAccounts());
+  }
+
+  /**
+   * Reloads the persisted sketches when the generation of the account data changed, since another node
+   * may have merged a batch into them or rebuilt them.
+   *
+   * @param event the event carrying the new generation
+   */
+  @EventListener
+  public void onGenerationChanged(AccountGenerationChangedEvent event) {
+    publish(toSet(analyticsSketchRepository.findAll()));
+  }
+
+  /**
+   * Returns the approximate analytics computed from the sketches.
+   *
+   * @param topK the number of salespeople to include in the top-K list
+   * @return an {@link AnalyticsDTO} with the estimates
+   */
+  public synchronized AnalyticsDTO getSummary(int topK) {
+    QuantileSearchCriteria inclusive = QuantileSearchCriteria.INCLUSIVE;
+    Map<String, KllDoublesSketch> priceQuantilesByMake = sketches.getPriceQuantilesByMake();
+    List<PriceQuantilesDTO> quantiles = priceQuantilesByMake.entrySet().stream()
+            .filter(entry -> !entry.getValue().isEmpty())
+            .map(entry -> new PriceQuantilesDTO(
+                    entry.getKey(),
+                    entry.getValue().getN(),
+                    entry.getValue().getQuantile(0.5, inclusive),
+                    entry.getValue().getQuantile(0.9, inclusive),
+                    entry.getValue().getQuantile(0.99, inclusive)))
+            .sorted(Comparator.comparing(PriceQuantilesDTO::getMake))
+            .toList();
+    List<SalespersonVolumeDTO> salespeople = Arrays.stream(sketches.getTopSalespeople().getFrequentItems(ErrorType.NO_FALSE_NEGATIVES))
+            .limit(Math.max(topK, 0))
+            .map(row -> new SalespersonVolumeDTO(row.getItem(), row.getEstimate()))
+            .toList();
+    return new AnalyticsDTO(Math.round(sketches.getDistinctBorrowers().getEstimate()), quantiles, salespeople);
+  }
+
+  private AnalyticsSketchSet recordActiveAccounts() {
+    AnalyticsSketchSet set = newBatch();
+    // A detached account carrying only the recorded columns, reused for every row
+    Account account = new Account();
+    streamingJdbcTemplate.query(SELECT_ACTIVE_RECORDED, (RowCallbackHandler) rs -> {
+      account.setBorrower1FirstName(rs.getString(1));
+      account.setBorrower1LastName(rs.getString(2));
+      account.setSalesGroupPerson1ID(rs.getString(3));
+      account.setContractSalesPrice(rs.getBigDecimal(4));
+      account.setCollateralMake(rs.getString(5));
+      set.record(account);
+    });
+    return set;
+  }
+
+  private AnalyticsSketchSet toSet(List<AnalyticsSketch> rows) {
+    return AnalyticsSketchSet.fromRows(rows, hllLgK, kllK, frequentItemsMaxMapSize, maxMakes);
+  }
+
+  private void publishAfterCommit(AnalyticsSketchSet merged) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          publish(merged);
+        }
+      });
+    } else {
+      publish(merged);
+    }
+  }
+
+  private synchronized void publish(AnalyticsSketchSet merged) {
+    sketches = merged;
+  }
+}
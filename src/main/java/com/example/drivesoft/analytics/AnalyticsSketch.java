@@ -0,0 +1,39 @@
+package com.example.drivesoft.analytics;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code AnalyticsSketch} class represents a serialized probabilistic sketch persisted between restarts.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Entity} - Specifies that this class is an entity mapped to the database.</li>
+ * <li>{@code @Table(name = "analytics_sketch")} - Specifies the table name for this entity.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "analytics_sketch")
+public class AnalyticsSketch {
+
+  /**
+   * The unique name of the sketch (e.g., {@code distinct_borrowers} or {@code price_quantiles:Toyota}).
+   */
+  @Id
+  @Column(name = "name", length = 191)
+  private String name;
+
+  /**
+   * The compact binary form of the sketch.
+   */
+  @Lob
+  @Column(name = "data", nullable = false, columnDefinition = "MEDIUMBLOB")
+  private byte[] data;
+}
@@ -0,0 +1,27 @@
+package com.example.drivesoft.analytics;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The {@code AnalyticsSketchRepository} interface provides data access methods for the {@link AnalyticsSketch} entity.
+ *
+ * @since 1.0
+ */
+@Repository
+public interface AnalyticsSketchRepository extends JpaRepository<AnalyticsSketch, String> {
+
+  /**
+   * Reads all persisted sketches and locks their rows until the end of the transaction.
+   *
+   * @return the persisted sketches
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from AnalyticsSketch s")
+  List<AnalyticsSketch> findAllForUpdate();
+}
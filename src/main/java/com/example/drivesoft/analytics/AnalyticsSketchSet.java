@@ -0,0 +1,183 @@
+package com.example.drivesoft.analytics;
+
+import com.example.drivesoft.account.Account;
+import org.apache.datasketches.common.ArrayOfStringsSerDe;
+import org.apache.datasketches.frequencies.ItemsSketch;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.Union;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.memory.Memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code AnalyticsSketchSet} class holds one complete set of analytics sketches: the distinct
+ * borrower HLL sketch, the per-make KLL price sketches and the salesperson frequent-items sketch.
+ * <p>
+ * A sync records its new accounts in a set of its own, obtained from {@link AnalyticsService#newBatch},
+ * and {@link AnalyticsService#apply} merges it into the persisted set. All sketch kinds are mergeable, so
+ * merging batches recorded on different nodes gives the same estimates as recording every account in
+ * one set. A set is not thread-safe.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class AnalyticsSketchSet {
+
+  // Sketch names used for persistence
+  private static final String DISTINCT_BORROWERS = "distinct_borrowers";
+  private static final String TOP_SALESPEOPLE = "top_salespeople";
+  private static final String PRICE_QUANTILES_PREFIX = "price_quantiles:";
+
+  // Serializer for the string items of the frequent-items sketch
+  private static final ArrayOfStringsSerDe STRING_SER_DE = new ArrayOfStringsSerDe();
+
+  private final int hllLgK;
+  private final int kllK;
+  private final int maxMakes;
+
+  private HllSketch distinctBorrowers;
+  private final ItemsSketch<String> topSalespeople;
+  private final Map<String, KllDoublesSketch> priceQuantilesByMake = new HashMap<>();
+
+  /**
+   * Constructs an empty {@code AnalyticsSketchSet}.
+   *
+   * @param hllLgK                  the log2 of the number of HLL buckets
+   * @param kllK                    the accuracy parameter of the KLL sketches
+   * @param frequentItemsMaxMapSize the maximum map size of the frequent-items sketch
+   * @param maxMakes                the maximum number of makes with a price sketch of their own
+   */
+  AnalyticsSketchSet(int hllLgK, int kllK, int frequentItemsMaxMapSize, int maxMakes) {
+    this(hllLgK, kllK, maxMakes, new HllSketch(hllLgK), new ItemsSketch<>(frequentItemsMaxMapSize));
+  }
+
+  private AnalyticsSketchSet(int hllLgK, int kllK, int maxMakes, HllSketch distinctBorrowers,
+                             ItemsSketch<String> topSalespeople) {
+    this.hllLgK = hllLgK;
+    this.kllK = kllK;
+    this.maxMakes = maxMakes;
+    this.distinctBorrowers = distinctBorrowers;
+    this.topSalespeople = topSalespeople;
+  }
+
+  /**
+   * Reads a set from its persisted rows. Sketches missing from the rows start empty.
+   *
+   * @param rows                    the persisted sketches
+   * @param hllLgK                  the log2 of the number of HLL buckets
+   * @param kllK                    the accuracy parameter of the KLL sketches
+   * @param frequentItemsMaxMapSize the maximum map size of the frequent-items sketch
+   * @param maxMakes                the maximum number of makes with a price sketch of their own
+   * @return the set described by the rows
+   */
+  static AnalyticsSketchSet fromRows(Collection<AnalyticsSketch> rows, int hllLgK, int kllK,
+                                     int frequentItemsMaxMapSize, int maxMakes) {
+    HllSketch distinctBorrowers = new HllSketch(hllLgK);
+    ItemsSketch<String> topSalespeople = new ItemsSketch<>(frequentItemsMaxMapSize);
+    Map<String, KllDoublesSketch> priceQuantiles = new HashMap<>();
+    for (AnalyticsSketch row : rows) {
+      Memory memory = Memory.wrap(row.getData());
+      if (DISTINCT_BORROWERS.equals(row.getName())) {
+        distinctBorrowers = HllSketch.heapify(memory);
+      } else if (TOP_SALESPEOPLE.equals(row.getName())) {
+        topSalespeople = ItemsSketch.getInstance(memory, STRING_SER_DE);
+      } else if (row.getName().startsWith(PRICE_QUANTILES_PREFIX)) {
+        priceQuantiles.put(row.getName().substring(PRICE_QUANTILES_PREFIX.length()), KllDoublesSketch.heapify(memory));
+      }
+    }
+    AnalyticsSketchSet set = new AnalyticsSketchSet(hllLgK, kllK, maxMakes, distinctBorrowers, topSalespeople);
+    set.priceQuantilesByMake.putAll(priceQuantiles);
+    return set;
+  }
+
+  /**
+   * Records an inserted account in every sketch.
+   *
+   * @param account the inserted account
+   */
+  public void record(Account account) {
+    if (account.getBorrower1FirstName() != null || account.getBorrower1LastName() != null) {
+      distinctBorrowers.update(account.getBorrower1FirstName() + "|" + account.getBorrower1LastName());
+    }
+    if (account.getSalesGroupPerson1ID() != null) {
+      topSalespeople.update(account.getSalesGroupPerson1ID());
+    }
+    if (account.getContractSalesPrice() != null) {
+      priceSketchFor(account.getCollateralMake()).update(account.getContractSalesPrice().doubleValue());
+    }
+  }
+
+  /**
+   * Checks whether no account has been recorded in this set.
+   *
+   * @return {@code true} if every sketch is empty
+   */
+  public boolean isEmpty() {
+    return distinctBorrowers.isEmpty() && topSalespeople.isEmpty()
+            && priceQuantilesByMake.values().stream().allMatch(KllDoublesSketch::isEmpty);
+  }
+
+  /**
+   * Merges another set into this one. Makes of the other set that this set does not track yet share the
+   * {@value AnalyticsService#OTHER_MAKE} sketch once {@code analytics.max-makes} makes are tracked.
+   *
+   * @param other the set to merge; it is not modified
+   */
+  void merge(AnalyticsSketchSet other) {
+    Union union = new Union(hllLgK);
+    union.update(distinctBorrowers);
+    union.update(other.distinctBorrowers);
+    distinctBorrowers = union.getResult();
+    topSalespeople.merge(other.topSalespeople);
+    other.priceQuantilesByMake.forEach((make, sketch) -> priceSketchFor(make).merge(sketch));
+  }
+
+  /**
+   * Serializes every sketch of the set into its persisted row.
+   *
+   * @return the rows of the set
+   */
+  List<AnalyticsSketch> toRows() {
+    List<AnalyticsSketch> rows = new ArrayList<>();
+    rows.add(new AnalyticsSketch(DISTINCT_BORROWERS, distinctBorrowers.toCompactByteArray()));
+    rows.add(new AnalyticsSketch(TOP_SALESPEOPLE, topSalespeople.toByteArray(STRING_SER_DE)));
+    priceQuantilesByMake.forEach((make, sketch) ->
+            rows.add(new AnalyticsSketch(PRICE_QUANTILES_PREFIX + make, sketch.toByteArray())));
+    return rows;
+  }
+
+  HllSketch getDistinctBorrowers() {
+    return distinctBorrowers;
+  }
+
+  ItemsSketch<String> getTopSalespeople() {
+    return topSalespeople;
+  }
+
+  Map<String, KllDoublesSketch> getPriceQuantilesByMake() {
+    return priceQuantilesByMake;
+  }
+
+  /**
+   * Returns the price sketch of a make, creating it while fewer than {@code analytics.max-makes} makes are tracked.
+   *
+   * @param make the collateral make
+   * @return the price sketch to update
+   */
+  private KllDoublesSketch priceSketchFor(String make) {
+    String key = make == null || make.isBlank() ? AnalyticsService.OTHER_MAKE : make;
+    KllDoublesSketch sketch = priceQuantilesByMake.get(key);
+    if (sketch != null) {
+      return sketch;
+    }
+    if (priceQuantilesByMake.size() >= maxMakes) {
+      key = AnalyticsService.OTHER_MAKE;
+    }
+    return priceQuantilesByMake.computeIfAbsent(key, k -> KllDoublesSketch.newHeapInstance(kllK));
+  }
+}
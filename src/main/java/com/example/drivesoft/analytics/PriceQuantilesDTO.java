@@ -0,0 +1,54 @@
+package com.example.drivesoft.analytics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code PriceQuantilesDTO} class carries approximate contract sales price quantiles for one collateral make.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceQuantilesDTO {
+
+  /**
+   * The collateral make.
+   */
+  @JsonProperty("make")
+  private String make;
+
+  /**
+   * The number of prices recorded for the make.
+   */
+  @JsonProperty("count")
+  private long count;
+
+  /**
+   * The approximate median price.
+   */
+  @JsonProperty("p50")
+  private double p50;
+
+  /**
+   * The approximate 90th percentile price.
+   */
+  @JsonProperty("p90")
+  private double p90;
+
+  /**
+   * The approximate 99th percentile price.
+   */
+  @JsonProperty("p99")
+  private double p99;
+}
@@ -0,0 +1,36 @@
+package com.example.drivesoft.analytics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code SalespersonVolumeDTO} class carries the approximate contract volume of one salesperson.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalespersonVolumeDTO {
+
+  /**
+   * The identifier of the salesperson.
+   */
+  @JsonProperty("sales_group_person1_id")
+  private String salesGroupPerson1ID;
+
+  /**
+   * The estimated number of contracts written by the salesperson.
+   */
+  @JsonProperty("estimated_contracts")
+  private long estimatedContracts;
+}
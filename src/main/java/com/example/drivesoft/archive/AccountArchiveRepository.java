@@ -0,0 +1,241 @@
+package com.example.drivesoft.archive;
+
+import com.example.drivesoft.account.AccountDTO;
+import com.example.drivesoft.account.AccountField;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code AccountArchiveRepository} class moves old accounts from the {@code account} table into the
+ * {@code account_archive} table and reads them from there.
+ * <p>
+ * The archive has the same definition as {@code account}, so accounts are moved with an
+ * {@code INSERT ... SELECT} and a {@code DELETE} of the same rows, keeping their identifier, content
+ * and status. Only active accounts are read from the archive.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Repository} - Marks this class as a Spring repository component.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code findIDsToArchive} - Finds the next batch of accounts whose contract is older than a cutoff.</li>
+ * <li>{@code moveToArchive} - Moves accounts into the archive.</li>
+ * <li>{@code findArchivedAcctIDs} - Tells which of the given acctIDs are archived.</li>
+ * <li>{@code findByAcctID}, {@code findByAcctIDIn} - Read active archived accounts.</li>
+ * <li>{@code forEachActive} - Streams the active archived accounts, selecting only the requested fields.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Repository
+public class AccountArchiveRepository {
+
+  // Business columns of an account, as read into an AccountDTO
+  private static final String COLUMNS = "id, contract_sales_price, acct_type, sales_group_person1_id, contract_date, " +
+          "collateral_stock_number, collateral_year_model, collateral_make, collateral_model, " +
+          "borrower1_first_name, borrower1_last_name, acct_id";
+
+  private static final String SELECT_IDS_TO_ARCHIVE = "SELECT id, acct_id FROM account " +
+          "WHERE contract_date < :cutoff ORDER BY contract_date LIMIT :limit FOR UPDATE";
+
+  // Columns copied into the archive, listed so that the copy does not depend on the column order of either table
+  private static final String ARCHIVED_COLUMNS = COLUMNS + ", status";
+
+  private static final String COPY_TO_ARCHIVE = "INSERT INTO account_archive (" + ARCHIVED_COLUMNS + ") " +
+          "SELECT " + ARCHIVED_COLUMNS + " FROM account WHERE id IN (:ids)";
+
+  private static final String SELECT_ARCHIVED_ACCT_IDS = "SELECT acct_id FROM account_archive WHERE acct_id IN (:acctIDs)";
+
+  private static final String DELETE_FROM_ACCOUNT = "DELETE FROM account WHERE id IN (:ids)";
+
+  private static final String SELECT_ACTIVE = "SELECT " + COLUMNS + " FROM account_archive WHERE status = 'ACTIVE'";
+
+  private static final RowMapper<AccountDTO> ACCOUNT_MAPPER = (rs, rowNum) -> {
+    AccountDTO accountDTO = new AccountDTO();
+    accountDTO.setId(rs.getLong("id"));
+    accountDTO.setContractSalesPrice(rs.getBigDecimal("contract_sales_price"));
+    accountDTO.setAcctType(rs.getString("acct_type"));
+    accountDTO.setSalesGroupPerson1ID(rs.getString("sales_group_person1_id"));
+    accountDTO.setContractDate(rs.getObject("contract_date", LocalDate.class));
+    accountDTO.setCollateralStockNumber(rs.getString("collateral_stock_number"));
+    accountDTO.setCollateralYearModel(rs.getString("collateral_year_model"));
+    accountDTO.setCollateralMake(rs.getString("collateral_make"));
+    accountDTO.setCollateralModel(rs.getString("collateral_model"));
+    accountDTO.setBorrower1FirstName(rs.getString("borrower1_first_name"));
+    accountDTO.setBorrower1LastName(rs.getString("borrower1_last_name"));
+    accountDTO.setAcctID(rs.getString("acct_id"));
+    return accountDTO;
+  };
+
+  // Template bound to the application's data source, joining the current transaction
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  // Template streaming the rows of a full read instead of buffering the whole result
+  private final JdbcTemplate streamingJdbcTemplate;
+
+  /**
+   * Constructs an {@code AccountArchiveRepository}.
+   *
+   * @param jdbcTemplate the template used to access the account and archive tables
+   */
+  public AccountArchiveRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+    // Makes MySQL Connector/J stream the rows instead of buffering the whole result
+    this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+  }
+
+  /**
+   * Finds and locks the next accounts whose contract date is before the cutoff, oldest first, using the
+   * {@code idx_account_contract_date} index. Accounts without a contract date are never archived. Must
+   * run in a transaction.
+   *
+   * @param cutoff the first contract date that stays in the {@code account} table
+   * @param limit  the maximum number of accounts to return
+   * @return the acctIDs of the found accounts keyed by their identifier
+   */
+  public Map<Long, String> findIDsToArchive(LocalDate cutoff, int limit) {
+    return jdbcTemplate.query(SELECT_IDS_TO_ARCHIVE, new MapSqlParameterSource()
+            .addValue("cutoff", cutoff)
+            .addValue("limit", limit), rs -> {
+      Map<Long, String> found = new LinkedHashMap<>();
+      while (rs.next()) {
+        found.put(rs.getLong("id"), rs.getString("acct_id"));
+      }
+      return found;
+    });
+  }
+
+  /**
+   * Copies the accounts into the archive and deletes them from the {@code account} table. Must run in a
+   * transaction.
+   *
+   * @param ids the identifiers of the accounts
+   */
+  public void moveToArchive(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+    jdbcTemplate.update(COPY_TO_ARCHIVE, parameters);
+    jdbcTemplate.update(DELETE_FROM_ACCOUNT, parameters);
+  }
+
+  /**
+   * Tells which of the given acctIDs belong to archived accounts, active or not, using the unique key
+   * on {@code acct_id}.
+   * <p>
+   * Callers should bound the size of the collection, since it becomes a single {@code IN} list.
+   * </p>
+   *
+   * @param acctIDs the account IDs
+   * @return the archived acctIDs among them
+   */
+  public Set<String> findArchivedAcctIDs(Collection<String> acctIDs) {
+    if (acctIDs.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(jdbcTemplate.queryForList(SELECT_ARCHIVED_ACCT_IDS,
+            new MapSqlParameterSource("acctIDs", acctIDs), String.class));
+  }
+
+  /**
+   * Finds an active archived account by its acctID.
+   *
+   * @param acctID the account ID
+   * @return the archived account, or {@link Optional#empty()} if it is not archived
+   */
+  public Optional<AccountDTO> findByAcctID(String acctID) {
+    return jdbcTemplate.query(SELECT_ACTIVE + " AND acct_id = :acctID",
+            new MapSqlParameterSource("acctID", acctID), ACCOUNT_MAPPER).stream().findFirst();
+  }
+
+  /**
+   * Finds the active archived accounts among the given acctIDs.
+   * <p>
+   * Callers should bound the size of the collection, since it becomes a single {@code IN} list.
+   * </p>
+   *
+   * @param acctIDs the account IDs
+   * @return the archived accounts
+   */
+  public List<AccountDTO> findByAcctIDIn(Collection<String> acctIDs) {
+    if (acctIDs.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(SELECT_ACTIVE + " AND acct_id IN (:acctIDs)",
+            new MapSqlParameterSource("acctIDs", acctIDs), ACCOUNT_MAPPER);
+  }
+
+  /**
+   * Streams the active archived accounts, selecting only the columns of the requested fields. Each row is
+   * read into a DTO that is handed to the action and not kept, so that the archive is never held in
+   * memory. The action must not query the database, since the connection is busy until the last row has
+   * been read.
+   *
+   * @param fields the fields to select, or {@code null} for all fields
+   * @param action the action receiving each account, with its sparse fieldset set if one was requested
+   */
+  public void forEachActive(Set<AccountField> fields, Consumer<AccountDTO> action) {
+    if (fields == null) {
+      streamingJdbcTemplate.query(SELECT_ACTIVE, (RowCallbackHandler) rs -> action.accept(ACCOUNT_MAPPER.mapRow(rs, 0)));
+      return;
+    }
+    List<AccountField> selected = List.copyOf(fields);
+    String sql = selected.stream()
+            .map(AccountArchiveRepository::column)
+            .collect(Collectors.joining(", ", "SELECT ", " FROM account_archive WHERE status = 'ACTIVE'"));
+    streamingJdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+      AccountDTO accountDTO = new AccountDTO();
+      for (int i = 0; i < selected.size(); i++) {
+        AccountField field = selected.get(i);
+        field.set(accountDTO, rs.getObject(i + 1, columnType(field)));
+      }
+      accountDTO.setFields(fields);
+      action.accept(accountDTO);
+    });
+  }
+
+  private static String column(AccountField field) {
+    return switch (field) {
+      case CONTRACT_SALES_PRICE -> "contract_sales_price";
+      case ACCT_TYPE -> "acct_type";
+      case SALES_GROUP_PERSON1_ID -> "sales_group_person1_id";
+      case CONTRACT_DATE -> "contract_date";
+      case COLLATERAL_STOCK_NUMBER -> "collateral_stock_number";
+      case COLLATERAL_YEAR_MODEL -> "collateral_year_model";
+      case COLLATERAL_MAKE -> "collateral_make";
+      case COLLATERAL_MODEL -> "collateral_model";
+      case BORROWER1_FIRST_NAME -> "borrower1_first_name";
+      case BORROWER1_LAST_NAME -> "borrower1_last_name";
+      case ACCT_ID -> "acct_id";
+    };
+  }
+
+  private static Class<?> columnType(AccountField field) {
+    return switch (field) {
+      case CONTRACT_SALES_PRICE -> BigDecimal.class;
+      case CONTRACT_DATE -> LocalDate.class;
+      default -> String.class;
+    };
+  }
+}
@@ -0,0 +1,184 @@
+package com.example.drivesoft.archive;
+
+import com.example.drivesoft.account.AccountGenerationRepository;
+import com.example.drivesoft.account.AccountGenerationWatcher;
+import com.example.drivesoft.account.AccountLookupService;
+import com.example.drivesoft.account.AccountRepository;
+import com.example.drivesoft.account.AccountStatus;
+import com.example.drivesoft.analytics.AnalyticsService;
+import com.example.drivesoft.report.SalesAggregateBatch;
+import com.example.drivesoft.report.SalesAggregateService;
+import com.example.drivesoft.sync.AccountBulkLoader;
+import com.example.drivesoft.sync.SyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code AccountArchiveService} class keeps the {@code account} table small by periodically moving
+ * accounts whose contract is older than {@code account.tiering.max-age} into the
+ * {@code account_archive} table.
+ * <p>
+ * Accounts are moved in batches of {@code account.tiering.batch-size}, each in its own short
+ * transaction, so that row locks on the hot table are held briefly. The same transaction removes the
+ * moved active accounts from the sales aggregates, which thereby cover exactly the active accounts of the
+ * {@code account} table whichever sync mode runs next, and advances the generation of the account data
+ * with the moved acctIDs as its changes, so that every node's read store drops them. Once all batches are
+ * moved, the analytics sketches are rebuilt from the remaining active accounts in a final transaction,
+ * which advances the generation again so that every node reloads them. A run never overlaps a sync.
+ * Once archived, an account is no longer updated by the sync, and reads only include it when the caller
+ * asks for archived accounts.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Service} - Marks this class as a Spring service component.</li>
+ * <li>{@code @Scheduled} - Runs {@code archiveOldAccounts} every {@code account.tiering.interval} milliseconds.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code archiveOldAccounts} - Moves all accounts older than the configured age into the archive.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class AccountArchiveService {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(AccountArchiveService.class);
+
+  // Repository moving accounts into the archive.
+  private final AccountArchiveRepository accountArchiveRepository;
+
+  // Repository loading the active accounts of a batch before they are moved.
+  private final AccountRepository accountRepository;
+
+  // Service maintaining the sales aggregates, from which the moved accounts are removed.
+  private final SalesAggregateService salesAggregateService;
+
+  // Service maintaining the analytics sketches, rebuilt without the moved accounts.
+  private final AnalyticsService analyticsService;
+
+  // Service whose sync must not run while accounts are moved.
+  private final SyncService syncService;
+
+  // Loader whose cache eviction is reused after the rows were moved with JDBC.
+  private final AccountBulkLoader accountBulkLoader;
+
+  // Service serving single-account lookups, notified of the moved accounts.
+  private final AccountLookupService accountLookupService;
+
+  // Repository advancing the generation of the account data in each batch that moved accounts.
+  private final AccountGenerationRepository accountGenerationRepository;
+
+  // Watcher telling this node's read store and caches about the moved accounts.
+  private final AccountGenerationWatcher accountGenerationWatcher;
+
+  // Template running each batch in a transaction of its own.
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${account.tiering.enabled}")
+  private boolean enabled;
+
+  @Value("${account.tiering.max-age}")
+  private Period maxAge;
+
+  @Value("${account.tiering.batch-size}")
+  private int batchSize;
+
+  /**
+   * Constructs an {@code AccountArchiveService} with the required dependencies.
+   *
+   * @param accountArchiveRepository    the repository moving accounts into the archive
+   * @param accountRepository           the repository loading the active accounts of a batch
+   * @param salesAggregateService       the service maintaining the sales aggregates
+   * @param analyticsService            the service maintaining the analytics sketches
+   * @param syncService                 the service whose sync must not run while accounts are moved
+   * @param accountBulkLoader           the loader whose cache eviction is reused
+   * @param accountLookupService        the service serving single-account lookups
+   * @param accountGenerationRepository the repository advancing the generation of the account data
+   * @param accountGenerationWatcher    the watcher notified after accounts were moved
+   * @param transactionManager          the transaction manager running the batches
+   */
+  public AccountArchiveService(AccountArchiveRepository accountArchiveRepository, AccountRepository accountRepository,
+                               SalesAggregateService salesAggregateService, AnalyticsService analyticsService,
+                               SyncService syncService,
+                               AccountBulkLoader accountBulkLoader, AccountLookupService accountLookupService,
+                               AccountGenerationRepository accountGenerationRepository,
+                               AccountGenerationWatcher accountGenerationWatcher,
+                               PlatformTransactionManager transactionManager) {
+    this.accountArchiveRepository = accountArchiveRepository;
+    this.accountRepository = accountRepository;
+    this.salesAggregateService = salesAggregateService;
+    this.analyticsService = analyticsService;
+    this.syncService = syncService;
+    this.accountBulkLoader = accountBulkLoader;
+    this.accountLookupService = accountLookupService;
+    this.accountGenerationRepository = accountGenerationRepository;
+    this.accountGenerationWatcher = accountGenerationWatcher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Moves all accounts whose contract date is older than {@code account.tiering.max-age} into the
+   * archive. Skipped when tiering is disabled or a sync is in progress.
+   */
+  @Scheduled(fixedDelayString = "${account.tiering.interval}", initialDelayString = "${account.tiering.interval}")
+  public void archiveOldAccounts() {
+    if (!enabled) {
+      return;
+    }
+    if (!syncService.runExclusive(this::moveOldAccounts)) {
+      logger.info("Sync operation in progress. Skipping account tiering.");
+    }
+  }
+
+  private void moveOldAccounts() {
+    long started = System.nanoTime();
+    LocalDate cutoff = LocalDate.now().minus(maxAge);
+    int moved = 0;
+    int batch;
+    // Removals applied to empty aggregates would leave negative rows that keep them from ever being seeded
+    salesAggregateService.seedIfEmpty();
+    do {
+      batch = transactionTemplate.execute(status -> {
+        Map<Long, String> accounts = accountArchiveRepository.findIDsToArchive(cutoff, batchSize);
+        if (accounts.isEmpty()) {
+          return 0;
+        }
+        SalesAggregateBatch aggregateBatch = new SalesAggregateBatch();
+        accountRepository.findByAcctIDInAndStatus(accounts.values(), AccountStatus.ACTIVE)
+                .forEach(aggregateBatch::remove);
+        accountArchiveRepository.moveToArchive(accounts.keySet());
+        salesAggregateService.apply(aggregateBatch);
+        accountGenerationRepository.advance(accounts.values());
+        accountLookupService.accountsChanged(List.copyOf(accounts.values()));
+        return accounts.size();
+      });
+      moved += batch;
+    } while (batch == batchSize);
+
+    if (moved > 0) {
+      transactionTemplate.executeWithoutResult(status -> {
+        analyticsService.rebuild();
+        accountGenerationRepository.advance(List.of());
+      });
+      accountBulkLoader.evictCaches();
+      accountGenerationWatcher.poll();
+      logger.info("Archived {} accounts with a contract before {} in {} ms.", moved, cutoff,
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+  }
+}
@@ -1,6 +1,6 @@
 package com.example.drivesoft.auth;
 
-import com.example.drivesoft.utils.JwtUtil;
+import com.example.drivesoft.user.UserDetailsImpl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,8 +15,13 @@ import org.springframework.web.bind.annotation.RestController;
  * The {@code AuthController} class is responsible for handling authentication-related requests.
  * It provides an endpoint for user login, authenticating the user and generating a JWT token upon successful login.
  * <p>
- * This controller relies on Spring Security to authenticate the user and uses a {@link JwtUtil} utility class
- * to generate a JWT token that will be returned to the user for subsequent authenticated requests.
+ * This controller relies on Spring Security to authenticate the user and uses the {@link RefreshTokenService}
+ * to generate a JWT token, for the user's current token version, that will be returned to the user for
+ * subsequent authenticated requests.
+ * </p>
+ * <p>
+ * Along with the JWT token, a refresh token is returned. Clients exchange it for a new JWT token when
+ * the current one expires, which avoids checking the password again.
  * </p>
  *
  * <p>Annotations:</p>
@@ -25,9 +30,10 @@ import org.springframework.web.bind.annotation.RestController;
  * <li>{@code @RequestMapping("/auth")} - Maps the base path of the authentication endpoints.</li>
  * </ul>
  *
- * <p>Key Method:</p>
+ * <p>Key Methods:</p>
  * <ul>
  * <li>{@code authenticateAndGetToken} - Authenticates the user and returns a JWT token upon successful login.</li>
+ * <li>{@code refreshToken} - Exchanges a refresh token for a new JWT token and refresh token.</li>
  * </ul>
  *
  * @since 1.0
@@ -36,23 +42,23 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/auth")
 public class AuthController {
 
-  // Utility class for handling JWT creation
-  private final JwtUtil jwtUtil;
-
   // Spring Security's authentication manager to authenticate the user
   private final AuthenticationManager authenticationManager;
 
+  // Service issuing and exchanging refresh tokens
+  private final RefreshTokenService refreshTokenService;
+
   /**
    * Constructs an {@code AuthController} with the required dependencies.
    *
-   * @param jwtUtil               the utility class for generating JWT tokens
    * @param authenticationManager the authentication manager to authenticate users
+   * @param refreshTokenService   the service issuing and exchanging refresh tokens
    */
   public AuthController(
-          JwtUtil jwtUtil,
-          AuthenticationManager authenticationManager) {
-    this.jwtUtil = jwtUtil;
+          AuthenticationManager authenticationManager,
+          RefreshTokenService refreshTokenService) {
     this.authenticationManager = authenticationManager;
+    this.refreshTokenService = refreshTokenService;
   }
 
   /**
@@ -63,7 +69,7 @@ public class AuthController {
    * </p>
    *
    * @param authRequest the login request containing the username and password
-   * @return a {@link ResponseEntity} containing the {@link LoginResponseDTO} with the JWT token
+   * @return a {@link ResponseEntity} containing the {@link LoginResponseDTO} with the JWT token and refresh token
    * @throws UsernameNotFoundException if the authentication fails
    */
   @PostMapping("/login")
@@ -75,13 +81,28 @@ public class AuthController {
 
     // If authentication is successful, generate the JWT token and return it in the response
     if (authentication.isAuthenticated()) {
-      LoginResponseDTO loginResponseDTO = new LoginResponseDTO();
-      loginResponseDTO.setUsername(authRequest.getUsername());
-      loginResponseDTO.setToken(jwtUtil.generateToken(authRequest.getUsername()));
-      return ResponseEntity.ok(loginResponseDTO);
+      UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+      return ResponseEntity.ok(refreshTokenService.login(userDetails));
     } else {
       // If authentication fails, throw a UsernameNotFoundException
       throw new UsernameNotFoundException("Invalid user request!");
     }
   }
+
+  /**
+   * Exchanges a refresh token for a new JWT token and a new refresh token.
+   * <p>
+   * The presented refresh token can not be used again. Presenting it a second time revokes all refresh
+   * tokens issued since the login.
+   * </p>
+   *
+   * @param refreshRequest the request containing the refresh token
+   * @return a {@link ResponseEntity} containing the {@link LoginResponseDTO} with the new tokens
+   * @throws org.springframework.security.authentication.BadCredentialsException if the refresh token is
+   *                                                                             invalid, expired, reused or revoked
+   */
+  @PostMapping("/refresh")
+  public ResponseEntity<LoginResponseDTO> refreshToken(@RequestBody RefreshRequestDTO refreshRequest) {
+    return ResponseEntity.ok(refreshTokenService.refresh(refreshRequest.getRefreshToken()));
+  }
 }
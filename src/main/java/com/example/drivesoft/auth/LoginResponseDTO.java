@@ -24,6 +24,7 @@ import lombok.NoArgsConstructor;
  * <ul>
  * <li>{@code username} - The username of the authenticated user.</li>
  * <li>{@code token} - The JWT token issued to the user for authentication.</li>
+ * <li>{@code refreshToken} - The refresh token used to obtain the next JWT token.</li>
  * </ul>
  *
  * @since 1.0
@@ -49,4 +50,13 @@ public class LoginResponseDTO {
    * </p>
    */
   private String token;
+
+  /**
+   * The refresh token issued alongside the JWT token.
+   * <p>
+   * It is exchanged at {@code /auth/refresh} for a new JWT token and a new refresh token, without
+   * sending the password again.
+   * </p>
+   */
+  private String refreshToken;
 }
@@ -0,0 +1,39 @@
+package com.example.drivesoft.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code RefreshRequestDTO} class represents the data transfer object (DTO)
+ * used for requests renewing an access token.
+ * <p>
+ * This DTO carries the refresh token returned by the previous login or refresh.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Data} - Generates getters, setters, toString, equals, and hashCode methods.</li>
+ * <li>{@code @AllArgsConstructor} - Generates a constructor with parameters for all fields.</li>
+ * <li>{@code @NoArgsConstructor} - Generates a default no-argument constructor.</li>
+ * </ul>
+ *
+ * <p>Key Properties:</p>
+ * <ul>
+ * <li>{@code refreshToken} - The refresh token to exchange.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshRequestDTO {
+  /**
+   * The refresh token to exchange.
+   * <p>
+   * A refresh token can be exchanged only once; the response carries its successor.
+   * </p>
+   */
+  private String refreshToken;
+}
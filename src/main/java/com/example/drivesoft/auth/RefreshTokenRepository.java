@@ -0,0 +1,138 @@
+package com.example.drivesoft.auth;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * The {@code RefreshTokenRepository} class stores refresh tokens in the {@code refresh_token} table.
+ * <p>
+ * Only the SHA-256 hash of a token is stored, so the table cannot be used to obtain tokens. Tokens
+ * issued by the same login share a family, which is revoked as a whole when one of its tokens is reused.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Repository} - Marks this class as a Spring repository component.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code insert} - Stores a new refresh token.</li>
+ * <li>{@code findForUpdate} - Finds and locks a refresh token by its hash.</li>
+ * <li>{@code markUsed} - Marks a refresh token as exchanged for its successor.</li>
+ * <li>{@code deleteFamily} - Revokes all refresh tokens of a family.</li>
+ * <li>{@code deleteExpired} - Deletes refresh tokens that have expired.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Repository
+public class RefreshTokenRepository {
+
+  private static final String INSERT = "INSERT INTO refresh_token " +
+          "(token_hash, family_id, username, token_version, expires_at) " +
+          "VALUES (:tokenHash, :familyId, :username, :tokenVersion, :expiresAt)";
+
+  private static final String SELECT_FOR_UPDATE = "SELECT family_id, username, token_version, expires_at, used " +
+          "FROM refresh_token WHERE token_hash = :tokenHash FOR UPDATE";
+
+  private static final RowMapper<StoredRefreshToken> TOKEN_MAPPER = (rs, rowNum) -> new StoredRefreshToken(
+          rs.getString("family_id"),
+          rs.getString("username"),
+          rs.getInt("token_version"),
+          rs.getTimestamp("expires_at").toInstant(),
+          rs.getBoolean("used"));
+
+  // Template bound to the application's data source, joining the current transaction
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructs a {@code RefreshTokenRepository}.
+   *
+   * @param jdbcTemplate the template used to access the refresh token table
+   */
+  public RefreshTokenRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Stores a new, unused refresh token.
+   *
+   * @param tokenHash    the hash of the token
+   * @param familyId     the family of the token
+   * @param username     the user the token was issued to
+   * @param tokenVersion the token version of the user when the token was issued
+   * @param expiresAt    the time after which the token is no longer accepted
+   */
+  public void insert(String tokenHash, String familyId, String username, int tokenVersion, Instant expiresAt) {
+    jdbcTemplate.update(INSERT, new MapSqlParameterSource()
+            .addValue("tokenHash", tokenHash)
+            .addValue("familyId", familyId)
+            .addValue("username", username)
+            .addValue("tokenVersion", tokenVersion)
+            .addValue("expiresAt", Timestamp.from(expiresAt)));
+  }
+
+  /**
+   * Finds a refresh token by its hash and locks it until the end of the transaction, so that a token is
+   * exchanged at most once. Must run in a transaction.
+   *
+   * @param tokenHash the hash of the token
+   * @return the stored token, or {@link Optional#empty()} if it is unknown, expired and purged, or revoked
+   */
+  public Optional<StoredRefreshToken> findForUpdate(String tokenHash) {
+    return jdbcTemplate.query(SELECT_FOR_UPDATE, new MapSqlParameterSource("tokenHash", tokenHash), TOKEN_MAPPER)
+            .stream().findFirst();
+  }
+
+  /**
+   * Marks a refresh token as used.
+   *
+   * @param tokenHash the hash of the token
+   */
+  public void markUsed(String tokenHash) {
+    jdbcTemplate.update("UPDATE refresh_token SET used = TRUE WHERE token_hash = :tokenHash",
+            new MapSqlParameterSource("tokenHash", tokenHash));
+  }
+
+  /**
+   * Deletes all refresh tokens of a family.
+   *
+   * @param familyId the family to revoke
+   * @return the number of deleted tokens
+   */
+  public int deleteFamily(String familyId) {
+    return jdbcTemplate.update("DELETE FROM refresh_token WHERE family_id = :familyId",
+            new MapSqlParameterSource("familyId", familyId));
+  }
+
+  /**
+   * Deletes all refresh tokens that expired before the given time.
+   *
+   * @param now the current time
+   * @return the number of deleted tokens
+   */
+  public int deleteExpired(Instant now) {
+    return jdbcTemplate.update("DELETE FROM refresh_token WHERE expires_at < :now",
+            new MapSqlParameterSource("now", Timestamp.from(now)));
+  }
+
+  /**
+   * A refresh token as stored in the {@code refresh_token} table.
+   *
+   * @param familyId     the family of the token
+   * @param username     the user the token was issued to
+   * @param tokenVersion the token version of the user when the token was issued
+   * @param expiresAt    the time after which the token is no longer accepted
+   * @param used         whether the token has already been exchanged
+   */
+  public record StoredRefreshToken(String familyId, String username, int tokenVersion, Instant expiresAt,
+                                   boolean used) {
+  }
+}
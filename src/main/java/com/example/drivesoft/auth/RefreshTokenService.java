@@ -0,0 +1,193 @@
+package com.example.drivesoft.auth;
+
+import com.example.drivesoft.auth.RefreshTokenRepository.StoredRefreshToken;
+import com.example.drivesoft.user.UserDetailsImpl;
+import com.example.drivesoft.user.UserRepository;
+import com.example.drivesoft.utils.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The {@code RefreshTokenService} class issues refresh tokens and exchanges them for new access tokens,
+ * so that clients renew their access tokens without sending the password, and without the cost of a
+ * BCrypt check, every time an access token expires.
+ * <p>
+ * A refresh token is an opaque random value valid for {@code jwt.refresh-token.ttl}. It can be exchanged
+ * once: each exchange returns a new access token and a new refresh token of the same family and marks
+ * the presented token used. Presenting a used token means that the token was copied, so the whole family
+ * is revoked and the user has to log in again. A family is also rejected once the tokens of its user have
+ * been revoked through the user's token version.
+ * </p>
+ * <p>
+ * The token version is always read from the database, bypassing the entity and query caches, so that
+ * tokens are never issued for a version that has just been revoked on another node. The authorities of
+ * a refreshed access token are loaded through the {@link UserDetailsService}, as on login, so that roles
+ * granted or withdrawn since the login are reflected after the next refresh.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Service} - Marks this class as a Spring service component.</li>
+ * <li>{@code @Transactional} - Exchanges a refresh token in a single transaction.</li>
+ * <li>{@code @Scheduled} - Purges expired refresh tokens every {@code jwt.refresh-token.purge-interval} milliseconds.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code login} - Issues the access token and starts a new family of refresh tokens after a login.</li>
+ * <li>{@code refresh} - Exchanges a refresh token for a new access token and refresh token.</li>
+ * <li>{@code purgeExpired} - Deletes expired refresh tokens.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class RefreshTokenService {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+  // Number of random bytes in a refresh token
+  private static final int TOKEN_BYTES = 32;
+
+  // Source of refresh token values
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  // Repository storing the refresh tokens.
+  private final RefreshTokenRepository refreshTokenRepository;
+
+  // Repository reading the current token version of a user, uncached.
+  private final UserRepository userRepository;
+
+  // Service loading the current authorities of a user when a token is refreshed.
+  private final UserDetailsService userDetailsService;
+
+  // Utility generating the access tokens.
+  private final JwtUtil jwtUtil;
+
+  @Value("${jwt.refresh-token.ttl}")
+  private Duration ttl;
+
+  /**
+   * Constructs a {@code RefreshTokenService} with the required dependencies.
+   *
+   * @param refreshTokenRepository the repository storing the refresh tokens
+   * @param userRepository         the repository reading the current token version of a user
+   * @param userDetailsService     the service loading the current authorities of a user
+   * @param jwtUtil                the utility generating the access tokens
+   */
+  public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                             @Qualifier("userDetailsService") UserDetailsService userDetailsService,
+                             JwtUtil jwtUtil) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.userRepository = userRepository;
+    this.userDetailsService = userDetailsService;
+    this.jwtUtil = jwtUtil;
+  }
+
+  /**
+   * Issues an access token and the first refresh token of a new family to a user that has just logged
+   * in, for the user's current token version.
+   *
+   * @param user the authenticated user
+   * @return the username, the access token and the refresh token
+   * @throws BadCredentialsException if the user has been deleted since the authentication
+   */
+  @Transactional
+  public LoginResponseDTO login(UserDetailsImpl user) {
+    int tokenVersion = userRepository.findTokenVersionByUsername(user.getUsername())
+            .orElseThrow(() -> new BadCredentialsException("Invalid user request!"));
+    UserDetailsImpl current = new UserDetailsImpl(user.getUsername(), tokenVersion, user.getAuthorities());
+    return new LoginResponseDTO(current.getUsername(), jwtUtil.generateToken(current),
+            issue(UUID.randomUUID().toString(), current));
+  }
+
+  /**
+   * Exchanges a refresh token for a new access token and the next refresh token of its family. The new
+   * access token carries the user's current authorities.
+   * <p>
+   * A revoked family stays revoked even though the request fails, since the deletion is committed.
+   * </p>
+   *
+   * @param refreshToken the refresh token presented by the client
+   * @return the username, the new access token and the new refresh token
+   * @throws BadCredentialsException if the token is unknown, expired, already used or revoked
+   */
+  @Transactional(noRollbackFor = BadCredentialsException.class)
+  public LoginResponseDTO refresh(String refreshToken) {
+    if (refreshToken == null || refreshToken.isBlank()) {
+      throw new BadCredentialsException("Invalid refresh token");
+    }
+    String tokenHash = hash(refreshToken);
+    StoredRefreshToken stored = refreshTokenRepository.findForUpdate(tokenHash)
+            .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+    if (stored.used()) {
+      refreshTokenRepository.deleteFamily(stored.familyId());
+      logger.warn("Refresh token reused for user {}, revoked its token family.", stored.username());
+      throw new BadCredentialsException("Refresh token has already been used");
+    }
+    if (stored.expiresAt().isBefore(Instant.now())) {
+      throw new BadCredentialsException("Refresh token has expired");
+    }
+    Optional<Integer> tokenVersion = userRepository.findTokenVersionByUsername(stored.username());
+    if (tokenVersion.isEmpty() || tokenVersion.get() != stored.tokenVersion()) {
+      refreshTokenRepository.deleteFamily(stored.familyId());
+      throw new BadCredentialsException("Refresh token has been revoked");
+    }
+
+    refreshTokenRepository.markUsed(tokenHash);
+    UserDetailsImpl userDetails = new UserDetailsImpl(stored.username(), tokenVersion.get(),
+            userDetailsService.loadUserByUsername(stored.username()).getAuthorities());
+    return new LoginResponseDTO(userDetails.getUsername(), jwtUtil.generateToken(userDetails),
+            issue(stored.familyId(), userDetails));
+  }
+
+  /**
+   * Deletes expired refresh tokens, including used tokens kept for reuse detection.
+   */
+  @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval}",
+          initialDelayString = "${jwt.refresh-token.purge-interval}")
+  public void purgeExpired() {
+    int purged = refreshTokenRepository.deleteExpired(Instant.now());
+    if (purged > 0) {
+      logger.info("Purged {} expired refresh tokens.", purged);
+    }
+  }
+
+  private String issue(String familyId, UserDetailsImpl user) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    RANDOM.nextBytes(bytes);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    refreshTokenRepository.insert(hash(token), familyId, user.getUsername(), user.getTokenVersion(),
+            Instant.now().plus(ttl));
+    return token;
+  }
+
+  private static String hash(String token) {
+    try {
+      return HexFormat.of().formatHex(
+              MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
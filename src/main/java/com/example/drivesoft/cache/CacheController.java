@@ -0,0 +1,40 @@
+package com.example.drivesoft.cache;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * CacheController is a REST controller that exposes runtime statistics of the second-level and query caches.
+ * It is restricted to the users listed in {@code admin.usernames}.
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/admin/cache")
+public class CacheController {
+
+  // Service collecting cache statistics.
+  private final CacheStatisticsService cacheStatisticsService;
+
+  /**
+   * Constructs a CacheController with the specified CacheStatisticsService.
+   *
+   * @param cacheStatisticsService the service collecting cache statistics
+   */
+  public CacheController(CacheStatisticsService cacheStatisticsService) {
+    this.cacheStatisticsService = cacheStatisticsService;
+  }
+
+  /**
+   * Handles GET requests for the current cache statistics.
+   *
+   * @return a ResponseEntity containing the cache statistics and an HTTP status code
+   */
+  @GetMapping("/stats")
+  public ResponseEntity<CacheStatsDTO> fetchStatistics() {
+    return new ResponseEntity<>(cacheStatisticsService.getStatistics(), HttpStatus.OK);
+  }
+}
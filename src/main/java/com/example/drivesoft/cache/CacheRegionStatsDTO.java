@@ -0,0 +1,60 @@
+package com.example.drivesoft.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code CacheRegionStatsDTO} class carries the runtime statistics of a single second-level cache region.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStatsDTO {
+
+  /**
+   * The name of the cache region.
+   */
+  @JsonProperty("region")
+  private String region;
+
+  /**
+   * The number of lookups that found an entry.
+   */
+  @JsonProperty("hits")
+  private long hits;
+
+  /**
+   * The number of lookups that found no entry.
+   */
+  @JsonProperty("misses")
+  private long misses;
+
+  /**
+   * The number of entries written to the region.
+   */
+  @JsonProperty("puts")
+  private long puts;
+
+  /**
+   * The number of entries evicted because of size or expiry.
+   */
+  @JsonProperty("evictions")
+  private long evictions;
+
+  /**
+   * The percentage of lookups that were hits.
+   */
+  @JsonProperty("hit_percentage")
+  private float hitPercentage;
+}
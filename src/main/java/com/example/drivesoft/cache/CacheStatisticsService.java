@@ -0,0 +1,121 @@
+package com.example.drivesoft.cache;
+
+import com.example.drivesoft.security.VerifiedTokenCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code CacheStatisticsService} class collects runtime statistics of the Hibernate second-level
+ * and query caches.
+ * <p>
+ * Aggregate hit, miss and put counts are read from Hibernate's {@link Statistics}. Per-region counts,
+ * including evictions, are read from the standard JCache {@code CacheStatistics} MXBeans registered by
+ * the cache provider for every region. The statistics of the {@link VerifiedTokenCache} are included as well.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Service} - Marks this class as a Spring service component.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class CacheStatisticsService {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(CacheStatisticsService.class);
+
+  // Pattern matching the JCache statistics MXBeans of every cache region
+  private static final String STATISTICS_PATTERN = "javax.cache:type=CacheStatistics,*";
+
+  // Hibernate statistics for the application's session factory
+  private final Statistics statistics;
+
+  // Cache of verified bearer tokens
+  private final VerifiedTokenCache verifiedTokenCache;
+
+  // Platform MBean server holding the JCache statistics MXBeans
+  private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+  /**
+   * Constructs a {@code CacheStatisticsService} with the required dependencies.
+   *
+   * @param entityManagerFactory the entity manager factory whose statistics are reported
+   * @param verifiedTokenCache   the cache of verified bearer tokens
+   */
+  public CacheStatisticsService(EntityManagerFactory entityManagerFactory, VerifiedTokenCache verifiedTokenCache) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    this.verifiedTokenCache = verifiedTokenCache;
+  }
+
+  /**
+   * Returns a snapshot of the current cache statistics.
+   *
+   * @return a {@link CacheStatsDTO} with aggregate and per-region statistics
+   */
+  public CacheStatsDTO getStatistics() {
+    return new CacheStatsDTO(
+            statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(),
+            statistics.getSecondLevelCachePutCount(),
+            statistics.getQueryCacheHitCount(),
+            statistics.getQueryCacheMissCount(),
+            statistics.getQueryCachePutCount(),
+            getRegionStatistics(),
+            verifiedTokenCache.getStatistics()
+    );
+  }
+
+  /**
+   * Reads the statistics MXBean of every cache region.
+   *
+   * @return the statistics of each region, sorted by region name
+   */
+  private List<CacheRegionStatsDTO> getRegionStatistics() {
+    try {
+      return mBeanServer.queryNames(new ObjectName(STATISTICS_PATTERN), null).stream()
+              .map(this::toRegionStats)
+              .filter(Objects::nonNull)
+              .sorted(Comparator.comparing(CacheRegionStatsDTO::getRegion))
+              .toList();
+    } catch (JMException e) {
+      logger.warn("Unable to query cache statistics: {}", e.getMessage());
+      return List.of();
+    }
+  }
+
+  /**
+   * Maps a single JCache statistics MXBean to a {@link CacheRegionStatsDTO}.
+   *
+   * @param name the object name of the statistics MXBean
+   * @return the region statistics, or {@code null} if the MXBean could not be read
+   */
+  private CacheRegionStatsDTO toRegionStats(ObjectName name) {
+    try {
+      return new CacheRegionStatsDTO(
+              name.getKeyProperty("Cache"),
+              (Long) mBeanServer.getAttribute(name, "CacheHits"),
+              (Long) mBeanServer.getAttribute(name, "CacheMisses"),
+              (Long) mBeanServer.getAttribute(name, "CachePuts"),
+              (Long) mBeanServer.getAttribute(name, "CacheEvictions"),
+              (Float) mBeanServer.getAttribute(name, "CacheHitPercentage")
+      );
+    } catch (JMException e) {
+      logger.warn("Unable to read cache statistics for {}: {}", name, e.getMessage());
+      return null;
+    }
+  }
+}
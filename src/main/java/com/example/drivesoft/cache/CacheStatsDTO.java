@@ -0,0 +1,76 @@
+package com.example.drivesoft.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The {@code CacheStatsDTO} class summarises second-level and query cache activity as seen by Hibernate,
+ * together with the per-region statistics reported by the cache provider and the statistics of the
+ * verified-token cache.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDTO {
+
+  /**
+   * The number of entity lookups served from the second-level cache.
+   */
+  @JsonProperty("second_level_hits")
+  private long secondLevelHits;
+
+  /**
+   * The number of entity lookups that missed the second-level cache.
+   */
+  @JsonProperty("second_level_misses")
+  private long secondLevelMisses;
+
+  /**
+   * The number of entities put into the second-level cache.
+   */
+  @JsonProperty("second_level_puts")
+  private long secondLevelPuts;
+
+  /**
+   * The number of query executions served from the query cache.
+   */
+  @JsonProperty("query_cache_hits")
+  private long queryCacheHits;
+
+  /**
+   * The number of query executions that missed the query cache.
+   */
+  @JsonProperty("query_cache_misses")
+  private long queryCacheMisses;
+
+  /**
+   * The number of query results put into the query cache.
+   */
+  @JsonProperty("query_cache_puts")
+  private long queryCachePuts;
+
+  /**
+   * Provider-level statistics for each cache region.
+   */
+  @JsonProperty("regions")
+  private List<CacheRegionStatsDTO> regions;
+
+  /**
+   * Statistics of the verified-token cache of the authentication path.
+   */
+  @JsonProperty("token_cache")
+  private TokenCacheStatsDTO tokenCache;
+}
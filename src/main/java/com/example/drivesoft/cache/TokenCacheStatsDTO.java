@@ -0,0 +1,55 @@
+package com.example.drivesoft.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code TokenCacheStatsDTO} class carries the runtime statistics of the verified-token cache used on
+ * the authentication path.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenCacheStatsDTO {
+
+  /**
+   * The number of requests whose token was already verified.
+   */
+  @JsonProperty("hits")
+  private long hits;
+
+  /**
+   * The number of requests whose token had to be verified.
+   */
+  @JsonProperty("misses")
+  private long misses;
+
+  /**
+   * The ratio of hits to all lookups, or {@code 1.0} if there was no lookup yet.
+   */
+  @JsonProperty("hit_rate")
+  private double hitRate;
+
+  /**
+   * The number of tokens evicted because they expired or the cache was full.
+   */
+  @JsonProperty("evictions")
+  private long evictions;
+
+  /**
+   * The approximate number of cached tokens.
+   */
+  @JsonProperty("size")
+  private long size;
+}
@@ -0,0 +1,63 @@
+package com.example.drivesoft.configuration;
+
+import com.example.drivesoft.datasource.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * The {@code AsyncConfig} class enables {@code @Async} methods and defines the executor the sync pipeline
+ * runs on, separate from the web server's request threads.
+ * <p>
+ * Tasks of the sync executor run as {@link Workload#SYNC}, so their database work uses the sync
+ * connection pool.
+ * </p>
+ *
+ * <p>Beans Defined:</p>
+ * <ul>
+ * <li>{@code syncExecutor} - Bounded executor for {@code SyncService.sync}.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+  /**
+   * Name of the executor running the sync pipeline.
+   */
+  public static final String SYNC_EXECUTOR = "syncExecutor";
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+  @Value("${sync.executor.pool-size}")
+  private int poolSize;
+
+  @Value("${sync.executor.queue-capacity}")
+  private int queueCapacity;
+
+  /**
+   * Creates the executor running the sync pipeline. Submissions beyond the queue capacity are dropped,
+   * since a sync that is already queued will pick up the same data.
+   *
+   * @return the sync executor
+   */
+  @Bean(name = SYNC_EXECUTOR)
+  public ThreadPoolTaskExecutor syncExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("sync-");
+    executor.setTaskDecorator(task -> () -> Workload.SYNC.run(task));
+    executor.setRejectedExecutionHandler((task, pool) -> logger.info("Sync already queued. Skipping this run."));
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    return executor;
+  }
+}
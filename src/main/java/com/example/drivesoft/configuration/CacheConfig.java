@@ -0,0 +1,116 @@
+package com.example.drivesoft.configuration;
+
+import com.example.drivesoft.account.Account;
+import com.example.drivesoft.user.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * The {@code CacheConfig} class wires a Caffeine-backed JCache {@link CacheManager} into Hibernate
+ * as the second-level cache region factory.
+ * <p>
+ * Every region Hibernate uses is created up front with its own maximum size and time-to-live so that
+ * the cache never grows without bound. Statistics are enabled on each region so that hits, misses and
+ * evictions can be reported at runtime.
+ * </p>
+ *
+ * <p>Regions Defined:</p>
+ * <ul>
+ * <li>{@link Account} - Entity region for accounts, evicted on every node when the account data changes.</li>
+ * <li>{@link User} - Entity region for users, read on every login.</li>
+ * <li>{@code default-query-results-region} - Query cache for cacheable repository queries.</li>
+ * <li>{@code default-update-timestamps-region} - Table modification timestamps used to invalidate cached queries.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Configuration
+public class CacheConfig {
+
+  @Value("${cache.account.max-size}")
+  private long accountMaxSize;
+
+  @Value("${cache.account.ttl}")
+  private Duration accountTtl;
+
+  @Value("${cache.user.max-size}")
+  private long userMaxSize;
+
+  @Value("${cache.user.ttl}")
+  private Duration userTtl;
+
+  @Value("${cache.query.max-size}")
+  private long queryMaxSize;
+
+  @Value("${cache.query.ttl}")
+  private Duration queryTtl;
+
+  @Value("${cache.timestamps.max-size}")
+  private long timestampsMaxSize;
+
+  /**
+   * Creates the JCache {@link CacheManager} used by Hibernate, with one bounded cache per region.
+   * <p>
+   * The update-timestamps region has no time-to-live, since expiring a timestamp could let a stale
+   * query result be served.
+   * </p>
+   *
+   * @return the configured {@link CacheManager}
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager() {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+    createCache(cacheManager, Account.class.getName(), accountMaxSize, accountTtl);
+    createCache(cacheManager, User.class.getName(), userMaxSize, userTtl);
+    createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxSize, queryTtl);
+    createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestampsMaxSize, null);
+    return cacheManager;
+  }
+
+  /**
+   * Hands the Spring-managed {@link CacheManager} to Hibernate so that the JCache region factory
+   * uses the caches created above instead of building its own.
+   *
+   * @param hibernateCacheManager the cache manager holding the region caches
+   * @return a {@link HibernatePropertiesCustomizer} registering the cache manager
+   */
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+    return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+  }
+
+  /**
+   * Creates a single bounded cache region with statistics enabled.
+   *
+   * @param cacheManager the cache manager to create the cache in
+   * @param name         the region name
+   * @param maxSize      the maximum number of entries
+   * @param ttl          the time-to-live after write, or {@code null} for no expiry
+   */
+  private static void createCache(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+    if (cacheManager.getCache(name) != null) {
+      return;
+    }
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maxSize));
+    if (ttl != null) {
+      configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    }
+    configuration.setStatisticsEnabled(true);
+    cacheManager.createCache(name, configuration);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.drivesoft.configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * The {@code ContentNegotiationConfig} class registers binary Jackson encodings alongside JSON, so that
+ * clients can request Smile ({@code application/x-jackson-smile}) or CBOR ({@code application/cbor})
+ * through the {@code Accept} header.
+ * <p>
+ * Both converters are built from the application's {@link Jackson2ObjectMapperBuilder}, so dates,
+ * decimals and property names are written exactly as in the JSON responses.
+ * </p>
+ *
+ * <p>Key Beans Defined:</p>
+ * <ul>
+ * <li>{@code smileHttpMessageConverter} - Reads and writes Jackson Smile.</li>
+ * <li>{@code cborHttpMessageConverter} - Reads and writes CBOR.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+  /**
+   * Creates a message converter for the Jackson Smile binary format.
+   *
+   * @param builder the application's object mapper builder
+   * @return a {@link MappingJackson2SmileHttpMessageConverter} instance
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+  }
+
+  /**
+   * Creates a message converter for the CBOR binary format.
+   *
+   * @param builder the application's object mapper builder
+   * @return a {@link MappingJackson2CborHttpMessageConverter} instance
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.drivesoft.configuration;
+
+import com.example.drivesoft.datasource.ReplicaLagMonitor;
+import com.example.drivesoft.datasource.ReplicaRoutingDataSource;
+import com.example.drivesoft.datasource.Workload;
+import com.example.drivesoft.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * The {@code DataSourceConfig} class replaces the single auto-configured connection pool with one pool
+ * per {@link Workload}, so that a long sync transaction can never hold the connections API requests need.
+ * <p>
+ * Both pools connect to the database configured by {@code spring.datasource.*}. The API pool is tuned by
+ * {@code spring.datasource.hikari.*} and the sync pool by {@code datasource.sync.hikari.*}, each with its
+ * own size and timeouts. When a read replica is configured (see {@link ReadReplicaConfig}), read-only
+ * transactions of API requests are routed to it.
+ * </p>
+ *
+ * <p>Beans Defined:</p>
+ * <ul>
+ * <li>{@code apiDataSource} - Pool serving API requests.</li>
+ * <li>{@code syncDataSource} - Pool serving the sync pipeline.</li>
+ * <li>{@code dataSource} - The routing data source used by JPA, Flyway and all repositories.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Configuration
+public class DataSourceConfig {
+
+  /**
+   * Creates the connection pool serving API requests.
+   *
+   * @param properties the connection properties of the database
+   * @return the API pool
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource apiDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("api");
+    return dataSource;
+  }
+
+  /**
+   * Creates the connection pool serving the sync pipeline.
+   *
+   * @param properties the connection properties of the database
+   * @return the sync pool
+   */
+  @Bean
+  @ConfigurationProperties("datasource.sync.hikari")
+  public HikariDataSource syncDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("sync");
+    return dataSource;
+  }
+
+  /**
+   * Creates the data source used by the application. Connections are obtained lazily, so that the
+   * workload and the read-only flag of the transaction are known when the pool is chosen.
+   *
+   * @param apiDataSource     the API pool
+   * @param syncDataSource    the sync pool
+   * @param replicaDataSource the replica pool, if a read replica is configured
+   * @param replicaLagMonitor the replica lag monitor, if a read replica is configured
+   * @return the routing data source
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("apiDataSource") HikariDataSource apiDataSource,
+                               @Qualifier("syncDataSource") HikariDataSource syncDataSource,
+                               @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                               ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+    DataSource api = apiDataSource;
+    HikariDataSource replica = replicaDataSource.getIfAvailable();
+    if (replica != null) {
+      ReplicaRoutingDataSource replicaRouting =
+              new ReplicaRoutingDataSource(apiDataSource, replica, replicaLagMonitor.getObject());
+      replicaRouting.afterPropertiesSet();
+      api = replicaRouting;
+    }
+    WorkloadRoutingDataSource workloadRouting = new WorkloadRoutingDataSource(api, syncDataSource);
+    workloadRouting.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(workloadRouting);
+  }
+}
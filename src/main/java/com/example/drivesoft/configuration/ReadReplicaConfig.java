@@ -0,0 +1,78 @@
+package com.example.drivesoft.configuration;
+
+import com.example.drivesoft.datasource.ReplicaLagMonitor;
+import com.example.drivesoft.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * The {@code ReadReplicaConfig} class adds a read replica that serves the read-only transactions of API
+ * requests, so that read traffic does not compete with sync writes.
+ * <p>
+ * It is only active when {@code datasource.replica.enabled=true}. The replica pool is configured by
+ * {@code datasource.replica.*}; {@link DataSourceConfig} then wraps the API pool in a
+ * {@link ReplicaRoutingDataSource}. Reads fall back to the API pool of the primary while the replica is
+ * unreachable or lags behind by more than {@code datasource.replica.max-lag}.
+ * </p>
+ *
+ * <p>Beans Defined:</p>
+ * <ul>
+ * <li>{@code replicaDataSource} - Pool for the read replica.</li>
+ * <li>{@link ReplicaLagMonitor} - Periodically checks the replication lag.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Value("${datasource.replica.max-lag}")
+  private Duration maxLag;
+
+  /**
+   * Binds the connection settings of the read replica. Not an autowire candidate, so that the
+   * auto-configured {@code spring.datasource.*} properties remain the only injectable instance.
+   *
+   * @return the replica connection properties
+   */
+  @Bean(autowireCandidate = false)
+  @ConfigurationProperties("datasource.replica")
+  public DataSourceProperties replicaDataSourceProperties() {
+    return new DataSourceProperties();
+  }
+
+  /**
+   * Creates the connection pool for the read replica from {@code datasource.replica.*}.
+   * Connections are opened read-only.
+   *
+   * @return the replica pool
+   */
+  @Bean
+  @ConfigurationProperties("datasource.replica.hikari")
+  public HikariDataSource replicaDataSource() {
+    HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  /**
+   * Creates the monitor that decides whether the replica may serve reads.
+   *
+   * @return the replica lag monitor
+   */
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor() {
+    return new ReplicaLagMonitor(replicaDataSource(), maxLag);
+  }
+}
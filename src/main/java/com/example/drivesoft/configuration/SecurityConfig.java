@@ -1,10 +1,14 @@
 package com.example.drivesoft.configuration;
 
 import com.example.drivesoft.security.JwtAuthFilter;
+import com.example.drivesoft.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -12,6 +16,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Set;
+
 /**
  * The {@code SecurityConfig} class configures security settings for the application.
  * It sets up JWT-based authentication, session management, and access control for
@@ -26,6 +32,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * <p>Key Components:</p>
  * <ul>
  * <li>{@code JwtAuthFilter} - A custom filter that processes JWT tokens for user authentication.</li>
+ * <li>{@code RateLimitFilter} - A custom filter that rate-limits clients and limits concurrent heavy requests.</li>
  * <li>{@code AuthenticationProvider} - A custom provider to authenticate users.</li>
  * </ul>
  *
@@ -36,8 +43,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
   private JwtAuthFilter jwtAuthFilter;
+  private RateLimitFilter rateLimitFilter;
   private AuthenticationProvider authenticationProvider;
 
+  // Users allowed to call the /admin endpoints
+  @Value("${admin.usernames}")
+  private Set<String> adminUsernames;
+
   /**
    * Autowires the {@link JwtAuthFilter} bean.
    *
@@ -48,6 +60,16 @@ public class SecurityConfig {
     this.jwtAuthFilter = jwtAuthFilter;
   }
 
+  /**
+   * Autowires the {@link RateLimitFilter} bean.
+   *
+   * @param rateLimitFilter the rate limiting filter
+   */
+  @Autowired
+  public void setRateLimitFilter(RateLimitFilter rateLimitFilter) {
+    this.rateLimitFilter = rateLimitFilter;
+  }
+
   /**
    * Autowires the {@link AuthenticationProvider} bean.
    *
@@ -64,10 +86,12 @@ public class SecurityConfig {
    * <p>Security Configuration:</p>
    * <ul>
    * <li>Disables CSRF protection for stateless APIs.</li>
-   * <li>Allows the {@code /auth/login} endpoint without authentication.</li>
+   * <li>Allows the {@code /auth/login} and {@code /auth/refresh} endpoints without authentication.</li>
+   * <li>Restricts the {@code /admin} endpoints to the users listed in {@code admin.usernames}.</li>
    * <li>Requires authentication for all other endpoints.</li>
    * <li>Uses stateless session management to avoid server-side session state.</li>
    * <li>Applies a custom {@link AuthenticationProvider} for user authentication.</li>
+   * <li>Applies rate limiting and admission control once the JWT has been validated.</li>
    * <li>Sets up custom error handling for unauthorized and forbidden requests.</li>
    * </ul>
    *
@@ -80,7 +104,10 @@ public class SecurityConfig {
     http
             .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for stateless APIs
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers("/auth/login").permitAll() // Allow access to login endpoint
+                    .requestMatchers("/auth/login", "/auth/refresh").permitAll() // Allow access to login and refresh endpoints
+                    .requestMatchers("/admin/**").access((authentication, context) -> new AuthorizationDecision(
+                            authentication.get().isAuthenticated()
+                                    && adminUsernames.contains(authentication.get().getName()))) // Admins only
                     .anyRequest().authenticated() // Protect all other endpoints
             )
             .sessionManagement(sess -> sess
@@ -88,6 +115,7 @@ public class SecurityConfig {
             )
             .authenticationProvider(authenticationProvider) // Custom authentication provider
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Add JWT filter before UsernamePasswordAuthenticationFilter
+            .addFilterAfter(rateLimitFilter, JwtAuthFilter.class) // Rate-limit once the JWT subject is known
             .exceptionHandling(
                     exceptionHandling -> exceptionHandling
                             .accessDeniedHandler(
@@ -100,4 +128,21 @@ public class SecurityConfig {
 
     return http.build();
   }
+
+  /**
+   * Prevents the servlet container from registering {@link RateLimitFilter} on its own.
+   * <p>
+   * The filter must run inside the security filter chain, after the JWT has been validated, so that
+   * clients are keyed by their JWT subject.
+   * </p>
+   *
+   * @param rateLimitFilter the rate limiting filter
+   * @return a disabled {@link FilterRegistrationBean} for the filter
+   */
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+    FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+    registration.setEnabled(false);
+    return registration;
+  }
 }
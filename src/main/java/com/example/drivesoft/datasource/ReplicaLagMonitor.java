@@ -0,0 +1,104 @@
+package com.example.drivesoft.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * The {@code ReplicaLagMonitor} class decides whether the read replica may currently serve reads.
+ * <p>
+ * It periodically runs {@code SHOW REPLICA STATUS} on the replica and marks it unavailable while its
+ * {@code Seconds_Behind_Source} exceeds the configured maximum lag, while replication is stopped, or
+ * while the replica cannot be reached. An instance that reports no replication status at all (for
+ * example a standalone instance used for local testing) is treated as available.
+ * </p>
+ * <p>
+ * The routing data source also reports connection failures here, so that reads fall back to the
+ * primary immediately instead of waiting for the next check.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class ReplicaLagMonitor {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  // Replica whose lag is monitored
+  private final DataSource replica;
+
+  // Maximum tolerated replication lag
+  private final Duration maxLag;
+
+  // Whether reads may currently be routed to the replica
+  private volatile boolean available = true;
+
+  /**
+   * Constructs a {@code ReplicaLagMonitor}.
+   *
+   * @param replica the replica data source
+   * @param maxLag  the maximum tolerated replication lag
+   */
+  public ReplicaLagMonitor(DataSource replica, Duration maxLag) {
+    this.replica = replica;
+    this.maxLag = maxLag;
+  }
+
+  /**
+   * Checks whether reads may currently be routed to the replica.
+   *
+   * @return {@code true} if the replica is reachable and within the maximum lag; otherwise {@code false}
+   */
+  public boolean isAvailable() {
+    return available;
+  }
+
+  /**
+   * Marks the replica unavailable after a failed connection attempt, until the next successful check.
+   *
+   * @param cause the failure that occurred
+   */
+  public void markUnavailable(SQLException cause) {
+    if (available) {
+      logger.warn("Read replica unavailable, routing reads to primary: {}", cause.getMessage());
+    }
+    available = false;
+  }
+
+  /**
+   * Checks the replication lag of the replica at a fixed interval.
+   */
+  @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval}")
+  public void checkLag() {
+    boolean nowAvailable;
+    try (Connection connection = replica.getConnection();
+         Statement statement = connection.createStatement();
+         ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+      if (!status.next()) {
+        nowAvailable = true;
+      } else {
+        long lagSeconds = status.getLong("Seconds_Behind_Source");
+        // A NULL lag means replication is not running
+        nowAvailable = !status.wasNull() && lagSeconds <= maxLag.toSeconds();
+        if (!nowAvailable) {
+          logger.warn("Read replica lag {}s exceeds {}s, routing reads to primary.",
+                  status.wasNull() ? "unknown" : lagSeconds, maxLag.toSeconds());
+        }
+      }
+    } catch (SQLException e) {
+      logger.warn("Read replica lag check failed: {}", e.getMessage());
+      nowAvailable = false;
+    }
+    if (nowAvailable && !available) {
+      logger.info("Read replica available again, routing read-only transactions to replica.");
+    }
+    available = nowAvailable;
+  }
+}
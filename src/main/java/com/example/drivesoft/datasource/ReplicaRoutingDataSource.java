@@ -0,0 +1,90 @@
+package com.example.drivesoft.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * The {@code ReplicaRoutingDataSource} class routes read-only transactions to a read replica and all
+ * other work to the primary.
+ * <p>
+ * A connection is taken from the replica only when the current transaction is marked
+ * {@code readOnly} and the {@link ReplicaLagMonitor} reports the replica as available. If the replica
+ * refuses a connection, the failure is reported to the monitor and the primary is used instead.
+ * </p>
+ * <p>
+ * The transaction's read-only flag is only set after the transaction manager has started the
+ * transaction, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers routing
+ * until the first statement.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  // Lookup keys of the two targets
+  private static final String PRIMARY = "primary";
+  private static final String REPLICA = "replica";
+
+  // Primary data source, used for writes and as fallback
+  private final DataSource primary;
+
+  // Replica data source, used for read-only transactions
+  private final DataSource replica;
+
+  // Decides whether the replica may serve reads
+  private final ReplicaLagMonitor lagMonitor;
+
+  /**
+   * Constructs a {@code ReplicaRoutingDataSource}.
+   *
+   * @param primary    the primary data source
+   * @param replica    the replica data source
+   * @param lagMonitor the monitor deciding whether the replica may serve reads
+   */
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+    this.primary = primary;
+    this.replica = replica;
+    this.lagMonitor = lagMonitor;
+    setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+  }
+
+  /**
+   * Selects the replica for read-only transactions while it is available, and the primary otherwise.
+   *
+   * @return the lookup key of the selected data source
+   */
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isAvailable()
+            ? REPLICA
+            : PRIMARY;
+  }
+
+  /**
+   * Returns a connection from the selected data source, falling back to the primary if the replica
+   * cannot provide one.
+   *
+   * @return a connection to the selected database
+   * @throws SQLException if the primary cannot provide a connection
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    DataSource target = determineTargetDataSource();
+    if (target == replica) {
+      try {
+        return replica.getConnection();
+      } catch (SQLException e) {
+        lagMonitor.markUnavailable(e);
+        return primary.getConnection();
+      }
+    }
+    return target.getConnection();
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.drivesoft.datasource;
+
+/**
+ * The {@code Workload} enum identifies the kind of work the current thread is doing, so that its
+ * database connections can be taken from a pool reserved for that work.
+ * <p>
+ * Threads default to {@link #API}. The sync executor runs its tasks as {@link #SYNC}, so that a long
+ * sync transaction only ever holds connections of the sync pool and cannot starve request serving.
+ * </p>
+ *
+ * @since 1.0
+ */
+public enum Workload {
+
+  // Interactive request serving
+  API,
+
+  // The IDMS sync pipeline
+  SYNC;
+
+  // Workload of the current thread, if not API
+  private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Returns the workload of the current thread.
+   *
+   * @return the current workload, {@link #API} unless the thread is running a task as another workload
+   */
+  public static Workload current() {
+    Workload workload = CURRENT.get();
+    return workload != null ? workload : API;
+  }
+
+  /**
+   * Runs a task on the current thread as this workload.
+   *
+   * @param task the task to run
+   */
+  public void run(Runnable task) {
+    Workload previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      task.run();
+    } finally {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.drivesoft.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * The {@code WorkloadRoutingDataSource} class takes connections from a separate pool for each
+ * {@link Workload}, so that sync writes and API reads never wait for each other's connections.
+ * <p>
+ * Like {@link ReplicaRoutingDataSource}, it should be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; the API target may
+ * itself be a {@link ReplicaRoutingDataSource}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+  /**
+   * Constructs a {@code WorkloadRoutingDataSource}.
+   *
+   * @param api  the data source serving API requests
+   * @param sync the data source serving the sync pipeline
+   */
+  public WorkloadRoutingDataSource(DataSource api, DataSource sync) {
+    setTargetDataSources(Map.of(Workload.API, api, Workload.SYNC, sync));
+    setDefaultTargetDataSource(api);
+  }
+
+  /**
+   * Selects the pool of the current thread's workload.
+   *
+   * @return the current {@link Workload}
+   */
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return Workload.current();
+  }
+}
@@ -1,17 +1,26 @@
 package com.example.drivesoft.exception;
 
+import com.example.drivesoft.account.exception.AccountNotFoundException;
+import com.example.drivesoft.account.exception.InvalidAccountFieldException;
 import com.example.drivesoft.idms.exception.IDMSAccountListException;
 import com.example.drivesoft.idms.exception.IDMSAuthenticationException;
 import com.example.drivesoft.idms.exception.IDMSException;
+import com.example.drivesoft.snapshot.exception.InvalidSnapshotException;
+import com.example.drivesoft.snapshot.exception.SnapshotImportException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.stream.Collectors;
 
 /**
  * The {@code GlobalExceptionHandler} class is responsible for handling various types of exceptions
@@ -129,6 +138,128 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
   }
 
+  /**
+   * Handles lookups of accounts that do not exist locally.
+   * Returns a {@code 404 Not Found} response with the error details.
+   *
+   * @param ex The exception thrown when the account is not found.
+   * @return A {@code ResponseEntity} containing the error response and HTTP status.
+   */
+  @ExceptionHandler(AccountNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleAccountNotFoundException(AccountNotFoundException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+            "Account Not Found",
+            ex.getMessage(),
+            HttpStatus.NOT_FOUND.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   * Handles requests for account fields that do not exist.
+   * Returns a {@code 400 Bad Request} response with the error details.
+   *
+   * @param ex The exception thrown when an unknown field is requested.
+   * @return A {@code ResponseEntity} containing the error response and HTTP status.
+   */
+  @ExceptionHandler(InvalidAccountFieldException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidAccountFieldException(InvalidAccountFieldException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+            "Bad Request",
+            ex.getMessage(),
+            HttpStatus.BAD_REQUEST.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles account snapshots that are truncated, corrupted or of an unknown format.
+   * Returns a {@code 400 Bad Request} response with the error details.
+   *
+   * @param ex The exception thrown while reading the snapshot.
+   * @return A {@code ResponseEntity} containing the error response and HTTP status.
+   */
+  @ExceptionHandler(InvalidSnapshotException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidSnapshotException(InvalidSnapshotException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+            "Invalid Snapshot",
+            ex.getMessage(),
+            HttpStatus.BAD_REQUEST.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles snapshot imports into a table that already holds accounts or while a sync is running.
+   * Returns a {@code 409 Conflict} response with the error details.
+   *
+   * @param ex The exception thrown when the snapshot cannot be imported.
+   * @return A {@code ResponseEntity} containing the error response and HTTP status.
+   */
+  @ExceptionHandler(SnapshotImportException.class)
+  public ResponseEntity<ErrorResponse> handleSnapshotImportException(SnapshotImportException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+            "Conflict",
+            ex.getMessage(),
+            HttpStatus.CONFLICT.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+  }
+
+  /**
+   * Handles request parameters that cannot be converted to the expected type, such as an unknown
+   * enum value. Returns a {@code 400 Bad Request} response with the error details.
+   *
+   * @param ex The exception thrown while converting the request parameter.
+   * @return A {@code ResponseEntity} containing the error response and HTTP status.
+   */
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+            "Bad Request",
+            "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'",
+            HttpStatus.BAD_REQUEST.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles request bodies that fail bean validation.
+   * Returns a {@code 400 Bad Request} response listing the validation messages.
+   *
+   * @param ex The exception thrown when validation fails.
+   * @return A {@code ResponseEntity} containing the error response and HTTP status.
+   */
+  @ExceptionHandler(MethodArgumentNotValidException.class)
+  public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
+    String message = ex.getBindingResult().getAllErrors().stream()
+            .map(error -> error.getDefaultMessage())
+            .collect(Collectors.joining(", "));
+    ErrorResponse errorResponse = new ErrorResponse(
+            "Bad Request",
+            message,
+            HttpStatus.BAD_REQUEST.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles request bodies that are missing or cannot be parsed, such as malformed JSON.
+   * Returns a {@code 400 Bad Request} response with the error details.
+   *
+   * @param ex The exception thrown while reading the request body.
+   * @return A {@code ResponseEntity} containing the error response and HTTP status.
+   */
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<ErrorResponse> handleMessageNotReadable(HttpMessageNotReadableException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+            "Bad Request",
+            "Malformed or missing request body",
+            HttpStatus.BAD_REQUEST.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
   /**
    * Handles any other exceptions that are not specifically handled by other methods.
    * Returns a {@code 500 Internal Server Error} response with a generic error message.
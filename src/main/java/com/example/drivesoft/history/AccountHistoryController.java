@@ -0,0 +1,52 @@
+package com.example.drivesoft.history;
+
+import com.example.drivesoft.account.exception.AccountNotFoundException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * AccountHistoryController is a REST controller that serves past versions of accounts.
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/history")
+public class AccountHistoryController {
+
+  // Repository reading the account history.
+  private final AccountHistoryRepository accountHistoryRepository;
+
+  /**
+   * Constructs an AccountHistoryController with the specified AccountHistoryRepository.
+   *
+   * @param accountHistoryRepository the repository reading the account history
+   */
+  public AccountHistoryController(AccountHistoryRepository accountHistoryRepository) {
+    this.accountHistoryRepository = accountHistoryRepository;
+  }
+
+  /**
+   * Handles GET requests for the version of an account that was valid at a point in time.
+   *
+   * @param acctID the account ID to look up
+   * @param asOf   the point in time as an ISO-8601 instant, e.g. {@code 2024-11-01T00:00:00Z}; defaults to now
+   * @return a ResponseEntity containing the AccountVersionDTO and an HTTP status code
+   */
+  @GetMapping("/{acctID}")
+  public ResponseEntity<AccountVersionDTO> fetchAsOf(
+          @PathVariable("acctID") String acctID,
+          @RequestParam(value = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf
+  ) {
+    AccountVersionDTO version = accountHistoryRepository.findAsOf(acctID, asOf != null ? asOf : Instant.now())
+            .orElseThrow(() -> new AccountNotFoundException(acctID));
+    return new ResponseEntity<>(version, HttpStatus.OK);
+  }
+}
@@ -0,0 +1,176 @@
+package com.example.drivesoft.history;
+
+import com.example.drivesoft.account.Account;
+import com.example.drivesoft.account.AccountDTO;
+import com.example.drivesoft.account.AccountStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code AccountHistoryRepository} class reads and appends versions of accounts in the
+ * append-only {@code account_history} table.
+ * <p>
+ * Each row holds the content of an account from {@code valid_from} until the {@code valid_from} of the
+ * next row with the same acctID (a type 2 slowly changing dimension without an end column, so rows are
+ * never updated). Rows are written with plain JDBC so that a sync can append many versions as JDBC
+ * batches in its own transaction.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Repository} - Marks this class as a Spring repository component.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code appendAll} - Appends a version for each of the given accounts.</li>
+ * <li>{@code appendCurrent} - Appends the stored content of the given accounts as a new version.</li>
+ * <li>{@code appendDivergent} - Appends the stored content of every account whose latest version differs.</li>
+ * <li>{@code findAsOf} - Finds the version of an account that was valid at a point in time.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Repository
+public class AccountHistoryRepository {
+
+  // Business columns of a version, in the order of the insert parameters
+  private static final String COLUMNS = "contract_sales_price, acct_type, sales_group_person1_id, contract_date, " +
+          "collateral_stock_number, collateral_year_model, collateral_make, collateral_model, " +
+          "borrower1_first_name, borrower1_last_name, acct_id, status";
+
+  private static final String INSERT = "INSERT INTO account_history (" + COLUMNS + ", valid_from) " +
+          "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_FROM_ACCOUNT = "INSERT INTO account_history (" + COLUMNS + ", valid_from) " +
+          "SELECT " + COLUMNS + ", :validFrom FROM account WHERE acct_id IN (:acctIDs)";
+
+  private static final String INSERT_DIVERGENT = "INSERT INTO account_history (" + COLUMNS + ", valid_from) " +
+          "SELECT " + prefixed("a") + ", :validFrom FROM account a " +
+          "LEFT JOIN account_history h ON h.acct_id = a.acct_id AND h.valid_from = " +
+          "(SELECT MAX(l.valid_from) FROM account_history l WHERE l.acct_id = a.acct_id) " +
+          "WHERE h.acct_id IS NULL OR NOT (" + Arrays.stream(COLUMNS.split(", "))
+          .map(column -> "a." + column + " <=> h." + column)
+          .collect(Collectors.joining(" AND ")) + ")";
+
+  private static final String SELECT_AS_OF = "SELECT " + COLUMNS + ", valid_from FROM account_history " +
+          "WHERE acct_id = :acctID AND valid_from <= :asOf ORDER BY valid_from DESC LIMIT 1";
+
+  private static final RowMapper<AccountVersionDTO> VERSION_MAPPER = (rs, rowNum) -> {
+    AccountDTO accountDTO = new AccountDTO();
+    accountDTO.setContractSalesPrice(rs.getBigDecimal("contract_sales_price"));
+    accountDTO.setAcctType(rs.getString("acct_type"));
+    accountDTO.setSalesGroupPerson1ID(rs.getString("sales_group_person1_id"));
+    accountDTO.setContractDate(rs.getObject("contract_date", LocalDate.class));
+    accountDTO.setCollateralStockNumber(rs.getString("collateral_stock_number"));
+    accountDTO.setCollateralYearModel(rs.getString("collateral_year_model"));
+    accountDTO.setCollateralMake(rs.getString("collateral_make"));
+    accountDTO.setCollateralModel(rs.getString("collateral_model"));
+    accountDTO.setBorrower1FirstName(rs.getString("borrower1_first_name"));
+    accountDTO.setBorrower1LastName(rs.getString("borrower1_last_name"));
+    accountDTO.setAcctID(rs.getString("acct_id"));
+    return new AccountVersionDTO(rs.getTimestamp("valid_from").toInstant(),
+            AccountStatus.valueOf(rs.getString("status")), accountDTO);
+  };
+
+  // Template bound to the application's data source, joining the current transaction
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructs an {@code AccountHistoryRepository}.
+   *
+   * @param jdbcTemplate the template used to access the history table
+   */
+  public AccountHistoryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Appends a version for each of the given accounts, sent in JDBC batches of {@code batchSize} rows.
+   *
+   * @param accounts  the accounts whose current content becomes a new version
+   * @param validFrom the time from which the versions are valid
+   * @param batchSize the number of rows per JDBC batch
+   */
+  public void appendAll(Collection<Account> accounts, Instant validFrom, int batchSize) {
+    Timestamp timestamp = Timestamp.from(validFrom);
+    jdbcTemplate.getJdbcOperations().batchUpdate(INSERT, accounts, batchSize, (ps, account) -> {
+      ps.setBigDecimal(1, account.getContractSalesPrice());
+      ps.setString(2, account.getAcctType());
+      ps.setString(3, account.getSalesGroupPerson1ID());
+      ps.setObject(4, account.getContractDate(), Types.DATE);
+      ps.setString(5, account.getCollateralStockNumber());
+      ps.setString(6, account.getCollateralYearModel());
+      ps.setString(7, account.getCollateralMake());
+      ps.setString(8, account.getCollateralModel());
+      ps.setString(9, account.getBorrower1FirstName());
+      ps.setString(10, account.getBorrower1LastName());
+      ps.setString(11, account.getAcctID());
+      ps.setString(12, account.getStatus().name());
+      ps.setTimestamp(13, timestamp);
+    });
+  }
+
+  /**
+   * Appends the content currently stored in the {@code account} table for the given acctIDs as new
+   * versions, with a single {@code INSERT ... SELECT}. Used after bulk status changes, which do not
+   * load the accounts.
+   * <p>
+   * Callers should bound the size of the collection, since it becomes a single {@code IN} list.
+   * </p>
+   *
+   * @param acctIDs   the acctIDs of the accounts
+   * @param validFrom the time from which the versions are valid
+   */
+  public void appendCurrent(Collection<String> acctIDs, Instant validFrom) {
+    if (acctIDs.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(INSERT_FROM_ACCOUNT, new MapSqlParameterSource()
+            .addValue("validFrom", Timestamp.from(validFrom))
+            .addValue("acctIDs", acctIDs));
+  }
+
+  /**
+   * Appends the content currently stored in the {@code account} table as a new version for every
+   * account that has no version yet or whose latest version differs from its row, with a single
+   * {@code INSERT ... SELECT}. Used after a full refresh; running it again appends nothing, so a refresh
+   * that failed after its swap is completed by the next one.
+   *
+   * @param validFrom the time from which the versions are valid
+   */
+  public void appendDivergent(Instant validFrom) {
+    jdbcTemplate.update(INSERT_DIVERGENT, new MapSqlParameterSource("validFrom", Timestamp.from(validFrom)));
+  }
+
+  /**
+   * Finds the version of an account that was valid at the given time, using the
+   * {@code idx_account_history_acct_id_valid_from} index.
+   *
+   * @param acctID the account ID
+   * @param asOf   the point in time
+   * @return the version valid at {@code asOf}, or {@link Optional#empty()} if the account had no version yet
+   */
+  public Optional<AccountVersionDTO> findAsOf(String acctID, Instant asOf) {
+    List<AccountVersionDTO> versions = jdbcTemplate.query(SELECT_AS_OF, new MapSqlParameterSource()
+            .addValue("acctID", acctID)
+            .addValue("asOf", Timestamp.from(asOf)), VERSION_MAPPER);
+    return versions.stream().findFirst();
+  }
+
+  private static String prefixed(String alias) {
+    return Arrays.stream(COLUMNS.split(", ")).map(column -> alias + "." + column).collect(Collectors.joining(", "));
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.drivesoft.history;
+
+import com.example.drivesoft.account.AccountDTO;
+import com.example.drivesoft.account.AccountStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The {@code AccountVersionDTO} class represents one version of an account from the history table.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountVersionDTO {
+
+  /**
+   * The time from which this version was valid.
+   */
+  @JsonProperty("valid_from")
+  private Instant validFrom;
+
+  /**
+   * The status of the account in this version.
+   */
+  @JsonProperty("status")
+  private AccountStatus status;
+
+  /**
+   * The content of the account in this version.
+   */
+  @JsonProperty("account")
+  private AccountDTO account;
+}
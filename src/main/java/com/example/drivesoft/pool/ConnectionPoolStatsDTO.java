@@ -0,0 +1,60 @@
+package com.example.drivesoft.pool;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code ConnectionPoolStatsDTO} class carries the current state of a single database connection pool.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConnectionPoolStatsDTO {
+
+  /**
+   * The name of the pool, e.g. {@code api} or {@code sync}.
+   */
+  @JsonProperty("pool")
+  private String pool;
+
+  /**
+   * The number of connections currently in use.
+   */
+  @JsonProperty("active")
+  private int active;
+
+  /**
+   * The number of open connections waiting to be used.
+   */
+  @JsonProperty("idle")
+  private int idle;
+
+  /**
+   * The number of open connections.
+   */
+  @JsonProperty("total")
+  private int total;
+
+  /**
+   * The maximum number of connections the pool opens.
+   */
+  @JsonProperty("max")
+  private int max;
+
+  /**
+   * The number of threads waiting for a connection.
+   */
+  @JsonProperty("threads_awaiting")
+  private int threadsAwaiting;
+}
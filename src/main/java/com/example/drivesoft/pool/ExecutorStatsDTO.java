@@ -0,0 +1,60 @@
+package com.example.drivesoft.pool;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code ExecutorStatsDTO} class carries the current state of a single thread pool.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExecutorStatsDTO {
+
+  /**
+   * The name of the executor, e.g. {@code http} or {@code sync}.
+   */
+  @JsonProperty("executor")
+  private String executor;
+
+  /**
+   * The number of threads running a task.
+   */
+  @JsonProperty("active")
+  private int active;
+
+  /**
+   * The number of threads in the pool.
+   */
+  @JsonProperty("pool_size")
+  private int poolSize;
+
+  /**
+   * The maximum number of threads in the pool.
+   */
+  @JsonProperty("max_pool_size")
+  private int maxPoolSize;
+
+  /**
+   * The number of tasks waiting for a thread.
+   */
+  @JsonProperty("queued")
+  private int queued;
+
+  /**
+   * The number of tasks completed.
+   */
+  @JsonProperty("completed")
+  private long completed;
+}
@@ -0,0 +1,40 @@
+package com.example.drivesoft.pool;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * PoolController is a REST controller that exposes the state of the connection pools and thread pools.
+ * It is restricted to the users listed in {@code admin.usernames}.
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/admin/pools")
+public class PoolController {
+
+  // Service collecting pool statistics.
+  private final PoolStatisticsService poolStatisticsService;
+
+  /**
+   * Constructs a PoolController with the specified PoolStatisticsService.
+   *
+   * @param poolStatisticsService the service collecting pool statistics
+   */
+  public PoolController(PoolStatisticsService poolStatisticsService) {
+    this.poolStatisticsService = poolStatisticsService;
+  }
+
+  /**
+   * Handles GET requests for the current pool statistics.
+   *
+   * @return a ResponseEntity containing the pool statistics and an HTTP status code
+   */
+  @GetMapping("/stats")
+  public ResponseEntity<PoolStatsDTO> fetchStatistics() {
+    return new ResponseEntity<>(poolStatisticsService.getStatistics(), HttpStatus.OK);
+  }
+}
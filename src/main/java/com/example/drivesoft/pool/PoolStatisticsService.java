@@ -0,0 +1,98 @@
+package com.example.drivesoft.pool;
+
+import com.example.drivesoft.configuration.AsyncConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The {@code PoolStatisticsService} class collects the current state of every database connection pool
+ * and of the thread pools serving HTTP requests and the sync pipeline.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Service} - Marks this class as a Spring service component.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class PoolStatisticsService {
+
+  // Every Hikari pool of the application
+  private final List<HikariDataSource> dataSources;
+
+  // Executor running the sync pipeline
+  private final ThreadPoolTaskExecutor syncExecutor;
+
+  // Context holding the embedded web server
+  private final ApplicationContext applicationContext;
+
+  /**
+   * Constructs a {@code PoolStatisticsService} with the required dependencies.
+   *
+   * @param dataSources        every Hikari pool of the application
+   * @param syncExecutor       the executor running the sync pipeline
+   * @param applicationContext the context holding the embedded web server
+   */
+  public PoolStatisticsService(List<HikariDataSource> dataSources,
+                               @Qualifier(AsyncConfig.SYNC_EXECUTOR) ThreadPoolTaskExecutor syncExecutor,
+                               ApplicationContext applicationContext) {
+    this.dataSources = dataSources;
+    this.syncExecutor = syncExecutor;
+    this.applicationContext = applicationContext;
+  }
+
+  /**
+   * Returns a snapshot of the current pool statistics.
+   *
+   * @return a {@link PoolStatsDTO} with one entry per connection pool and thread pool
+   */
+  public PoolStatsDTO getStatistics() {
+    List<ConnectionPoolStatsDTO> connectionPools = dataSources.stream()
+            .map(PoolStatisticsService::connectionPoolStats)
+            .sorted(Comparator.comparing(ConnectionPoolStatsDTO::getPool))
+            .toList();
+
+    List<ExecutorStatsDTO> executors = new ArrayList<>();
+    ExecutorStatsDTO http = httpExecutorStats();
+    if (http != null) {
+      executors.add(http);
+    }
+    executors.add(new ExecutorStatsDTO("sync", syncExecutor.getActiveCount(), syncExecutor.getPoolSize(),
+            syncExecutor.getMaxPoolSize(), syncExecutor.getQueueSize(),
+            syncExecutor.getThreadPoolExecutor().getCompletedTaskCount()));
+    return new PoolStatsDTO(connectionPools, executors);
+  }
+
+  private static ConnectionPoolStatsDTO connectionPoolStats(HikariDataSource dataSource) {
+    HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+    if (pool == null) {
+      // The pool has not been started yet
+      return new ConnectionPoolStatsDTO(dataSource.getPoolName(), 0, 0, 0, dataSource.getMaximumPoolSize(), 0);
+    }
+    return new ConnectionPoolStatsDTO(dataSource.getPoolName(), pool.getActiveConnections(),
+            pool.getIdleConnections(), pool.getTotalConnections(), dataSource.getMaximumPoolSize(),
+            pool.getThreadsAwaitingConnection());
+  }
+
+  private ExecutorStatsDTO httpExecutorStats() {
+    if (!(applicationContext instanceof WebServerApplicationContext context)
+            || !(context.getWebServer() instanceof TomcatWebServer tomcat)
+            || !(tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor() instanceof ThreadPoolExecutor http)) {
+      return null;
+    }
+    return new ExecutorStatsDTO("http", http.getActiveCount(), http.getPoolSize(),
+            http.getMaximumPoolSize(), http.getQueue().size(), http.getCompletedTaskCount());
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.drivesoft.pool;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The {@code PoolStatsDTO} class summarises the database connection pools and thread pools of the
+ * application, one entry per pool.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PoolStatsDTO {
+
+  /**
+   * The state of each database connection pool.
+   */
+  @JsonProperty("connection_pools")
+  private List<ConnectionPoolStatsDTO> connectionPools;
+
+  /**
+   * The state of each thread pool.
+   */
+  @JsonProperty("executors")
+  private List<ExecutorStatsDTO> executors;
+}
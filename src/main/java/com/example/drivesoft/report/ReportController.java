@@ -0,0 +1,49 @@
+package com.example.drivesoft.report;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * ReportController is a REST controller that serves management reports from pre-computed aggregates.
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/report")
+public class ReportController {
+
+  // Service reading the sales aggregates.
+  private final SalesAggregateService salesAggregateService;
+
+  /**
+   * Constructs a ReportController with the specified SalesAggregateService.
+   *
+   * @param salesAggregateService the service reading the sales aggregates
+   */
+  public ReportController(SalesAggregateService salesAggregateService) {
+    this.salesAggregateService = salesAggregateService;
+  }
+
+  /**
+   * Handles GET requests for the contract sales report.
+   * <p>
+   * The {@code groupBy} parameter selects the dimension: {@code MAKE}, {@code MODEL}, {@code SALESPERSON}
+   * or {@code MONTH}. By default, sales are grouped by make.
+   * </p>
+   *
+   * @param groupBy the dimension to group sales by; defaults to MAKE
+   * @return a ResponseEntity containing the report rows and an HTTP status code
+   */
+  @GetMapping("/sales")
+  public ResponseEntity<List<SalesAggregateDTO>> fetchSalesReport(
+          @RequestParam(value = "groupBy", required = false, defaultValue = "MAKE") SalesDimension groupBy
+  ) {
+    return new ResponseEntity<>(salesAggregateService.getReport(groupBy), HttpStatus.OK);
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.drivesoft.report;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The {@code SalesAggregate} class represents a pre-computed rollup of contract sales for one key of a
+ * {@link SalesDimension}, such as a single collateral make or contract month.
+ * <p>
+ * Rows are maintained incrementally by the sync process, so reports read a handful of rows instead of
+ * scanning the {@code account} table.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Entity} - Specifies that this class is an entity mapped to the database.</li>
+ * <li>{@code @Table(name = "sales_aggregate")} - Specifies the table name and the unique (dimension, key) constraint.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "sales_aggregate",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sales_aggregate_dimension_key", columnNames = {"dimension", "dimension_key"}))
+public class SalesAggregate {
+
+  /**
+   * The unique identifier for the aggregate row.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * The dimension this row aggregates along.
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "dimension", nullable = false, length = 20)
+  private SalesDimension dimension;
+
+  /**
+   * The grouping key within the dimension (e.g., a make or a month).
+   */
+  @Column(name = "dimension_key", nullable = false)
+  private String dimensionKey;
+
+  /**
+   * The number of accounts contributing to this row.
+   */
+  @Column(name = "account_count", nullable = false)
+  private long accountCount;
+
+  /**
+   * The sum of the contract sales prices of the contributing accounts.
+   */
+  @Column(name = "total_sales_price", nullable = false, precision = 38, scale = 2)
+  private BigDecimal totalSalesPrice;
+}
@@ -0,0 +1,99 @@
+package com.example.drivesoft.report;
+
+import com.example.drivesoft.account.Account;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code SalesAggregateBatch} class accumulates sales aggregate deltas in memory during a sync run.
+ * <p>
+ * Inserting, removing or changing many accounts that share a make, salesperson or month collapses into
+ * a single delta per key, so that each affected aggregate row is written once per batch.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class SalesAggregateBatch {
+
+  // Accumulated deltas per dimension and grouping key
+  private final Map<SalesDimension, Map<String, Delta>> deltas = new EnumMap<>(SalesDimension.class);
+
+  /**
+   * Records that an account was added to the data set.
+   *
+   * @param account the added account
+   */
+  public void add(Account account) {
+    accumulate(account, 1);
+  }
+
+  /**
+   * Records that an account was removed from the data set.
+   *
+   * @param account the removed account
+   */
+  public void remove(Account account) {
+    accumulate(account, -1);
+  }
+
+  /**
+   * Records that an account changed from one state to another.
+   *
+   * @param previous the account as it was before the change
+   * @param current  the account as it is after the change
+   */
+  public void change(Account previous, Account current) {
+    remove(previous);
+    add(current);
+  }
+
+  /**
+   * Checks whether the batch holds no deltas.
+   *
+   * @return {@code true} if nothing was recorded; otherwise {@code false}
+   */
+  public boolean isEmpty() {
+    return deltas.isEmpty();
+  }
+
+  /**
+   * Passes every non-zero delta to the given consumer.
+   *
+   * @param consumer receives the dimension, the grouping key and the delta for that key
+   */
+  void forEach(DeltaConsumer consumer) {
+    deltas.forEach((dimension, byKey) -> byKey.forEach((key, delta) -> {
+      if (delta.count != 0 || delta.amount.signum() != 0) {
+        consumer.accept(dimension, key, delta.count, delta.amount);
+      }
+    }));
+  }
+
+  private void accumulate(Account account, int sign) {
+    BigDecimal amount = account.getContractSalesPrice() == null ? BigDecimal.ZERO : account.getContractSalesPrice();
+    BigDecimal signedAmount = sign < 0 ? amount.negate() : amount;
+    for (SalesDimension dimension : SalesDimension.values()) {
+      Delta delta = deltas.computeIfAbsent(dimension, d -> new HashMap<>())
+              .computeIfAbsent(dimension.keyOf(account), k -> new Delta());
+      delta.count += sign;
+      delta.amount = delta.amount.add(signedAmount);
+    }
+  }
+
+  /**
+   * Receives one accumulated delta.
+   */
+  @FunctionalInterface
+  interface DeltaConsumer {
+    void accept(SalesDimension dimension, String key, long count, BigDecimal amount);
+  }
+
+  // Mutable count and amount for a single grouping key
+  private static final class Delta {
+    private long count;
+    private BigDecimal amount = BigDecimal.ZERO;
+  }
+}
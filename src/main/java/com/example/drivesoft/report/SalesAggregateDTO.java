@@ -0,0 +1,44 @@
+package com.example.drivesoft.report;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The {@code SalesAggregateDTO} class is a Data Transfer Object (DTO) carrying one row of a sales report.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesAggregateDTO {
+
+  /**
+   * The grouping key (e.g., a make, a salesperson or a {@code yyyy-MM} month).
+   */
+  @JsonProperty("key")
+  private String key;
+
+  /**
+   * The number of accounts in the group.
+   */
+  @JsonProperty("account_count")
+  private long accountCount;
+
+  /**
+   * The sum of the contract sales prices in the group.
+   */
+  @JsonProperty("total_sales_price")
+  private BigDecimal totalSalesPrice;
+}
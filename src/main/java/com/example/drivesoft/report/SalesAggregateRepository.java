@@ -0,0 +1,52 @@
+package com.example.drivesoft.report;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The {@code SalesAggregateRepository} interface provides data access methods for the {@link SalesAggregate} entity.
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code findByDimensionOrderByTotalSalesPriceDesc} - Reads all rows of a dimension, largest first.</li>
+ * <li>{@code applyDelta} - Adds a delta to a row, creating it if it does not exist.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Repository
+public interface SalesAggregateRepository extends JpaRepository<SalesAggregate, Long> {
+
+  /**
+   * Finds all aggregate rows of a dimension, ordered by total sales price descending.
+   *
+   * @param dimension the dimension to read
+   * @return the aggregate rows of the dimension
+   */
+  List<SalesAggregate> findByDimensionOrderByTotalSalesPriceDesc(SalesDimension dimension);
+
+  /**
+   * Adds the given count and amount to the row for a dimension key, inserting the row if it is missing.
+   *
+   * @param dimension    the dimension name
+   * @param dimensionKey the grouping key within the dimension
+   * @param countDelta   the change in account count
+   * @param amountDelta  the change in total sales price
+   */
+  @Modifying
+  @Query(value = "INSERT INTO sales_aggregate (dimension, dimension_key, account_count, total_sales_price) " +
+          "VALUES (:dimension, :dimensionKey, :countDelta, :amountDelta) " +
+          "ON DUPLICATE KEY UPDATE account_count = account_count + VALUES(account_count), " +
+          "total_sales_price = total_sales_price + VALUES(total_sales_price)",
+          nativeQuery = true)
+  void applyDelta(@Param("dimension") String dimension,
+                  @Param("dimensionKey") String dimensionKey,
+                  @Param("countDelta") long countDelta,
+                  @Param("amountDelta") BigDecimal amountDelta);
+}
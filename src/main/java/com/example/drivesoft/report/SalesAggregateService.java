@@ -0,0 +1,107 @@
+package com.example.drivesoft.report;
+
+import com.example.drivesoft.account.AccountRepository;
+import com.example.drivesoft.account.AccountStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * The {@code SalesAggregateService} class maintains and reads the pre-computed sales aggregates.
+ * <p>
+ * The sync process records inserted and changed accounts in a {@link SalesAggregateBatch} and applies it
+ * here within its own transaction, so the aggregates always match the committed {@code account} table.
+ * Reports read only the aggregate rows of the requested dimension.
+ * </p>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code apply} - Writes the deltas of a batch to the aggregate table.</li>
+ * <li>{@code replaceAll} - Replaces the aggregate table with the totals of a batch.</li>
+ * <li>{@code seedIfEmpty} - Computes the aggregates from existing accounts when none exist yet.</li>
+ * <li>{@code getReport} - Returns the aggregate rows of a dimension.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class SalesAggregateService {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(SalesAggregateService.class);
+
+  // Repository for aggregate rows.
+  private final SalesAggregateRepository salesAggregateRepository;
+
+  // Repository for accounts, used only to seed empty aggregates.
+  private final AccountRepository accountRepository;
+
+  /**
+   * Constructs a {@code SalesAggregateService} with the required dependencies.
+   *
+   * @param salesAggregateRepository the repository for aggregate rows
+   * @param accountRepository        the repository for account data operations
+   */
+  public SalesAggregateService(SalesAggregateRepository salesAggregateRepository, AccountRepository accountRepository) {
+    this.salesAggregateRepository = salesAggregateRepository;
+    this.accountRepository = accountRepository;
+  }
+
+  /**
+   * Writes the deltas accumulated in a batch to the aggregate table, one upsert per affected key.
+   *
+   * @param batch the batch of deltas to apply
+   */
+  @Transactional
+  public void apply(SalesAggregateBatch batch) {
+    batch.forEach((dimension, key, count, amount) ->
+            salesAggregateRepository.applyDelta(dimension.name(), key, count, amount));
+  }
+
+  /**
+   * Replaces every row of the aggregate table with the totals of a batch that added each active account
+   * once. Unlike {@link #apply}, running it again with the same batch leaves the same rows.
+   *
+   * @param batch the batch of all active accounts
+   */
+  @Transactional
+  public void replaceAll(SalesAggregateBatch batch) {
+    salesAggregateRepository.deleteAllInBatch();
+    apply(batch);
+  }
+
+  /**
+   * Seeds the aggregate table from the {@code account} table if it has no rows yet.
+   * <p>
+   * This is the only place the full account table is read, and it runs once, for databases that
+   * held accounts before aggregates were introduced.
+   * </p>
+   */
+  @Transactional
+  public void seedIfEmpty() {
+    if (salesAggregateRepository.count() > 0 || accountRepository.count() == 0) {
+      return;
+    }
+    logger.info("Seeding sales aggregates from existing accounts...");
+    SalesAggregateBatch batch = new SalesAggregateBatch();
+    accountRepository.findByStatus(AccountStatus.ACTIVE).forEach(batch::add);
+    apply(batch);
+    logger.info("Sales aggregates seeded.");
+  }
+
+  /**
+   * Returns the aggregate rows of a dimension, largest total first.
+   *
+   * @param dimension the dimension to report on
+   * @return the report rows
+   */
+  @Transactional(readOnly = true)
+  public List<SalesAggregateDTO> getReport(SalesDimension dimension) {
+    return salesAggregateRepository.findByDimensionOrderByTotalSalesPriceDesc(dimension).stream()
+            .map(row -> new SalesAggregateDTO(row.getDimensionKey(), row.getAccountCount(), row.getTotalSalesPrice()))
+            .toList();
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.drivesoft.report;
+
+import com.example.drivesoft.account.Account;
+
+import java.time.YearMonth;
+import java.util.function.Function;
+
+/**
+ * The {@code SalesDimension} enum lists the dimensions along which contract sales are aggregated.
+ * <p>
+ * Each dimension knows how to derive its grouping key from an {@link Account}. Accounts with no value
+ * for a dimension are grouped under {@link #UNKNOWN_KEY}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public enum SalesDimension {
+
+  /**
+   * Aggregates by collateral make.
+   */
+  MAKE(Account::getCollateralMake),
+
+  /**
+   * Aggregates by collateral make and model, since model names are not unique across makes.
+   */
+  MODEL(account -> account.getCollateralModel() == null
+          ? null
+          : normalize(account.getCollateralMake()) + " " + account.getCollateralModel()),
+
+  /**
+   * Aggregates by the first sales group person.
+   */
+  SALESPERSON(Account::getSalesGroupPerson1ID),
+
+  /**
+   * Aggregates by contract month, formatted as {@code yyyy-MM}.
+   */
+  MONTH(account -> account.getContractDate() == null
+          ? null
+          : YearMonth.from(account.getContractDate()).toString());
+
+  /**
+   * The key used for accounts that have no value for a dimension.
+   */
+  public static final String UNKNOWN_KEY = "UNKNOWN";
+
+  // Function deriving the raw grouping key from an account
+  private final Function<Account, String> keyExtractor;
+
+  SalesDimension(Function<Account, String> keyExtractor) {
+    this.keyExtractor = keyExtractor;
+  }
+
+  /**
+   * Returns the grouping key of the given account for this dimension.
+   *
+   * @param account the account to derive the key from
+   * @return the grouping key, or {@link #UNKNOWN_KEY} if the account has no value for this dimension
+   */
+  public String keyOf(Account account) {
+    return normalize(keyExtractor.apply(account));
+  }
+
+  private static String normalize(String value) {
+    return value == null || value.isBlank() ? UNKNOWN_KEY : value;
+  }
+}
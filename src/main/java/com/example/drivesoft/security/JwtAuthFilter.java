@@ -1,7 +1,9 @@
 package com.example.drivesoft.security;
 
-import com.example.drivesoft.user.UserDetailsServiceImpl;
+import com.example.drivesoft.user.TokenVersionCache;
+import com.example.drivesoft.user.UserDetailsImpl;
 import com.example.drivesoft.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
@@ -11,7 +13,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -29,8 +30,10 @@ import java.io.IOException;
  * <p>If the token is invalid or expired, an error response is returned with the appropriate status
  * and message, indicating the issue with the token.</p>
  *
- * <p>It interacts with the {@link JwtUtil} utility class for extracting the username and validating the token,
- * and the {@link UserDetailsServiceImpl} for loading user details based on the extracted username.</p>
+ * <p>It interacts with the {@link VerifiedTokenCache}, which verifies and parses each distinct token once
+ * with the {@link JwtUtil} utility class. The user is built from the claims of the token rather than
+ * loaded from the database; the {@link TokenVersionCache} only checks that the tokens of the user have
+ * not been revoked.</p>
  *
  * <p>Annotations:</p>
  * <ul>
@@ -43,18 +46,22 @@ import java.io.IOException;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
   private JwtUtil jwtUtil;
-  private UserDetailsServiceImpl userDetailsService;
+  private VerifiedTokenCache verifiedTokenCache;
+  private TokenVersionCache tokenVersionCache;
 
   /**
-   * Injects dependencies for JwtUtil and UserDetailsServiceImpl.
+   * Injects dependencies for JwtUtil, VerifiedTokenCache and TokenVersionCache.
    *
    * @param jwtUtil            the utility class for JWT handling
-   * @param userDetailsService the service for loading user details
+   * @param verifiedTokenCache the cache of already verified tokens
+   * @param tokenVersionCache  the cache of current token versions
    */
   @Autowired
-  public void injectDependencies(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+  public void injectDependencies(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                                 TokenVersionCache tokenVersionCache) {
     this.jwtUtil = jwtUtil;
-    this.userDetailsService = userDetailsService;
+    this.verifiedTokenCache = verifiedTokenCache;
+    this.tokenVersionCache = tokenVersionCache;
   }
 
   /**
@@ -72,30 +79,34 @@ public class JwtAuthFilter extends OncePerRequestFilter {
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
     // Retrieve the Authorization header
     String authHeader = request.getHeader("Authorization");
-    String token = null;
-    String username = null;
+    Claims claims = null;
 
     try {
       // Check if the header starts with "Bearer "
       if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        token = authHeader.substring(7); // Extract token
-        username = jwtUtil.extractUsername(token); // Extract username from token
+        claims = verifiedTokenCache.verify(authHeader.substring(7)); // Verify the token once and keep its claims
       }
       // If the token is valid and no authentication is set in the context
-      if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+      if (claims != null && claims.getSubject() != null
+              && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // Build the user from the claims instead of loading it
+        UserDetailsImpl userDetails = jwtUtil.toPrincipal(claims);
 
-        // Validate token and set authentication
-        if (Boolean.TRUE.equals(jwtUtil.validateToken(token, userDetails))) {
-          UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                  userDetails,
-                  null,
-                  userDetails.getAuthorities()
-          );
-          authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-          SecurityContextHolder.getContext().setAuthentication(authToken);
+        // Reject tokens issued before the tokens of the user were revoked
+        if (!tokenVersionCache.isCurrent(userDetails.getUsername(), userDetails.getTokenVersion())) {
+          response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+          response.getWriter().write("Token has been revoked");
+          return;
         }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
       }
     } catch (ExpiredJwtException e) {
       // Token expired
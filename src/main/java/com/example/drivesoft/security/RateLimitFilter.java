@@ -0,0 +1,159 @@
+package com.example.drivesoft.security;
+
+import com.example.drivesoft.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code RateLimitFilter} class protects the application from clients that call expensive endpoints
+ * too often, while leaving cheap requests unaffected.
+ * <p>
+ * Two mechanisms are applied after the JWT has been validated:
+ * </p>
+ * <ul>
+ * <li>Per-client rate limiting: every client has a {@link TokenBucket}, keyed by the JWT subject, or by
+ * remote address for unauthenticated requests. Cheap requests cost one token, heavy requests cost
+ * {@code rate-limit.heavy-cost} tokens.</li>
+ * <li>Admission control: heavy requests must also take one of {@code rate-limit.heavy.max-concurrent}
+ * global permits. A request waits up to {@code rate-limit.heavy.queue-timeout} for a permit.</li>
+ * </ul>
+ * <p>
+ * Heavy requests are those whose path starts with one of {@code rate-limit.heavy.paths}, such as the
+ * full-table and sync-triggering {@code /account/fetchAll}. A rejected request receives
+ * {@code 429 Too Many Requests} with a {@code Retry-After} header.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  // Per-client token buckets; idle clients are dropped
+  private final Cache<String, TokenBucket> buckets;
+
+  // Global permits for heavy requests
+  private final Semaphore heavyPermits;
+
+  // Mapper used to write the error response
+  private final ObjectMapper objectMapper;
+
+  @Value("${rate-limit.capacity}")
+  private double capacity;
+
+  @Value("${rate-limit.refill-per-second}")
+  private double refillPerSecond;
+
+  @Value("${rate-limit.heavy-cost}")
+  private double heavyCost;
+
+  @Value("${rate-limit.heavy.paths}")
+  private List<String> heavyPaths;
+
+  @Value("${rate-limit.heavy.queue-timeout}")
+  private Duration queueTimeout;
+
+  /**
+   * Constructs a {@code RateLimitFilter}.
+   *
+   * @param objectMapper  the mapper used to write error responses
+   * @param maxConcurrent the maximum number of heavy requests served at the same time
+   * @param idleTimeout   the time after which an idle client's bucket is dropped
+   */
+  public RateLimitFilter(ObjectMapper objectMapper,
+                         @Value("${rate-limit.heavy.max-concurrent}") int maxConcurrent,
+                         @Value("${rate-limit.idle-timeout}") Duration idleTimeout) {
+    this.objectMapper = objectMapper;
+    this.heavyPermits = new Semaphore(maxConcurrent, true);
+    this.buckets = Caffeine.newBuilder().expireAfterAccess(idleTimeout).build();
+  }
+
+  /**
+   * Applies the per-client rate limit and, for heavy requests, the global concurrency limit.
+   *
+   * @param request     the HTTP request
+   * @param response    the HTTP response
+   * @param filterChain the filter chain to continue the request processing
+   * @throws ServletException if an error occurs during the filter chain
+   * @throws IOException      if an input or output error occurs
+   */
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+    boolean heavy = isHeavy(request);
+    TokenBucket bucket = buckets.get(clientKey(request), key -> new TokenBucket(capacity, refillPerSecond));
+    long waitNanos = bucket.tryConsume(heavy ? Math.min(heavyCost, capacity) : 1);
+    if (waitNanos > 0) {
+      reject(response, waitNanos, "Rate limit exceeded");
+      return;
+    }
+    if (!heavy) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    boolean acquired;
+    try {
+      acquired = heavyPermits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      reject(response, queueTimeout.toNanos(), "Too many concurrent requests for this endpoint");
+      return;
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      heavyPermits.release();
+    }
+  }
+
+  private boolean isHeavy(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return heavyPaths.stream().anyMatch(path::startsWith);
+  }
+
+  private static String clientKey(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.isAuthenticated()) {
+      return "user:" + authentication.getName();
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+
+  private void reject(HttpServletResponse response, long retryAfterNanos, String message) throws IOException {
+    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getWriter(), new ErrorResponse(
+            "Too Many Requests",
+            message,
+            HttpStatus.TOO_MANY_REQUESTS.value()
+    ));
+  }
+}
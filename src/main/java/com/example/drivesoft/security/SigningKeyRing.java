@@ -0,0 +1,252 @@
+package com.example.drivesoft.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code SigningKeyRing} class holds the keys used to sign and verify JWT tokens, so that tokens
+ * issued by one node are accepted by every other node and survive restarts.
+ * <p>
+ * Each key is identified by a key ID ({@code kid}). Tokens are signed with the active key and carry its
+ * key ID in their header; a token is verified with the key its header names, which must be in the ring.
+ * Keys are HMAC secrets of at least 256 bits and are read from:
+ * </p>
+ * <ul>
+ * <li>{@code jwt.signing.keys} - a comma-separated list of {@code kid:base64-secret} entries, usually
+ * supplied through the environment.</li>
+ * <li>{@code jwt.signing.keystore.path} - a PKCS12 keystore whose secret key entries are keyed by their
+ * alias, protected by {@code jwt.signing.keystore.password}. The keystore is reloaded every
+ * {@code jwt.signing.reload-interval} milliseconds when it has changed.</li>
+ * </ul>
+ * <p>
+ * The key named by {@code jwt.signing.active-kid} signs new tokens; it may be omitted when the ring holds
+ * a single key. To rotate, add the new key to every node, then make it active, and remove the old key once
+ * the tokens it signed have expired. Removing or replacing a key publishes a {@link SigningKeysRemovedEvent},
+ * so that tokens it signed are rejected at once even if they were verified before.
+ * </p>
+ * <p>
+ * Startup fails when no key is configured, since a node signing with a key of its own issues tokens that
+ * no other node accepts and that are lost on restart. For local development,
+ * {@code jwt.signing.allow-generated-key} opts into a random key that is kept until the node stops.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * <li>{@code @PostConstruct} - Loads the keys once the bean is initialized.</li>
+ * <li>{@code @Scheduled} - Reloads the keystore when it has changed.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code getActiveKeyId}, {@code getActiveKey} - Return the key signing new tokens.</li>
+ * <li>{@code locate} - Returns the key verifying a token, based on its header.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class SigningKeyRing extends LocatorAdapter<Key> {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(SigningKeyRing.class);
+
+  // Key ID of the generated key used when no key is configured
+  private static final String GENERATED_KID = "generated";
+
+  @Value("${jwt.signing.keys}")
+  private List<String> configuredKeys;
+
+  @Value("${jwt.signing.active-kid}")
+  private String activeKid;
+
+  @Value("${jwt.signing.keystore.path}")
+  private String keystorePath;
+
+  @Value("${jwt.signing.keystore.password}")
+  private String keystorePassword;
+
+  @Value("${jwt.signing.allow-generated-key}")
+  private boolean allowGeneratedKey;
+
+  // Publisher notifying the caches of verified tokens of removed keys
+  private final ApplicationEventPublisher eventPublisher;
+
+  // Current keys and active key, replaced as a whole on reload
+  private volatile Ring ring;
+
+  // Modification time of the keystore when it was last loaded
+  private long keystoreModified;
+
+  /**
+   * Constructs a {@code SigningKeyRing}.
+   *
+   * @param eventPublisher the publisher notifying the caches of verified tokens of removed keys
+   */
+  public SigningKeyRing(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Loads the configured keys. If none is configured and {@code jwt.signing.allow-generated-key} is set,
+   * a key is generated, or the one generated before is kept.
+   *
+   * @throws IllegalStateException if no key is configured and generated keys are not allowed, a key is
+   *                               malformed or the active key cannot be determined
+   */
+  @PostConstruct
+  void load() {
+    Map<String, SecretKey> keys = new LinkedHashMap<>(readKeystore());
+    keys.putAll(readConfiguredKeys());
+    Ring previous = ring;
+    if (keys.isEmpty()) {
+      if (!allowGeneratedKey) {
+        throw new IllegalStateException("No JWT signing keys configured; set jwt.signing.keys or "
+                + "jwt.signing.keystore.path, or jwt.signing.allow-generated-key for a single development node");
+      }
+      SecretKey generated = previous == null ? null : previous.keys().get(GENERATED_KID);
+      if (generated == null) {
+        logger.warn("No JWT signing keys configured, generating a key valid for this node only.");
+        generated = Jwts.SIG.HS256.key().build();
+      }
+      keys.put(GENERATED_KID, generated);
+    }
+    ring = toRing(keys);
+    logger.info("Loaded {} JWT signing keys, signing with key '{}'.", keys.size(), ring.activeKid());
+    if (previous != null) {
+      Set<String> removed = previous.keys().entrySet().stream()
+              .filter(entry -> !entry.getValue().equals(ring.keys().get(entry.getKey())))
+              .map(Map.Entry::getKey)
+              .collect(Collectors.toSet());
+      if (!removed.isEmpty()) {
+        logger.info("Removed JWT signing keys {}.", removed);
+        eventPublisher.publishEvent(new SigningKeysRemovedEvent(removed));
+      }
+    }
+  }
+
+  /**
+   * Reloads the keys when the keystore has been modified since it was last loaded. A keystore that fails
+   * to load leaves the current keys in place.
+   */
+  @Scheduled(fixedDelayString = "${jwt.signing.reload-interval}", initialDelayString = "${jwt.signing.reload-interval}")
+  public void reloadIfChanged() {
+    if (keystorePath.isBlank()) {
+      return;
+    }
+    try {
+      if (Files.getLastModifiedTime(Path.of(keystorePath)).toMillis() != keystoreModified) {
+        load();
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.error("Failed to reload JWT signing keys, keeping the current keys: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the key ID of the key signing new tokens.
+   *
+   * @return the active key ID
+   */
+  public String getActiveKeyId() {
+    return ring.activeKid();
+  }
+
+  /**
+   * Returns the key signing new tokens.
+   *
+   * @return the active key
+   */
+  public SecretKey getActiveKey() {
+    return ring.keys().get(ring.activeKid());
+  }
+
+  /**
+   * Returns the key verifying a token, named by the {@code kid} of its header.
+   *
+   * @param header the header of the token
+   * @return the key with the token's key ID
+   * @throws SignatureException if the token names no key or a key that is not in the ring
+   */
+  @Override
+  protected Key locate(JwsHeader header) {
+    SecretKey key = header.getKeyId() == null ? null : ring.keys().get(header.getKeyId());
+    if (key == null) {
+      throw new SignatureException("Unknown signing key: " + header.getKeyId());
+    }
+    return key;
+  }
+
+  private Map<String, SecretKey> readConfiguredKeys() {
+    Map<String, SecretKey> keys = new LinkedHashMap<>();
+    for (String entry : configuredKeys) {
+      int separator = entry.indexOf(':');
+      if (separator <= 0) {
+        throw new IllegalStateException("JWT signing key must be given as kid:base64-secret");
+      }
+      keys.put(entry.substring(0, separator).trim(),
+              Keys.hmacShaKeyFor(Decoders.BASE64.decode(entry.substring(separator + 1).trim())));
+    }
+    return keys;
+  }
+
+  private Map<String, SecretKey> readKeystore() {
+    if (keystorePath.isBlank()) {
+      return Map.of();
+    }
+    Path path = Path.of(keystorePath);
+    char[] password = keystorePassword.toCharArray();
+    try (InputStream in = Files.newInputStream(path)) {
+      long modified = Files.getLastModifiedTime(path).toMillis();
+      KeyStore keyStore = KeyStore.getInstance("PKCS12");
+      keyStore.load(in, password);
+      Map<String, SecretKey> keys = new LinkedHashMap<>();
+      for (String alias : Collections.list(keyStore.aliases())) {
+        if (keyStore.isKeyEntry(alias) && keyStore.getKey(alias, password) instanceof SecretKey secret) {
+          keys.put(alias, Keys.hmacShaKeyFor(secret.getEncoded()));
+        }
+      }
+      keystoreModified = modified;
+      return keys;
+    } catch (IOException | GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to read JWT signing keystore " + path, e);
+    }
+  }
+
+  private Ring toRing(Map<String, SecretKey> keys) {
+    String active = activeKid.isBlank() && keys.size() == 1 ? keys.keySet().iterator().next() : activeKid;
+    if (!keys.containsKey(active)) {
+      throw new IllegalStateException("Active JWT signing key '" + active + "' is not in the key ring");
+    }
+    return new Ring(active, Map.copyOf(keys));
+  }
+
+  private record Ring(String activeKid, Map<String, SecretKey> keys) {
+  }
+}
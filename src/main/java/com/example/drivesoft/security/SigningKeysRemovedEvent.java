@@ -0,0 +1,13 @@
+package com.example.drivesoft.security;
+
+import java.util.Set;
+
+/**
+ * The {@code SigningKeysRemovedEvent} record is published by {@link SigningKeyRing} when a reload removes
+ * or replaces keys, so that tokens they signed stop being accepted from any cache of verified tokens.
+ *
+ * @param keyIds the key IDs whose previous key is no longer in the ring
+ * @since 1.0
+ */
+public record SigningKeysRemovedEvent(Set<String> keyIds) {
+}
@@ -0,0 +1,57 @@
+package com.example.drivesoft.security;
+
+/**
+ * The {@code TokenBucket} class is a thread-safe token bucket used to rate-limit a single client.
+ * <p>
+ * The bucket holds up to {@code capacity} tokens and refills continuously at {@code refillPerSecond}
+ * tokens per second. A request costing {@code n} tokens is allowed if at least {@code n} tokens are
+ * available, which lets a client burst up to the capacity and then sustain the refill rate.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class TokenBucket {
+
+  // Maximum number of tokens the bucket holds
+  private final double capacity;
+
+  // Tokens added per nanosecond
+  private final double refillPerNano;
+
+  // Tokens currently available
+  private double tokens;
+
+  // Time of the last refill, from System.nanoTime()
+  private long lastRefillNanos;
+
+  /**
+   * Constructs a full {@code TokenBucket}.
+   *
+   * @param capacity        the maximum number of tokens
+   * @param refillPerSecond the number of tokens added per second
+   */
+  public TokenBucket(double capacity, double refillPerSecond) {
+    this.capacity = capacity;
+    this.refillPerNano = refillPerSecond / 1_000_000_000d;
+    this.tokens = capacity;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /**
+   * Tries to take the given number of tokens from the bucket.
+   *
+   * @param cost the number of tokens the request costs
+   * @return {@code 0} if the tokens were taken; otherwise the number of nanoseconds until enough
+   * tokens will be available
+   */
+  public synchronized long tryConsume(double cost) {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+    lastRefillNanos = now;
+    if (tokens >= cost) {
+      tokens -= cost;
+      return 0;
+    }
+    return (long) Math.ceil((cost - tokens) / refillPerNano);
+  }
+}
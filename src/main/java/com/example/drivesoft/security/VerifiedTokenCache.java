@@ -0,0 +1,119 @@
+package com.example.drivesoft.security;
+
+import com.example.drivesoft.cache.TokenCacheStatsDTO;
+import com.example.drivesoft.utils.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code VerifiedTokenCache} class remembers the claims of bearer tokens that have already been
+ * verified, so that repeated requests with the same token skip signature verification and parsing.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so the cache never holds the tokens themselves.
+ * Each entry expires at the expiration time of its token, and the cache holds at most
+ * {@code jwt.token-cache.max-size} entries. Tokens that fail verification are not cached. The cache is
+ * cleared when signing keys are removed, since it does not know which key verified an entry. Hit and
+ * miss counts are reported by {@link #getStatistics}.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * <li>{@code @EventListener} - Clears the cache when signing keys are removed.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class VerifiedTokenCache {
+
+  // Utility verifying tokens on a cache miss
+  private final JwtUtil jwtUtil;
+
+  // Verified claims by token digest
+  private final Cache<ByteBuffer, Claims> cache;
+
+  /**
+   * Constructs a {@code VerifiedTokenCache}.
+   *
+   * @param jwtUtil the utility verifying tokens on a cache miss
+   * @param maxSize the maximum number of cached tokens
+   */
+  public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${jwt.token-cache.max-size}") long maxSize) {
+    this.jwtUtil = jwtUtil;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<ByteBuffer, Claims>() {
+              @Override
+              public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+                long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+              }
+
+              @Override
+              public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+              }
+
+              @Override
+              public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+              }
+            })
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the claims of a token, verifying it only if it is not cached yet.
+   *
+   * @param token the JWT token
+   * @return the claims of the token
+   * @throws io.jsonwebtoken.JwtException if the token is not cached and fails verification
+   * @see JwtUtil#parseToken
+   */
+  public Claims verify(String token) {
+    return cache.get(digest(token), key -> jwtUtil.parseToken(token));
+  }
+
+  /**
+   * Drops every cached token, so that tokens signed by a removed key are verified again, and rejected.
+   *
+   * @param event the event naming the removed keys
+   */
+  @EventListener
+  public void onSigningKeysRemoved(SigningKeysRemovedEvent event) {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Returns the current statistics of the cache.
+   *
+   * @return the hit and miss counts, hit rate, evictions and size of the cache
+   */
+  public TokenCacheStatsDTO getStatistics() {
+    CacheStats stats = cache.stats();
+    return new TokenCacheStatsDTO(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+            cache.estimatedSize());
+  }
+
+  private static ByteBuffer digest(String token) {
+    try {
+      return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,486 @@
+package com.example.drivesoft.snapshot;
+
+import com.example.drivesoft.account.Account;
+import com.example.drivesoft.account.AccountStatus;
+import com.example.drivesoft.snapshot.exception.InvalidSnapshotException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The {@code AccountSnapshotCodec} class encodes accounts into a compact, checksummed, columnar binary
+ * snapshot and decodes them again.
+ * <p>
+ * Layout, with all integers written as unsigned LEB128 varints unless stated otherwise:
+ * </p>
+ * <ul>
+ * <li>Header: the magic bytes {@code DSNP}, a format version byte and the row count.</li>
+ * <li>One block per column, in a fixed order, holding the values of all rows:
+ * <ul>
+ * <li>Strings start with a mode byte. Dictionary mode (used when at most half the values, and at most
+ * {@value #MAX_DICTIONARY_SIZE} values, are distinct)
+ * writes the distinct values once and then one index per row; raw mode writes each value. Length and
+ * index {@code 0} mean {@code null}.</li>
+ * <li>Prices are written as a scale and a zig-zag encoded unscaled value, or as raw bytes when the
+ * unscaled value does not fit in a {@code long}.</li>
+ * <li>Dates are written as the zig-zag encoded difference in days to the previous non-null date, plus one;
+ * {@code 0} means {@code null}.</li>
+ * </ul>
+ * </li>
+ * <li>Trailer: the CRC-32C of all preceding bytes, as a big-endian 4-byte integer.</li>
+ * </ul>
+ * <p>
+ * Identifiers are not stored, since loading a snapshot assigns new ones.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class AccountSnapshotCodec {
+
+  // Magic bytes at the start of every snapshot
+  private static final byte[] MAGIC = "DSNP".getBytes(StandardCharsets.US_ASCII);
+
+  // Format version written by this codec
+  private static final int VERSION = 1;
+
+  // Length of the shortest possible snapshot: magic bytes, version byte and checksum
+  private static final int MIN_LENGTH = MAGIC.length + 1 + Integer.BYTES;
+
+  // Size of the buffers through which snapshot files are read
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  // Maximum number of distinct values of a string column written in dictionary mode
+  private static final int MAX_DICTIONARY_SIZE = 65536;
+
+  // String block modes
+  private static final int RAW = 0;
+  private static final int DICTIONARY = 1;
+
+  // Price value tags
+  private static final int NULL = 0;
+  private static final int COMPACT = 1;
+  private static final int BIG = 2;
+
+  // String columns, in block order after the price and date columns
+  private static final List<StringColumn> STRING_COLUMNS = List.of(
+          new StringColumn(Account::getAcctType, Account::setAcctType),
+          new StringColumn(Account::getSalesGroupPerson1ID, Account::setSalesGroupPerson1ID),
+          new StringColumn(Account::getCollateralStockNumber, Account::setCollateralStockNumber),
+          new StringColumn(Account::getCollateralYearModel, Account::setCollateralYearModel),
+          new StringColumn(Account::getCollateralMake, Account::setCollateralMake),
+          new StringColumn(Account::getCollateralModel, Account::setCollateralModel),
+          new StringColumn(Account::getBorrower1FirstName, Account::setBorrower1FirstName),
+          new StringColumn(Account::getBorrower1LastName, Account::setBorrower1LastName),
+          new StringColumn(Account::getAcctID, Account::setAcctID),
+          new StringColumn(account -> account.getStatus().name(),
+                  (account, status) -> account.setStatus(AccountStatus.valueOf(status)))
+  );
+
+  private AccountSnapshotCodec() {
+  }
+
+  /**
+   * Opens a writer that spools the accounts added to it into temporary files, one per column, so that
+   * the snapshot can be written from a single forward-only pass over the accounts without keeping them
+   * in memory.
+   *
+   * @return the writer; it must be closed to delete its temporary files
+   * @throws IOException if the temporary files cannot be created
+   */
+  public static Writer newWriter() throws IOException {
+    return new Writer();
+  }
+
+  /**
+   * Reads the accounts from a snapshot, after verifying its checksum.
+   *
+   * @param snapshot the complete snapshot
+   * @return the accounts, all without an identifier
+   * @throws InvalidSnapshotException if the snapshot is truncated, corrupted or of an unknown format
+   */
+  public static List<Account> read(byte[] snapshot) {
+    if (snapshot.length < MIN_LENGTH) {
+      throw new InvalidSnapshotException("Snapshot is truncated");
+    }
+    int bodyLength = snapshot.length - Integer.BYTES;
+    CRC32C crc = new CRC32C();
+    crc.update(snapshot, 0, bodyLength);
+    if ((int) crc.getValue() != ByteBuffer.wrap(snapshot, bodyLength, Integer.BYTES).getInt()) {
+      throw new InvalidSnapshotException("Snapshot checksum mismatch");
+    }
+    return decode(new DataInputStream(new ByteArrayInputStream(snapshot)));
+  }
+
+  /**
+   * Reads the accounts from a snapshot file, after verifying its checksum. The file is streamed twice,
+   * once to verify the checksum and once to decode it, so the snapshot itself is never held in memory.
+   *
+   * @param file the snapshot file
+   * @return the accounts, all without an identifier
+   * @throws InvalidSnapshotException if the snapshot is truncated, corrupted or of an unknown format
+   * @throws IOException              if the file cannot be read
+   */
+  public static List<Account> read(Path file) throws IOException {
+    long size = Files.size(file);
+    if (size < MIN_LENGTH) {
+      throw new InvalidSnapshotException("Snapshot is truncated");
+    }
+    CRC32C crc = new CRC32C();
+    byte[] checksum;
+    try (InputStream in = Files.newInputStream(file)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      for (long remaining = size - Integer.BYTES; remaining > 0; ) {
+        int read = in.readNBytes(buffer, 0, (int) Math.min(buffer.length, remaining));
+        if (read == 0) {
+          throw new EOFException("Snapshot file shrank while it was read");
+        }
+        crc.update(buffer, 0, read);
+        remaining -= read;
+      }
+      checksum = in.readNBytes(Integer.BYTES);
+    }
+    if (checksum.length != Integer.BYTES || (int) crc.getValue() != ByteBuffer.wrap(checksum).getInt()) {
+      throw new InvalidSnapshotException("Snapshot checksum mismatch");
+    }
+    try (DataInputStream data = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+      return decode(data);
+    }
+  }
+
+  /**
+   * Decodes the accounts of a snapshot whose checksum has been verified.
+   *
+   * @param data the complete snapshot, including its checksum
+   * @return the accounts, all without an identifier
+   * @throws InvalidSnapshotException if the snapshot is malformed or of an unknown format
+   */
+  private static List<Account> decode(DataInputStream data) {
+    try {
+      byte[] magic = data.readNBytes(MAGIC.length);
+      int version = data.readUnsignedByte();
+      if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+        throw new InvalidSnapshotException("Unsupported snapshot format");
+      }
+      int rows = Math.toIntExact(readVarLong(data));
+      List<Account> accounts = new ArrayList<>(rows);
+      for (int i = 0; i < rows; i++) {
+        Account account = new Account();
+        account.setContractSalesPrice(readPrice(data));
+        accounts.add(account);
+      }
+      long previousDay = 0;
+      for (Account account : accounts) {
+        long value = readVarLong(data);
+        if (value != 0) {
+          previousDay += unZigZag(value - 1);
+          account.setContractDate(LocalDate.ofEpochDay(previousDay));
+        }
+      }
+      for (StringColumn column : STRING_COLUMNS) {
+        List<String> values = readStrings(data, rows);
+        for (int i = 0; i < rows; i++) {
+          column.setter().accept(accounts.get(i), values.get(i));
+        }
+      }
+      data.skipNBytes(Integer.BYTES);
+      if (data.read() != -1) {
+        throw new InvalidSnapshotException("Unexpected data after the last column");
+      }
+      return accounts;
+    } catch (IOException | RuntimeException e) {
+      if (e instanceof InvalidSnapshotException invalid) {
+        throw invalid;
+      }
+      throw new InvalidSnapshotException("Snapshot is malformed: " + e.getMessage());
+    }
+  }
+
+  private static void writePrice(DataOutputStream data, BigDecimal price) throws IOException {
+    if (price == null) {
+      data.writeByte(NULL);
+      return;
+    }
+    BigInteger unscaled = price.unscaledValue();
+    if (unscaled.bitLength() < Long.SIZE) {
+      data.writeByte(COMPACT);
+      writeVarLong(data, zigZag(price.scale()));
+      writeVarLong(data, zigZag(unscaled.longValue()));
+    } else {
+      byte[] bytes = unscaled.toByteArray();
+      data.writeByte(BIG);
+      writeVarLong(data, zigZag(price.scale()));
+      writeVarLong(data, bytes.length);
+      data.write(bytes);
+    }
+  }
+
+  private static BigDecimal readPrice(DataInputStream data) throws IOException {
+    int tag = data.readUnsignedByte();
+    return switch (tag) {
+      case NULL -> null;
+      case COMPACT -> {
+        int scale = Math.toIntExact(unZigZag(readVarLong(data)));
+        yield BigDecimal.valueOf(unZigZag(readVarLong(data)), scale);
+      }
+      case BIG -> {
+        int scale = Math.toIntExact(unZigZag(readVarLong(data)));
+        yield new BigDecimal(new BigInteger(readBytes(data)), scale);
+      }
+      default -> throw new InvalidSnapshotException("Unknown price tag " + tag);
+    };
+  }
+
+  private static List<String> readStrings(DataInputStream data, int rows) throws IOException {
+    int mode = data.readUnsignedByte();
+    List<String> values = new ArrayList<>(rows);
+    if (mode == DICTIONARY) {
+      int size = Math.toIntExact(readVarLong(data));
+      Map<Integer, String> dictionary = new HashMap<>();
+      for (int i = 1; i <= size; i++) {
+        dictionary.put(i, readString(data));
+      }
+      for (int i = 0; i < rows; i++) {
+        int index = Math.toIntExact(readVarLong(data));
+        if (index > size) {
+          throw new InvalidSnapshotException("Dictionary index out of range");
+        }
+        values.add(index == 0 ? null : dictionary.get(index));
+      }
+    } else if (mode == RAW) {
+      for (int i = 0; i < rows; i++) {
+        values.add(readString(data));
+      }
+    } else {
+      throw new InvalidSnapshotException("Unknown string block mode " + mode);
+    }
+    return values;
+  }
+
+  private static void writeString(DataOutputStream data, String value) throws IOException {
+    if (value == null) {
+      writeVarLong(data, 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(data, bytes.length + 1L);
+    data.write(bytes);
+  }
+
+  private static String readString(DataInputStream data) throws IOException {
+    long length = readVarLong(data);
+    if (length == 0) {
+      return null;
+    }
+    byte[] bytes = new byte[Math.toIntExact(length - 1)];
+    data.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static byte[] readBytes(DataInputStream data) throws IOException {
+    byte[] bytes = new byte[Math.toIntExact(readVarLong(data))];
+    data.readFully(bytes);
+    return bytes;
+  }
+
+  private static void writeVarLong(DataOutputStream data, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      data.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    data.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream data) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      int b = data.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new InvalidSnapshotException("Varint is too long");
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Builds a snapshot from accounts added one at a time.
+   * <p>
+   * Each column is written to a temporary file as its accounts are added: prices and dates in their final
+   * encoding, and strings both raw and as dictionary indexes, while the dictionary of the column stays
+   * within {@value #MAX_DICTIONARY_SIZE} values. {@link #finish} then writes the header and copies the
+   * column files in block order, choosing each string block's mode, and appends the checksum.
+   * </p>
+   */
+  public static final class Writer implements Closeable {
+
+    // Directory holding the column files
+    private final Path directory;
+
+    private final DataOutputStream prices;
+    private final DataOutputStream dates;
+    private final List<StringSpool> strings = new ArrayList<>();
+
+    private long rows;
+    private long previousDay;
+
+    private Writer() throws IOException {
+      directory = Files.createTempDirectory("snapshot");
+      prices = spool(directory.resolve("prices"));
+      dates = spool(directory.resolve("dates"));
+      for (int i = 0; i < STRING_COLUMNS.size(); i++) {
+        strings.add(new StringSpool(spool(directory.resolve("raw-" + i)), spool(directory.resolve("dictionary-" + i))));
+      }
+    }
+
+    /**
+     * Adds the next account to the snapshot.
+     *
+     * @param account the account to add; it is not kept
+     * @throws IOException if a column file cannot be written
+     */
+    public void add(Account account) throws IOException {
+      writePrice(prices, account.getContractSalesPrice());
+      LocalDate date = account.getContractDate();
+      if (date == null) {
+        writeVarLong(dates, 0);
+      } else {
+        writeVarLong(dates, zigZag(date.toEpochDay() - previousDay) + 1);
+        previousDay = date.toEpochDay();
+      }
+      for (int i = 0; i < STRING_COLUMNS.size(); i++) {
+        strings.get(i).add(STRING_COLUMNS.get(i).getter().apply(account));
+      }
+      rows++;
+    }
+
+    /**
+     * Writes the snapshot of the added accounts.
+     *
+     * @param out the stream to write to; it is not closed
+     * @return the number of accounts written
+     * @throws IOException if writing fails
+     */
+    public long finish(OutputStream out) throws IOException {
+      prices.close();
+      dates.close();
+      CRC32C crc = new CRC32C();
+      DataOutputStream data = new DataOutputStream(new CheckedOutputStream(out, crc));
+      data.write(MAGIC);
+      data.writeByte(VERSION);
+      writeVarLong(data, rows);
+      Files.copy(directory.resolve("prices"), data);
+      Files.copy(directory.resolve("dates"), data);
+      for (int i = 0; i < strings.size(); i++) {
+        StringSpool spool = strings.get(i);
+        spool.raw.close();
+        if (spool.dictionary != null && spool.dictionary.size() <= rows / 2) {
+          spool.indexes.close();
+          data.writeByte(DICTIONARY);
+          writeVarLong(data, spool.dictionary.size());
+          for (String value : spool.dictionary.keySet()) {
+            writeString(data, value);
+          }
+          Files.copy(directory.resolve("dictionary-" + i), data);
+        } else {
+          data.writeByte(RAW);
+          Files.copy(directory.resolve("raw-" + i), data);
+        }
+      }
+      data.flush();
+      out.write(ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).array());
+      return rows;
+    }
+
+    /**
+     * Deletes the column files.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+      prices.close();
+      dates.close();
+      for (StringSpool spool : strings) {
+        spool.raw.close();
+        spool.indexes.close();
+      }
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : files.toList()) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(directory);
+    }
+
+    private static DataOutputStream spool(Path file) throws IOException {
+      return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    }
+  }
+
+  // Column file pair of a string column, with its dictionary while it stays small enough
+  private static final class StringSpool {
+
+    private final DataOutputStream raw;
+    private final DataOutputStream indexes;
+    private Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+    private StringSpool(DataOutputStream raw, DataOutputStream indexes) {
+      this.raw = raw;
+      this.indexes = indexes;
+    }
+
+    private void add(String value) throws IOException {
+      writeString(raw, value);
+      if (dictionary == null) {
+        return;
+      }
+      if (value != null && !dictionary.containsKey(value)) {
+        if (dictionary.size() == MAX_DICTIONARY_SIZE) {
+          // Too many distinct values; the raw file is used
+          dictionary = null;
+          indexes.close();
+          return;
+        }
+        dictionary.put(value, dictionary.size() + 1);
+      }
+      writeVarLong(indexes, value == null ? 0 : dictionary.get(value));
+    }
+  }
+
+  private record StringColumn(Function<Account, String> getter, BiConsumer<Account, String> setter) {
+  }
+}
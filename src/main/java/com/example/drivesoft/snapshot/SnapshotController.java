@@ -0,0 +1,63 @@
+package com.example.drivesoft.snapshot;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+/**
+ * SnapshotController is a REST controller that exports and imports binary snapshots of the account table.
+ * It is restricted to the users listed in {@code admin.usernames}.
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/admin/snapshot")
+public class SnapshotController {
+
+  // Service writing and loading snapshots.
+  private final SnapshotService snapshotService;
+
+  /**
+   * Constructs a SnapshotController with the specified SnapshotService.
+   *
+   * @param snapshotService the service writing and loading snapshots
+   */
+  public SnapshotController(SnapshotService snapshotService) {
+    this.snapshotService = snapshotService;
+  }
+
+  /**
+   * Handles GET requests for a snapshot of all accounts. The snapshot is streamed to the response as it
+   * is written.
+   *
+   * @return a ResponseEntity streaming the snapshot as an attachment, and an HTTP status code
+   */
+  @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportSnapshot() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentDisposition(ContentDisposition.attachment().filename("accounts.dsnp").build());
+    return new ResponseEntity<>(snapshotService::exportSnapshot, headers, HttpStatus.OK);
+  }
+
+  /**
+   * Handles POST requests importing a snapshot into the empty account table. The request body is read
+   * as a stream and spooled to a temporary file, so large snapshots are not buffered in memory.
+   *
+   * @param snapshot the stream of the raw request body
+   * @return a ResponseEntity containing the number of imported accounts and an HTTP status code
+   */
+  @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<SnapshotImportResponseDTO> importSnapshot(InputStream snapshot) {
+    return new ResponseEntity<>(new SnapshotImportResponseDTO(snapshotService.importSnapshot(snapshot)),
+            HttpStatus.OK);
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.drivesoft.snapshot;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code SnapshotImportResponseDTO} class carries the result of a snapshot import.
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @JsonProperty} - Maps Java fields to JSON properties for serialization.</li>
+ * <li>Lombok annotations such as {@code @Data}, {@code @AllArgsConstructor}, and {@code @NoArgsConstructor} are used
+ * to reduce boilerplate code.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SnapshotImportResponseDTO {
+
+  /**
+   * The number of accounts loaded from the snapshot.
+   */
+  @JsonProperty("imported_accounts")
+  private int importedAccounts;
+}
@@ -0,0 +1,161 @@
+package com.example.drivesoft.snapshot;
+
+import com.example.drivesoft.account.Account;
+import com.example.drivesoft.account.AccountStatus;
+import com.example.drivesoft.sync.SyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@code SnapshotService} class exports the {@code account} table as a binary snapshot and imports
+ * such snapshots into an empty table.
+ * <p>
+ * A new node imports a recent snapshot before its first sync, so that it can serve requests within
+ * seconds while the sync merges the changes made in IDMS since the snapshot was taken. The snapshot
+ * format is described in {@link AccountSnapshotCodec}.
+ * </p>
+ * <p>
+ * Exports stream the table with a forward-only cursor into the codec's column files, and the snapshot
+ * is written from these files straight to the response, so an export holds neither the accounts nor
+ * the snapshot in memory. Imports spool the uploaded snapshot to a temporary file and decode it from
+ * there, so the upload is not held in memory either; only the decoded accounts are.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Service} - Marks this class as a Spring service component.</li>
+ * <li>{@code @Transactional} - Reads the exported accounts in a read-only transaction.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code exportSnapshot} - Streams all accounts, active and inactive, into a snapshot.</li>
+ * <li>{@code importSnapshot} - Spools an uploaded snapshot to a temporary file and imports it.</li>
+ * <li>{@code importSnapshotFile} - Verifies a snapshot file and bulk loads its accounts.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Service
+public class SnapshotService {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(SnapshotService.class);
+
+  // Columns of an exported account, in the order read by the export
+  private static final String SELECT_ALL = "SELECT contract_sales_price, acct_type, sales_group_person1_id, " +
+          "contract_date, collateral_stock_number, collateral_year_model, collateral_make, collateral_model, " +
+          "borrower1_first_name, borrower1_last_name, acct_id, status FROM account ORDER BY id";
+
+  // Template streaming the exported accounts row by row; MySQL streams result sets with this fetch size
+  private final JdbcTemplate jdbcTemplate;
+
+  // Service loading the imported accounts, guarded against concurrent syncs.
+  private final SyncService syncService;
+
+  /**
+   * Constructs a {@code SnapshotService} with the required dependencies.
+   *
+   * @param jdbcTemplate the template reading the exported accounts
+   * @param syncService  the service loading the imported accounts
+   */
+  public SnapshotService(JdbcTemplate jdbcTemplate, SyncService syncService) {
+    this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    this.syncService = syncService;
+  }
+
+  /**
+   * Writes all accounts, in identifier order, to a snapshot. The accounts are read in one pass over a
+   * streaming result set and spooled to temporary files, which are deleted once the snapshot is written.
+   *
+   * @param out the stream receiving the snapshot; it is not closed
+   * @throws IOException if writing the snapshot fails
+   */
+  @Transactional(readOnly = true)
+  public void exportSnapshot(OutputStream out) throws IOException {
+    try (AccountSnapshotCodec.Writer writer = AccountSnapshotCodec.newWriter()) {
+      jdbcTemplate.query(SELECT_ALL, rs -> {
+        Account account = new Account();
+        account.setContractSalesPrice(rs.getBigDecimal("contract_sales_price"));
+        account.setAcctType(rs.getString("acct_type"));
+        account.setSalesGroupPerson1ID(rs.getString("sales_group_person1_id"));
+        account.setContractDate(rs.getObject("contract_date", LocalDate.class));
+        account.setCollateralStockNumber(rs.getString("collateral_stock_number"));
+        account.setCollateralYearModel(rs.getString("collateral_year_model"));
+        account.setCollateralMake(rs.getString("collateral_make"));
+        account.setCollateralModel(rs.getString("collateral_model"));
+        account.setBorrower1FirstName(rs.getString("borrower1_first_name"));
+        account.setBorrower1LastName(rs.getString("borrower1_last_name"));
+        account.setAcctID(rs.getString("acct_id"));
+        account.setStatus(AccountStatus.valueOf(rs.getString("status")));
+        try {
+          writer.add(account);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      long exported = writer.finish(out);
+      logger.info("Exported a snapshot of {} accounts.", exported);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Imports an uploaded snapshot. The snapshot is copied to a temporary file as it is received, which is
+   * deleted once the snapshot has been imported or rejected.
+   *
+   * @param snapshot the stream delivering the snapshot; it is not closed
+   * @return the number of imported accounts
+   * @throws UncheckedIOException if the snapshot cannot be received or spooled
+   * @see #importSnapshotFile(Path)
+   */
+  public int importSnapshot(InputStream snapshot) {
+    try {
+      Path file = Files.createTempFile("snapshot-", ".dsnp");
+      try {
+        Files.copy(snapshot, file, StandardCopyOption.REPLACE_EXISTING);
+        return importSnapshotFile(file);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Verifies the snapshot stored in a file and loads its accounts into the empty {@code account} table.
+   *
+   * @param file the snapshot file
+   * @return the number of imported accounts
+   * @throws com.example.drivesoft.snapshot.exception.InvalidSnapshotException if the snapshot is invalid
+   * @throws com.example.drivesoft.snapshot.exception.SnapshotImportException  if the table is not empty or a
+   *                                                                           sync is in progress
+   * @throws UncheckedIOException                                              if the file cannot be read
+   */
+  public int importSnapshotFile(Path file) {
+    List<Account> accounts;
+    try {
+      accounts = AccountSnapshotCodec.read(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    syncService.loadSnapshot(accounts);
+    return accounts.size();
+  }
+}
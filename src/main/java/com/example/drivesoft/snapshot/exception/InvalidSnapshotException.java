@@ -0,0 +1,19 @@
+package com.example.drivesoft.snapshot.exception;
+
+/**
+ * The {@code InvalidSnapshotException} class represents an exception that is thrown when an account
+ * snapshot is truncated, fails its checksum or has an unknown format.
+ *
+ * @since 1.0
+ */
+public class InvalidSnapshotException extends RuntimeException {
+
+  /**
+   * Constructs a new {@code InvalidSnapshotException} with the specified detail message.
+   *
+   * @param message the detail message
+   */
+  public InvalidSnapshotException(String message) {
+    super(message);
+  }
+}
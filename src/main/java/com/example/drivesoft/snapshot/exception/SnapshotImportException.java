@@ -0,0 +1,20 @@
+package com.example.drivesoft.snapshot.exception;
+
+/**
+ * The {@code SnapshotImportException} class represents an exception that is thrown when an account
+ * snapshot cannot be imported in the current state, because accounts are already stored or a sync is
+ * in progress.
+ *
+ * @since 1.0
+ */
+public class SnapshotImportException extends RuntimeException {
+
+  /**
+   * Constructs a new {@code SnapshotImportException} with the specified detail message.
+   *
+   * @param message the detail message
+   */
+  public SnapshotImportException(String message) {
+    super(message);
+  }
+}
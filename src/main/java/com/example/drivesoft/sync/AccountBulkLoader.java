@@ -0,0 +1,344 @@
+package com.example.drivesoft.sync;
+
+import com.example.drivesoft.account.Account;
+import com.example.drivesoft.account.AccountGenerationChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code AccountBulkLoader} class loads accounts into an empty {@code account} table with large
+ * multi-row {@code INSERT} statements, bypassing JPA.
+ * <p>
+ * It is used by {@link SyncService} for the first sync of a new environment, to import account
+ * snapshots and to fill the shadow table of a full refresh. Secondary indexes are
+ * dropped before the load and rebuilt afterwards, so that InnoDB builds them once from sorted data
+ * instead of maintaining them row by row. The unique key on {@code acct_id} is kept to protect integrity.
+ * The empty-table check and the index DDL must run while holding the {@link AccountSyncLock}, so that
+ * two nodes cannot both find the table empty and load it, or rebuild indexes under each other's load.
+ * Identifiers are reserved from the {@code id_generator} table so that later JPA inserts continue
+ * after the loaded rows.
+ * </p>
+ * <p>
+ * For a full refresh, the next generation of the table is written into {@code account_shadow}, created
+ * with the same definition as {@code account}, and then swapped in with a single {@code RENAME TABLE},
+ * which MySQL performs atomically. The accounts that the new generation inserts, changes or deactivates
+ * are found in SQL by comparing the shadow table with {@code account}, so the stored accounts are never
+ * loaded into memory.
+ * </p>
+ * <p>
+ * Hibernate's second-level and query caches are local to each node, so the {@link Account} region and
+ * the query regions are also evicted whenever the generation of the account data changes. This covers
+ * rows written with JDBC on this node as well as any change committed by another node, which would
+ * otherwise be served stale until the cached entries expire.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * <li>{@code @EventListener} - Evicts the account caches when the generation of the account data changed.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class AccountBulkLoader {
+
+  // Columns written for each account, in the order of the insert parameters
+  private static final String COLUMNS = "id, contract_sales_price, acct_type, sales_group_person1_id, contract_date, " +
+          "collateral_stock_number, collateral_year_model, collateral_make, collateral_model, " +
+          "borrower1_first_name, borrower1_last_name, acct_id, status";
+
+  private static final int COLUMN_COUNT = 13;
+
+  // Table filled by a full refresh before it replaces the account table
+  private static final String SHADOW_TABLE = "account_shadow";
+
+  // Name of the replaced generation between the swap and its drop
+  private static final String RETIRED_TABLE = "account_retired";
+
+  // Content columns compared between the shadow table and the account table
+  private static final String CONTENT_COLUMNS = "contract_sales_price, acct_type, sales_group_person1_id, " +
+          "contract_date, collateral_stock_number, collateral_year_model, collateral_make, collateral_model, " +
+          "borrower1_first_name, borrower1_last_name";
+
+  private static final String SELECT_CHANGED_IN_SHADOW = "SELECT s.acct_id FROM " + SHADOW_TABLE + " s " +
+          "LEFT JOIN account a ON a.acct_id = s.acct_id " +
+          "WHERE a.acct_id IS NULL OR a.status <> s.status OR NOT (" + Arrays.stream(CONTENT_COLUMNS.split(", "))
+          .map(column -> "a." + column + " <=> s." + column)
+          .collect(Collectors.joining(" AND ")) + ")";
+
+  private static final String MISSING_FROM_SHADOW = "FROM account a WHERE NOT EXISTS " +
+          "(SELECT 1 FROM " + SHADOW_TABLE + " s WHERE s.acct_id = a.acct_id)";
+
+  private static final String SELECT_ACTIVE_MISSING_FROM_SHADOW =
+          "SELECT a.acct_id " + MISSING_FROM_SHADOW + " AND a.status = 'ACTIVE'";
+
+  private static final String COPY_MISSING_INTO_SHADOW = "INSERT INTO " + SHADOW_TABLE + " (" + COLUMNS + ") " +
+          "SELECT a.id, " + Arrays.stream(CONTENT_COLUMNS.split(", ")).map(column -> "a." + column)
+          .collect(Collectors.joining(", ")) + ", a.acct_id, 'INACTIVE' " + MISSING_FROM_SHADOW;
+
+  // Secondary indexes rebuilt after a bulk load, with their columns
+  private static final Map<String, String> SECONDARY_INDEXES = Map.of(
+          "idx_account_status", "status",
+          "idx_account_contract_date", "contract_date"
+  );
+
+  // Block size of the account id generator, see Account#id
+  private static final int ID_ALLOCATION_SIZE = 50;
+
+  // Template bound to the application's data source, joining the current transaction
+  private final JdbcTemplate jdbcTemplate;
+
+  // Session factory whose caches are cleared after a load
+  private final SessionFactory sessionFactory;
+
+  // Generation of the account data the caches were last evicted for; -1 until the first event
+  private long evictedGeneration = -1;
+
+  @Value("${sync.bulk-load.enabled}")
+  private boolean enabled;
+
+  @Value("${sync.bulk-load.rows-per-statement}")
+  private int rowsPerStatement;
+
+  /**
+   * Constructs an {@code AccountBulkLoader}.
+   *
+   * @param jdbcTemplate         the template used to write the accounts
+   * @param entityManagerFactory the entity manager factory whose caches are cleared after a load
+   */
+  public AccountBulkLoader(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+  }
+
+  /**
+   * Checks whether accounts should be bulk loaded, which is the case when bulk loading is enabled and
+   * the {@code account} table is empty.
+   *
+   * @return {@code true} if the next sync should use {@link #insertAll}
+   */
+  public boolean isApplicable() {
+    return enabled && isTableEmpty();
+  }
+
+  /**
+   * Checks whether the {@code account} table holds no rows, including inactive accounts.
+   *
+   * @return {@code true} if the table is empty
+   */
+  public boolean isTableEmpty() {
+    return Boolean.FALSE.equals(
+            jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM account)", Boolean.class));
+  }
+
+  /**
+   * Drops the secondary indexes of the {@code account} table that exist. Runs outside of a transaction,
+   * since MySQL commits implicitly around DDL.
+   */
+  public void dropSecondaryIndexes() {
+    Set<String> existing = existingIndexes();
+    String drops = SECONDARY_INDEXES.keySet().stream()
+            .filter(existing::contains)
+            .map(index -> "DROP INDEX " + index)
+            .collect(Collectors.joining(", "));
+    if (!drops.isEmpty()) {
+      jdbcTemplate.execute("ALTER TABLE account " + drops);
+    }
+  }
+
+  /**
+   * Creates the secondary indexes of the {@code account} table that are missing. Runs outside of a
+   * transaction, since MySQL commits implicitly around DDL.
+   */
+  public void rebuildSecondaryIndexes() {
+    Set<String> existing = existingIndexes();
+    String adds = SECONDARY_INDEXES.entrySet().stream()
+            .filter(index -> !existing.contains(index.getKey()))
+            .map(index -> "ADD INDEX " + index.getKey() + " (" + index.getValue() + ")")
+            .collect(Collectors.joining(", "));
+    if (!adds.isEmpty()) {
+      jdbcTemplate.execute("ALTER TABLE account " + adds);
+    }
+  }
+
+  /**
+   * Inserts the accounts with multi-row {@code INSERT} statements of up to
+   * {@code sync.bulk-load.rows-per-statement} rows, assigning them identifiers reserved from the
+   * {@code id_generator} table. Must run in a transaction.
+   *
+   * @param accounts the new accounts; their identifiers are set
+   */
+  public void insertAll(List<Account> accounts) {
+    insertInto("account", accounts);
+  }
+
+  /**
+   * Creates an empty {@code account_shadow} table with the definition of {@code account}, dropping a
+   * shadow table left behind by a failed refresh. Runs outside of a transaction, since MySQL commits
+   * implicitly around DDL.
+   */
+  public void createShadowTable() {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+    jdbcTemplate.execute("CREATE TABLE " + SHADOW_TABLE + " LIKE account");
+  }
+
+  /**
+   * Inserts the next generation of accounts into {@code account_shadow}. Accounts without an identifier
+   * are assigned one reserved from the {@code id_generator} table; the others keep theirs. Must run in a
+   * transaction.
+   *
+   * @param accounts the accounts of the next generation
+   */
+  public void insertAllIntoShadowTable(List<Account> accounts) {
+    insertInto(SHADOW_TABLE, accounts);
+  }
+
+  /**
+   * Reads the identifier of every stored account, active or not, selecting only the {@code acct_id} and
+   * {@code id} columns.
+   *
+   * @return the identifiers keyed by acctID
+   */
+  public Map<String, Long> findIdsByAcctID() {
+    Map<String, Long> ids = new HashMap<>();
+    jdbcTemplate.query("SELECT acct_id, id FROM account",
+            (RowCallbackHandler) rs -> ids.put(rs.getString(1), rs.getLong(2)));
+    return ids;
+  }
+
+  /**
+   * Lists the acctIDs of the accounts in {@code account_shadow} that are new, or whose status or content
+   * differs from their row in {@code account}. Must run in the transaction that filled the shadow table.
+   *
+   * @return the acctIDs of the inserted, changed or reactivated accounts
+   */
+  public List<String> findChangedAcctIDsInShadowTable() {
+    return jdbcTemplate.queryForList(SELECT_CHANGED_IN_SHADOW, String.class);
+  }
+
+  /**
+   * Copies the stored accounts missing from {@code account_shadow} into it as inactive accounts, keeping
+   * their identifier and content. Must run in the transaction that filled the shadow table.
+   *
+   * @return the acctIDs of the copied accounts that were active, and are thereby deactivated
+   */
+  public List<String> copyMissingIntoShadowTable() {
+    List<String> deactivated = jdbcTemplate.queryForList(SELECT_ACTIVE_MISSING_FROM_SHADOW, String.class);
+    jdbcTemplate.update(COPY_MISSING_INTO_SHADOW);
+    return deactivated;
+  }
+
+  /**
+   * Atomically replaces {@code account} with {@code account_shadow} and drops the previous generation.
+   * Runs outside of a transaction, since MySQL commits implicitly around DDL.
+   */
+  public void swapShadowTable() {
+    jdbcTemplate.execute("RENAME TABLE account TO " + RETIRED_TABLE + ", " + SHADOW_TABLE + " TO account");
+    jdbcTemplate.execute("DROP TABLE " + RETIRED_TABLE);
+  }
+
+  /**
+   * Drops {@code account_shadow} if it exists, after a failed refresh.
+   */
+  public void dropShadowTable() {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+  }
+
+  private void insertInto(String table, List<Account> accounts) {
+    List<Account> withoutId = accounts.stream().filter(account -> account.getId() == null).toList();
+    if (!withoutId.isEmpty()) {
+      long nextId = reserveIds(withoutId.size());
+      for (Account account : withoutId) {
+        account.setId(nextId++);
+      }
+    }
+    for (int from = 0; from < accounts.size(); from += rowsPerStatement) {
+      List<Account> rows = accounts.subList(from, Math.min(from + rowsPerStatement, accounts.size()));
+      String values = String.join(", ", Collections.nCopies(rows.size(),
+              "(" + String.join(", ", Collections.nCopies(COLUMN_COUNT, "?")) + ")"));
+      jdbcTemplate.update("INSERT INTO " + table + " (" + COLUMNS + ") VALUES " + values, ps -> {
+        int index = 1;
+        for (Account account : rows) {
+          index = bind(ps, index, account);
+        }
+      });
+    }
+  }
+
+  /**
+   * Evicts accounts and cached query results from Hibernate's caches, which do not see rows written
+   * with JDBC. Call after the load has committed.
+   */
+  public void evictCaches() {
+    sessionFactory.getCache().evictEntityData(Account.class);
+    sessionFactory.getCache().evictQueryRegions();
+  }
+
+  /**
+   * Evicts accounts and cached query results once for each generation of the account data, so that no
+   * node keeps serving accounts changed by another node. Only the first event of a generation evicts.
+   *
+   * @param event the event carrying the new generation
+   */
+  @EventListener
+  public synchronized void onGenerationChanged(AccountGenerationChangedEvent event) {
+    if (event.generation() != evictedGeneration) {
+      evictCaches();
+      evictedGeneration = event.generation();
+    }
+  }
+
+  private long reserveIds(int count) {
+    List<Long> current = jdbcTemplate.queryForList(
+            "SELECT next_val FROM id_generator WHERE sequence_name = 'account' FOR UPDATE", Long.class);
+    long last = current.isEmpty() || current.get(0) == null ? 0 : current.get(0);
+    // Hibernate hands out the block (next_val - 49 .. next_val), so leave a full block after the loaded rows
+    long nextVal = last + count + ID_ALLOCATION_SIZE;
+    if (current.isEmpty()) {
+      jdbcTemplate.update("INSERT INTO id_generator (sequence_name, next_val) VALUES ('account', ?)", nextVal);
+    } else {
+      jdbcTemplate.update("UPDATE id_generator SET next_val = ? WHERE sequence_name = 'account'", nextVal);
+    }
+    return last + 1;
+  }
+
+  private static int bind(PreparedStatement ps, int index, Account account) throws SQLException {
+    ps.setLong(index++, account.getId());
+    ps.setBigDecimal(index++, account.getContractSalesPrice());
+    ps.setString(index++, account.getAcctType());
+    ps.setString(index++, account.getSalesGroupPerson1ID());
+    ps.setObject(index++, account.getContractDate(), Types.DATE);
+    ps.setString(index++, account.getCollateralStockNumber());
+    ps.setString(index++, account.getCollateralYearModel());
+    ps.setString(index++, account.getCollateralMake());
+    ps.setString(index++, account.getCollateralModel());
+    ps.setString(index++, account.getBorrower1FirstName());
+    ps.setString(index++, account.getBorrower1LastName());
+    ps.setString(index++, account.getAcctID());
+    ps.setString(index++, account.getStatus().name());
+    return index;
+  }
+
+  private Set<String> existingIndexes() {
+    return Set.copyOf(jdbcTemplate.queryForList(
+            "SELECT DISTINCT index_name FROM information_schema.statistics " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'account'", String.class));
+  }
+}
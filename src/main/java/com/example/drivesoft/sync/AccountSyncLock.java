@@ -0,0 +1,101 @@
+package com.example.drivesoft.sync;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@code AccountSyncLock} class serializes the tasks writing the {@code account} table across all
+ * nodes sharing the database: the sync, the bulk load of an empty table, snapshot imports and the archive
+ * job.
+ * <p>
+ * It holds the MySQL named lock {@value #LOCK_NAME}, taken with {@code GET_LOCK} on a connection of the
+ * sync pool that is kept for the whole task. MySQL releases a named lock when its session ends, so a node
+ * that dies while holding it does not block the others. A connection whose lock could not be released is
+ * evicted from the pool, which closes its session and releases the lock.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code runLocked} - Runs a task while holding the lock, unless another node holds it.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class AccountSyncLock {
+
+  // Logger for logging messages
+  private static final Logger logger = LoggerFactory.getLogger(AccountSyncLock.class);
+
+  // Name of the MySQL named lock
+  private static final String LOCK_NAME = "account_sync";
+
+  // Pool of the sync pipeline; the lock is held on one of its connections
+  private final HikariDataSource syncDataSource;
+
+  /**
+   * Constructs an {@code AccountSyncLock}.
+   *
+   * @param syncDataSource the connection pool of the sync pipeline
+   */
+  public AccountSyncLock(@Qualifier("syncDataSource") HikariDataSource syncDataSource) {
+    this.syncDataSource = syncDataSource;
+  }
+
+  /**
+   * Runs a task while holding the named lock. The lock is not waited for: if another session holds it,
+   * the task is skipped.
+   *
+   * @param task the task to run
+   * @return {@code true} if the task ran, {@code false} if another node holds the lock
+   * @throws DataAccessResourceFailureException if the lock cannot be requested
+   */
+  public boolean runLocked(Runnable task) {
+    try (Connection connection = syncDataSource.getConnection()) {
+      if (!acquire(connection)) {
+        return false;
+      }
+      try {
+        task.run();
+        return true;
+      } finally {
+        release(connection);
+      }
+    } catch (SQLException e) {
+      throw new DataAccessResourceFailureException("Failed to request the " + LOCK_NAME + " lock", e);
+    }
+  }
+
+  private static boolean acquire(Connection connection) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+      statement.setString(1, LOCK_NAME);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next() && resultSet.getInt(1) == 1;
+      }
+    }
+  }
+
+  private void release(Connection connection) {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+      statement.setString(1, LOCK_NAME);
+      statement.executeQuery().close();
+    } catch (SQLException e) {
+      logger.warn("Failed to release the {} lock, closing its connection: {}", LOCK_NAME, e.getMessage());
+      syncDataSource.evictConnection(connection);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.drivesoft.sync;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * The {@code JdbcBatchCounter} class counts the JDBC work done by a single Hibernate session.
+ * <p>
+ * It is registered on the session of a sync so that the number of JDBC batches and of statements
+ * executed on their own can be logged, which shows whether inserts and updates are really batched.
+ * </p>
+ *
+ * @since 1.0
+ */
+class JdbcBatchCounter extends BaseSessionEventListener {
+
+  // Number of JDBC batches executed
+  private int batches;
+
+  // Number of statements executed outside of a batch
+  private int statements;
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    batches++;
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    statements++;
+  }
+
+  /**
+   * Returns the number of JDBC batches executed.
+   *
+   * @return the batch count
+   */
+  int getBatches() {
+    return batches;
+  }
+
+  /**
+   * Returns the number of statements executed outside of a batch, such as queries.
+   *
+   * @return the statement count
+   */
+  int getStatements() {
+    return statements;
+  }
+}
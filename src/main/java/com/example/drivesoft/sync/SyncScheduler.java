@@ -1,30 +1,35 @@
 package com.example.drivesoft.sync;
 
-import jakarta.annotation.PostConstruct;
+import com.example.drivesoft.snapshot.SnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+
 /**
  * The {@code SyncScheduler} class is responsible for scheduling and executing synchronization tasks.
  * It ensures that the synchronization process runs both on application startup and at regular intervals.
  * <p>
  * The synchronization task fetches and processes account data from the IDMS system, ensuring the data is up-to-date.
+ * When {@code snapshot.bootstrap-file} is set and no accounts are stored yet, the snapshot in that file is
+ * imported before the initial sync, so that a new node serves requests while the sync catches up.
  * </p>
  *
  * <p>Annotations:</p>
  * <ul>
  * <li>{@code @Component} - Marks this class as a Spring component, allowing it to be registered as a bean in the application context.</li>
- * <li>{@code @PostConstruct} - Ensures that the {@code runOnStartupAsync} method is executed once the bean is fully initialized.</li>
- * <li>{@code @Async} - Marks the {@code runOnStartupAsync} method to be executed asynchronously.</li>
+ * <li>{@code @EventListener} - Runs the {@code runOnStartup} method once the application is ready to serve requests.</li>
  * <li>{@code @Scheduled} - Marks the {@code runSyncTask} method to be executed periodically at a fixed rate (every 15 minutes in this case).</li>
  * </ul>
  *
  * <p>Key Methods:</p>
  * <ul>
- * <li>{@code runOnStartupAsync} - Runs the initial synchronization task asynchronously when the application starts.</li>
+ * <li>{@code runOnStartup} - Imports the bootstrap snapshot, if any, and submits the initial synchronization task when the application starts.</li>
  * <li>{@code runSyncTask} - Schedules the synchronization task to run every 15 minutes.</li>
  * </ul>
  *
@@ -39,27 +44,59 @@ public class SyncScheduler {
   // Service to handle synchronization tasks
   private final SyncService syncService;
 
+  // Service importing the bootstrap snapshot
+  private final SnapshotService snapshotService;
+
+  // Loader telling whether accounts are already stored
+  private final AccountBulkLoader accountBulkLoader;
+
+  // Snapshot imported into an empty table on startup; empty to disable
+  @Value("${snapshot.bootstrap-file}")
+  private String bootstrapFile;
+
   /**
-   * Constructs a {@code SyncScheduler} with the required {@code SyncService} dependency.
+   * Constructs a {@code SyncScheduler} with the required dependencies.
    *
-   * @param syncService the service for performing the synchronization
+   * @param syncService       the service for performing the synchronization
+   * @param snapshotService   the service importing the bootstrap snapshot
+   * @param accountBulkLoader the loader telling whether accounts are already stored
    */
-  public SyncScheduler(SyncService syncService) {
+  public SyncScheduler(SyncService syncService, SnapshotService snapshotService,
+                       AccountBulkLoader accountBulkLoader) {
     this.syncService = syncService;
+    this.snapshotService = snapshotService;
+    this.accountBulkLoader = accountBulkLoader;
   }
 
   /**
-   * Runs the initial synchronization task asynchronously when the application starts.
-   * This method is invoked once after the Spring bean is fully initialized.
+   * Runs the initial synchronization task when the application starts.
+   * This method is invoked once the application is ready, so that the bootstrap snapshot import does
+   * not delay startup; the sync itself runs on the sync executor.
    *
    * @see SyncService#sync()
    */
-  @PostConstruct
-  @Async
-  public void runOnStartupAsync() {
+  @EventListener(ApplicationReadyEvent.class)
+  public void runOnStartup() {
+    importBootstrapSnapshot();
     logger.info("Running initial sync asynchronously...");
     syncService.sync();
-    logger.info("Initial sync completed.");
+    logger.info("Initial sync submitted.");
+  }
+
+  /**
+   * Imports the snapshot configured by {@code snapshot.bootstrap-file} if no accounts are stored yet.
+   * A failed import is logged and leaves the table to the initial sync.
+   */
+  private void importBootstrapSnapshot() {
+    if (bootstrapFile.isBlank() || !accountBulkLoader.isTableEmpty()) {
+      return;
+    }
+    try {
+      int imported = snapshotService.importSnapshotFile(Path.of(bootstrapFile));
+      logger.info("Imported {} accounts from bootstrap snapshot {}.", imported, bootstrapFile);
+    } catch (Exception e) {
+      logger.error("Error occurred while importing bootstrap snapshot {}: {}", bootstrapFile, e.getMessage());
+    }
   }
 
   /**
@@ -75,6 +112,6 @@ public class SyncScheduler {
   public void runSyncTask() {
     logger.info("Scheduled sync started...");
     syncService.sync();
-    logger.info("Scheduled sync completed.");
+    logger.info("Scheduled sync submitted.");
   }
 }
@@ -1,21 +1,44 @@
 package com.example.drivesoft.sync;
 
 import com.example.drivesoft.account.Account;
+import com.example.drivesoft.account.AccountGenerationRepository;
+import com.example.drivesoft.account.AccountGenerationWatcher;
+import com.example.drivesoft.account.AccountLookupService;
 import com.example.drivesoft.account.AccountRepository;
+import com.example.drivesoft.account.AccountStatus;
+import com.example.drivesoft.analytics.AnalyticsService;
+import com.example.drivesoft.analytics.AnalyticsSketchSet;
+import com.example.drivesoft.archive.AccountArchiveRepository;
+import com.example.drivesoft.configuration.AsyncConfig;
+import com.example.drivesoft.datasource.Workload;
+import com.example.drivesoft.history.AccountHistoryRepository;
 import com.example.drivesoft.idms.IDMSConnectorService;
 import com.example.drivesoft.idms.objects.IDMSAccountListResponse;
+import com.example.drivesoft.report.SalesAggregateBatch;
+import com.example.drivesoft.report.SalesAggregateService;
+import com.example.drivesoft.snapshot.exception.SnapshotImportException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * The {@code SyncService} class provides functionality for synchronizing account data
@@ -23,13 +46,15 @@ import java.util.function.Predicate;
  * <p>
  * It is designed to handle account syncing in an asynchronous, transactional manner to ensure
  * that account data is processed and saved efficiently, while preventing multiple concurrent
- * syncs from running at the same time.
+ * syncs from running at the same time, on this node or, through the {@link AccountSyncLock}, on any
+ * other node sharing the database. When the {@code account} table is empty, accounts are bulk
+ * loaded by {@link AccountBulkLoader} instead of going through JPA. With {@code sync.full-refresh.enabled},
+ * every sync instead writes a complete new generation of the table and swaps it in atomically.
  * </p>
  *
  * <p>Annotations:</p>
  * <ul>
  * <li>{@code @Service} - Marks this class as a Spring service component.</li>
- * <li>{@code @Transactional} - Ensures that all database operations are handled within a transaction.</li>
  * <li>{@code @Async} - Marks the method as asynchronous to allow non-blocking execution.</li>
  * </ul>
  *
@@ -38,7 +63,12 @@ import java.util.function.Predicate;
  * <li>{@code sync} - Initiates the synchronization process, ensuring that only one sync is running at a time.</li>
  * <li>{@code processAndSaveAccounts} - Fetches the account data from the IDMS system, processes it, and saves it to the repository.</li>
  * <li>{@code distinctByKey} - A helper method to filter out duplicate accounts based on their {@code acctID}.</li>
- * <li>{@code saveAccounts} - Saves the accounts to the repository in batches to optimize database performance.</li>
+ * <li>{@code loadSnapshot} - Loads the accounts of a snapshot into an empty table.</li>
+ * <li>{@code runExclusive} - Runs another task writing accounts, unless a sync is in progress on any node.</li>
+ * <li>{@code bulkLoadAccounts} - Loads all accounts into an empty table with multi-row inserts.</li>
+ * <li>{@code refreshAccounts} - Builds the next generation of the account table in a shadow table and swaps it in.</li>
+ * <li>{@code saveAccounts} - Saves new and changed accounts to the repository in JDBC batches and updates the sales aggregates.</li>
+ * <li>{@code deactivateMissingAccounts} - Marks the accounts that are no longer listed by IDMS as inactive.</li>
  * </ul>
  *
  * @since 1.0
@@ -55,30 +85,98 @@ public class SyncService {
   // Service to handle communication with the external IDMS system.
   private final IDMSConnectorService idmsConnectorService;
 
+  // Service maintaining the pre-computed sales aggregates.
+  private final SalesAggregateService salesAggregateService;
+
+  // Service maintaining the approximate analytics sketches.
+  private final AnalyticsService analyticsService;
+
+  // Service serving single-account lookups, notified of inserted and changed accounts.
+  private final AccountLookupService accountLookupService;
+
+  // Repository appending versions of inserted and changed accounts to the history table.
+  private final AccountHistoryRepository accountHistoryRepository;
+
+  // Repository telling which accounts were moved to the archive and are no longer synced.
+  private final AccountArchiveRepository accountArchiveRepository;
+
+  // Loader writing the first sync into an empty account table.
+  private final AccountBulkLoader accountBulkLoader;
+
+  // Repository advancing the generation of the account data in each sync transaction that changes accounts.
+  private final AccountGenerationRepository accountGenerationRepository;
+
+  // Watcher telling this node's read store and caches about each committed sync.
+  private final AccountGenerationWatcher accountGenerationWatcher;
+
+  // Named lock keeping the writers of the account table of all nodes from overlapping.
+  private final AccountSyncLock accountSyncLock;
+
+  // Template running each sync in a transaction of its own.
+  private final TransactionTemplate transactionTemplate;
+
+  // Entity manager of the sync transaction, used to observe its JDBC batches.
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  // Number of accounts whose existing rows are loaded with one query.
+  @Value("${sync.chunk-size}")
+  private int chunkSize;
+
+  // Whether a sync replaces the account table with a freshly built shadow table.
+  @Value("${sync.full-refresh.enabled}")
+  private boolean fullRefresh;
+
   // Atomic flag to ensure that only one sync operation can occur at a time.
   private final AtomicBoolean isSyncing = new AtomicBoolean(false);
 
   /**
    * Constructs a {@code SyncService} with the required dependencies.
    *
-   * @param accountRepository    the repository for account data operations
-   * @param idmsConnectorService the service for interacting with the IDMS system
+   * @param accountRepository           the repository for account data operations
+   * @param idmsConnectorService        the service for interacting with the IDMS system
+   * @param salesAggregateService       the service maintaining the sales aggregates
+   * @param analyticsService            the service maintaining the analytics sketches
+   * @param accountLookupService        the service serving single-account lookups
+   * @param accountHistoryRepository    the repository appending account versions to the history table
+   * @param accountArchiveRepository    the repository telling which accounts were archived
+   * @param accountBulkLoader           the loader writing the first sync into an empty account table
+   * @param accountGenerationRepository the repository advancing the generation of the account data
+   * @param accountGenerationWatcher    the watcher notified after each committed sync
+   * @param accountSyncLock             the named lock shared by the writers of the account table
+   * @param transactionManager          the transaction manager running the sync transactions
    */
-  public SyncService(AccountRepository accountRepository, IDMSConnectorService idmsConnectorService) {
+  public SyncService(AccountRepository accountRepository, IDMSConnectorService idmsConnectorService,
+                     SalesAggregateService salesAggregateService, AnalyticsService analyticsService,
+                     AccountLookupService accountLookupService, AccountHistoryRepository accountHistoryRepository,
+                     AccountArchiveRepository accountArchiveRepository, AccountBulkLoader accountBulkLoader,
+                     AccountGenerationRepository accountGenerationRepository,
+                     AccountGenerationWatcher accountGenerationWatcher,
+                     AccountSyncLock accountSyncLock, PlatformTransactionManager transactionManager) {
     this.accountRepository = accountRepository;
     this.idmsConnectorService = idmsConnectorService;
+    this.salesAggregateService = salesAggregateService;
+    this.analyticsService = analyticsService;
+    this.accountLookupService = accountLookupService;
+    this.accountHistoryRepository = accountHistoryRepository;
+    this.accountArchiveRepository = accountArchiveRepository;
+    this.accountBulkLoader = accountBulkLoader;
+    this.accountGenerationRepository = accountGenerationRepository;
+    this.accountGenerationWatcher = accountGenerationWatcher;
+    this.accountSyncLock = accountSyncLock;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
   /**
    * Initiates the synchronization process to fetch account data from the IDMS system and save it.
    * <p>
-   * The method is asynchronous, meaning it will run in a separate thread, allowing other tasks
-   * to proceed without blocking. It also ensures that only one sync operation can be running at a time
-   * by using an atomic flag.
+   * The method is asynchronous, meaning it will run on the sync executor, allowing other tasks
+   * to proceed without blocking. Its database work uses the sync connection pool. It also ensures that
+   * only one sync operation can be running at a time, by using an atomic flag on this node and the
+   * {@link AccountSyncLock} across nodes.
    * </p>
    */
-  @Async
-  @Transactional
+  @Async(AsyncConfig.SYNC_EXECUTOR)
   public void sync() {
     // Ensures that only one sync operation runs at a time
     if (!isSyncing.compareAndSet(false, true)) {
@@ -86,8 +184,10 @@ public class SyncService {
       return;
     }
     try {
-      // Process and save the accounts from IDMS system
-      processAndSaveAccounts();
+      // Process and save the accounts from IDMS system, unless another node is writing them
+      if (!accountSyncLock.runLocked(this::processAndSaveAccounts)) {
+        logger.info("Sync operation in progress on another node. Skipping this run.");
+      }
     } catch (Exception e) {
       // Log the error and handle retry logic if necessary
       logger.error("Error occurred during sync operation: {}", e.getMessage());
@@ -97,9 +197,60 @@ public class SyncService {
     }
   }
 
+  /**
+   * Loads the accounts of a snapshot into the empty {@code account} table, so that a new node can serve
+   * requests before its first sync completes. The accounts are bulk loaded on the calling thread as
+   * {@link Workload#SYNC}; the next sync then merges the changes made in IDMS since the snapshot.
+   *
+   * @param accounts the accounts read from the snapshot, without identifiers
+   * @throws SnapshotImportException if a sync is in progress or the table already holds accounts
+   */
+  public void loadSnapshot(List<Account> accounts) {
+    boolean ran = runExclusive(() -> {
+      if (!accountBulkLoader.isTableEmpty()) {
+        throw new SnapshotImportException("Snapshots can only be imported into an empty account table");
+      }
+      bulkLoadAccounts(accounts);
+      accountGenerationWatcher.poll();
+    });
+    if (!ran) {
+      throw new SnapshotImportException("A sync is in progress");
+    }
+  }
+
+  /**
+   * Runs a task that writes to the {@code account} table on the calling thread as {@link Workload#SYNC},
+   * unless a sync or another such task is in progress on this or another node. The task holds the
+   * {@link AccountSyncLock} while it runs.
+   *
+   * @param task the task to run
+   * @return {@code true} if the task ran, {@code false} if it was skipped
+   */
+  public boolean runExclusive(Runnable task) {
+    if (!isSyncing.compareAndSet(false, true)) {
+      return false;
+    }
+    try {
+      AtomicBoolean ran = new AtomicBoolean();
+      Workload.SYNC.run(() -> ran.set(accountSyncLock.runLocked(task)));
+      return ran.get();
+    } finally {
+      isSyncing.set(false);
+    }
+  }
+
   /**
    * Fetches the account data from the IDMS system, processes it to remove duplicates,
    * and saves it to the account repository.
+   * <p>
+   * Accounts that were moved to the archive are skipped. The others are bulk loaded if the
+   * {@code account} table is empty. Otherwise they replace the stored accounts through a shadow table in
+   * full-refresh mode, or are merged into them in a single transaction. Once the transaction has
+   * committed, the {@link AccountGenerationWatcher} is polled, so that this node's read store and caches
+   * catch up at once if it advanced the generation of the account data; the other nodes catch up when they
+   * next poll it. The caller must hold the {@link AccountSyncLock}, as {@link #sync} does, since the
+   * empty-table check and the bulk load DDL are not atomic otherwise.
+   * </p>
    *
    * @see IDMSConnectorService#getAccountList
    */
@@ -110,14 +261,43 @@ public class SyncService {
     // If response contains data, process and save it
     if (response != null && response.getData() != null) {
       // Map the raw data to Account entities and remove duplicates based on acctID
-      List<Account> accounts = response.getData().stream()
+      List<Account> pulled = response.getData().stream()
               .map(wrapper -> wrapper.getRow().mapToEntity())
               .filter(distinctByKey(Account::getAcctID)) // Remove duplicates by acctID
               .toList();
 
+      // Archived accounts belong to the cold tier and are no longer synced
+      List<Account> accounts = withoutArchivedAccounts(pulled);
+
       // Save the accounts to the repository
-      saveAccounts(accounts);
+      if (accountBulkLoader.isApplicable()) {
+        bulkLoadAccounts(accounts);
+      } else if (fullRefresh) {
+        refreshAccounts(accounts);
+      } else {
+        transactionTemplate.executeWithoutResult(status -> saveAccounts(accounts));
+      }
+      accountGenerationWatcher.poll();
+    }
+  }
+
+  /**
+   * Removes the accounts that were moved to the archive, looking them up in chunks of
+   * {@code sync.chunk-size} acctIDs, one {@code IN} query per chunk, so that only the archived acctIDs
+   * among the pulled ones are read.
+   *
+   * @param pulled the accounts pulled from IDMS
+   * @return the accounts that are not archived, in their pulled order
+   */
+  private List<Account> withoutArchivedAccounts(List<Account> pulled) {
+    List<Account> accounts = new ArrayList<>(pulled.size());
+    for (int from = 0; from < pulled.size(); from += chunkSize) {
+      List<Account> chunk = pulled.subList(from, Math.min(from + chunkSize, pulled.size()));
+      Set<String> archivedAcctIDs = accountArchiveRepository.findArchivedAcctIDs(
+              chunk.stream().map(Account::getAcctID).toList());
+      chunk.stream().filter(account -> !archivedAcctIDs.contains(account.getAcctID())).forEach(accounts::add);
     }
+    return accounts;
   }
 
   /**
@@ -132,31 +312,234 @@ public class SyncService {
     return t -> seen.putIfAbsent(keyExtractor.apply(t), Boolean.TRUE) == null;
   }
 
+  /**
+   * Loads the accounts into the empty {@code account} table.
+   * <p>
+   * The secondary indexes are dropped, the accounts are written with multi-row inserts together with
+   * their sales aggregates, analytics, first history version and a new generation of the account data,
+   * which makes every node reload all accounts, in one transaction, and the indexes are rebuilt afterwards, even if the load fails.
+   * </p>
+   *
+   * @param accounts the accounts pulled from IDMS or read from a snapshot
+   */
+  private void bulkLoadAccounts(List<Account> accounts) {
+    long started = System.nanoTime();
+    accountBulkLoader.dropSecondaryIndexes();
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        accountBulkLoader.insertAll(accounts);
+        SalesAggregateBatch aggregateBatch = new SalesAggregateBatch();
+        AnalyticsSketchSet analyticsBatch = analyticsService.newBatch();
+        for (Account account : accounts) {
+          // Snapshots may contain inactive accounts, which are not part of the aggregates
+          if (account.getStatus() == AccountStatus.ACTIVE) {
+            aggregateBatch.add(account);
+            analyticsBatch.record(account);
+          }
+        }
+        accountHistoryRepository.appendAll(accounts, Instant.now(), chunkSize);
+        salesAggregateService.apply(aggregateBatch);
+        analyticsService.apply(analyticsBatch);
+        accountGenerationRepository.reset();
+        accountLookupService.accountsChanged(accounts.stream().map(Account::getAcctID).toList());
+      });
+    } finally {
+      accountBulkLoader.rebuildSecondaryIndexes();
+    }
+    accountBulkLoader.evictCaches();
+    logger.info("Bulk loaded {} accounts in {} ms.", accounts.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+  }
+
+  /**
+   * Replaces the {@code account} table with a new generation built from the pulled accounts.
+   * <p>
+   * Only the acctIDs and identifiers of the stored accounts are read, so that the pulled accounts keep the
+   * identifiers of existing accounts and new ones are assigned fresh identifiers. The pulled accounts are
+   * written into a shadow table with multi-row inserts, so the live table takes no sync write locks and
+   * readers keep seeing the complete previous generation. In the same transaction, the accounts that are
+   * new, changed or reactivated are found by comparing the shadow table with the live table in SQL, and
+   * the stored accounts no longer listed are copied into the shadow table as inactive with an
+   * {@code INSERT ... SELECT}, so the stored accounts are never loaded into memory. The shadow table is
+   * then swapped in with a single {@code RENAME TABLE}. The whole refresh runs under the
+   * {@link AccountSyncLock}, so no other writer can change the table between the read and the swap.
+   * </p>
+   * <p>
+   * Afterwards, in one transaction, the sales aggregates and analytics sketches are rebuilt from the
+   * pulled accounts, which are the active accounts of the new generation, a version is appended to the
+   * history for every account whose latest version differs from its row, and the generation of the
+   * account data is advanced so that every node reloads all accounts. This step depends only on the
+   * swapped-in table, so if it fails, or the node dies after the swap, the next refresh repairs it. An
+   * empty pull is never applied, so that an IDMS outage cannot deactivate every account.
+   * </p>
+   *
+   * @param accounts the accounts pulled from IDMS
+   */
+  private void refreshAccounts(List<Account> accounts) {
+    if (accounts.isEmpty()) {
+      return;
+    }
+    long started = System.nanoTime();
+    Map<String, Long> ids = accountBulkLoader.findIdsByAcctID();
+    int inserted = 0;
+    for (Account account : accounts) {
+      Long id = ids.get(account.getAcctID());
+      account.setId(id);
+      if (id == null) {
+        inserted++;
+      }
+    }
+
+    List<String> changedAcctIDs = new ArrayList<>();
+    List<String> deactivatedAcctIDs = new ArrayList<>();
+    accountBulkLoader.createShadowTable();
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        accountBulkLoader.insertAllIntoShadowTable(accounts);
+        changedAcctIDs.addAll(accountBulkLoader.findChangedAcctIDsInShadowTable());
+        deactivatedAcctIDs.addAll(accountBulkLoader.copyMissingIntoShadowTable());
+      });
+      accountBulkLoader.swapShadowTable();
+    } catch (RuntimeException e) {
+      accountBulkLoader.dropShadowTable();
+      throw e;
+    }
+    accountBulkLoader.evictCaches();
+    changedAcctIDs.addAll(deactivatedAcctIDs);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      SalesAggregateBatch aggregateBatch = new SalesAggregateBatch();
+      AnalyticsSketchSet analytics = analyticsService.newBatch();
+      for (Account account : accounts) {
+        aggregateBatch.add(account);
+        analytics.record(account);
+      }
+      salesAggregateService.replaceAll(aggregateBatch);
+      analyticsService.replace(analytics);
+      accountHistoryRepository.appendDivergent(Instant.now());
+      accountGenerationRepository.reset();
+      accountLookupService.accountsChanged(changedAcctIDs);
+    });
+    logger.info("Sync refreshed {} accounts ({} inserted, {} changed, {} deactivated) through a shadow table in {} ms.",
+            accounts.size() + deactivatedAcctIDs.size(), inserted,
+            changedAcctIDs.size() - deactivatedAcctIDs.size() - inserted, deactivatedAcctIDs.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+  }
+
   /**
    * Saves a list of account entities to the repository.
    * <p>
-   * The accounts are saved in batches to optimize database performance. If an account
-   * already exists (checked by acctID), it is skipped.
+   * The accounts are processed in chunks of {@code sync.chunk-size}. The existing accounts of a chunk are
+   * loaded with a single {@code IN} query, so that no query runs between two inserts; a query would make
+   * Hibernate flush each pending insert on its own and defeat JDBC batching. New accounts are inserted,
+   * existing accounts (matched by acctID) are updated only if their content changed, and unchanged
+   * accounts are skipped; inactive accounts that reappear are reactivated. Accounts no longer listed are
+   * then deactivated. The resulting deltas are applied to the sales aggregates, new accounts are recorded
+   * in a batch of analytics sketches that is merged into the persisted sketches, and a version of every
+   * inserted, changed or deactivated account is appended to the history table in JDBC batches, all in the
+   * same transaction; unchanged accounts add no history. If accounts were changed or deactivated, the
+   * sketches are rebuilt from the active accounts instead of merging the batch, since they cannot forget
+   * the previous values. If any account was inserted, changed or
+   * deactivated, the generation of the account data is advanced in the same transaction with the acctIDs
+   * logged as its changes, and the acctIDs are passed to the {@link AccountLookupService}.
    * </p>
    *
    * @param accounts the list of accounts to be saved
    */
   private void saveAccounts(List<Account> accounts) {
-    int batchSize = 30;
-    for (int i = 0; i < accounts.size(); i++) {
-      // Skip if the account already exists
-      if (accountRepository.existsByAcctID(accounts.get(i).getAcctID())) {
-        continue;
+    JdbcBatchCounter batchCounter = new JdbcBatchCounter();
+    entityManager.unwrap(Session.class).addEventListeners(batchCounter);
+    SalesAggregateBatch aggregateBatch = new SalesAggregateBatch();
+    AnalyticsSketchSet analyticsBatch = analyticsService.newBatch();
+    List<String> changedAcctIDs = new ArrayList<>();
+    List<Account> versions = new ArrayList<>();
+    Instant syncTime = Instant.now();
+    int inserted = 0;
+    salesAggregateService.seedIfEmpty();
+    for (int from = 0; from < accounts.size(); from += chunkSize) {
+      List<Account> chunk = accounts.subList(from, Math.min(from + chunkSize, accounts.size()));
+      Map<String, Account> existingByAcctID = accountRepository
+              .findByAcctIDIn(chunk.stream().map(Account::getAcctID).toList()).stream()
+              .collect(Collectors.toMap(Account::getAcctID, Function.identity()));
+      for (Account account : chunk) {
+        Account existing = existingByAcctID.get(account.getAcctID());
+        if (existing == null) {
+          // Save the new account to the repository
+          accountRepository.save(account);
+          aggregateBatch.add(account);
+          analyticsBatch.record(account);
+          versions.add(account);
+          inserted++;
+        } else if (existing.getStatus() == AccountStatus.INACTIVE) {
+          // Reactivate an account that reappeared in IDMS
+          existing.copyContentFrom(account);
+          existing.setStatus(AccountStatus.ACTIVE);
+          aggregateBatch.add(existing);
+          versions.add(existing);
+        } else if (!existing.hasSameContent(account)) {
+          // Record the change before copying, so the delta removes the previous values
+          aggregateBatch.change(existing, account);
+          existing.copyContentFrom(account);
+          versions.add(existing);
+        } else {
+          // Skip if the account is unchanged
+          continue;
+        }
+        changedAcctIDs.add(account.getAcctID());
       }
-      // Save the account to the repository
-      accountRepository.save(accounts.get(i));
+      // Flush the chunk; Hibernate groups the inserts and updates into JDBC batches
+      accountRepository.flush();
+    }
+    logger.info("Sync inserted {} and updated {} accounts using {} JDBC batches and {} single statements.",
+            inserted, changedAcctIDs.size() - inserted, batchCounter.getBatches(), batchCounter.getStatements());
+    accountHistoryRepository.appendAll(versions, syncTime, chunkSize);
+    changedAcctIDs.addAll(deactivateMissingAccounts(accounts, aggregateBatch, syncTime));
+    salesAggregateService.apply(aggregateBatch);
+    if (changedAcctIDs.size() > inserted) {
+      analyticsService.rebuild();
+    } else {
+      analyticsService.apply(analyticsBatch);
+    }
+    if (!changedAcctIDs.isEmpty()) {
+      accountGenerationRepository.advance(changedAcctIDs);
+    }
+    accountLookupService.accountsChanged(changedAcctIDs);
+  }
 
-      // Flush in batches to improve performance
-      if (i % batchSize == 0 && i > 0) {
-        accountRepository.flush();
-      }
+  /**
+   * Marks the active accounts that are missing from the pulled IDMS list as inactive.
+   * <p>
+   * The local-minus-remote difference is computed by probing a hash set of the pulled acctIDs with the
+   * acctIDs of the active accounts, reading only the {@code acct_id} column. The missing accounts are
+   * processed in chunks of {@code sync.chunk-size}: they are loaded once to remove them from the sales
+   * aggregates, then marked inactive with a single bulk {@code UPDATE} per chunk, and their new version is
+   * appended to the history table with a single {@code INSERT ... SELECT}. An empty pull is never
+   * reconciled, so that an IDMS outage cannot deactivate every account.
+   * </p>
+   *
+   * @param accounts       the complete list of accounts pulled from IDMS
+   * @param aggregateBatch the batch collecting the sales aggregate deltas
+   * @param syncTime       the time from which the new versions are valid
+   * @return the acctIDs of the deactivated accounts
+   */
+  private List<String> deactivateMissingAccounts(List<Account> accounts, SalesAggregateBatch aggregateBatch,
+                                                 Instant syncTime) {
+    if (accounts.isEmpty()) {
+      return List.of();
+    }
+    Set<String> remoteAcctIDs = accounts.stream().map(Account::getAcctID).collect(Collectors.toSet());
+    List<String> missingAcctIDs = accountRepository.findAcctIDsByStatus(AccountStatus.ACTIVE).stream()
+            .filter(acctID -> !remoteAcctIDs.contains(acctID))
+            .toList();
+    for (int from = 0; from < missingAcctIDs.size(); from += chunkSize) {
+      List<String> chunk = missingAcctIDs.subList(from, Math.min(from + chunkSize, missingAcctIDs.size()));
+      accountRepository.findByAcctIDInAndStatus(chunk, AccountStatus.ACTIVE).forEach(aggregateBatch::remove);
+      accountRepository.updateStatusByAcctIDIn(chunk, AccountStatus.INACTIVE);
+      accountHistoryRepository.appendCurrent(chunk, syncTime);
+    }
+    if (!missingAcctIDs.isEmpty()) {
+      logger.info("Sync deactivated {} accounts no longer listed by IDMS.", missingAcctIDs.size());
     }
-    // Final flush to ensure all accounts are persisted
-    accountRepository.flush();
+    return missingAcctIDs;
   }
 }
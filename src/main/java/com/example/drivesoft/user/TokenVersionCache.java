@@ -0,0 +1,93 @@
+package com.example.drivesoft.user;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The {@code TokenVersionCache} class checks whether the token version carried by an access token is
+ * still the current token version of its user.
+ * <p>
+ * Access tokens are self-contained, so authenticated requests do not load the user. Revoking the tokens
+ * of a user increments its {@code token_version}; tokens issued for an older version are then rejected.
+ * Versions are read with a single-column query and cached for {@code jwt.user-version-check.ttl}, which
+ * bounds how long a token stays usable on other nodes after a revocation. The node that revokes the
+ * tokens evicts its entry at once. When {@code jwt.user-version-check.enabled} is {@code false}, every
+ * token is accepted until it expires.
+ * </p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ * <li>{@code @Component} - Marks this class as a Spring component to be automatically discovered and injected by Spring.</li>
+ * </ul>
+ *
+ * <p>Key Methods:</p>
+ * <ul>
+ * <li>{@code isCurrent} - Checks whether a token version is the current one of its user.</li>
+ * <li>{@code revoke} - Revokes all tokens issued to a user.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class TokenVersionCache {
+
+  // Repository reading and incrementing token versions
+  private final UserRepository userRepository;
+
+  // Current token version by username, empty for unknown users
+  private final LoadingCache<String, Optional<Integer>> versions;
+
+  @Value("${jwt.user-version-check.enabled}")
+  private boolean enabled;
+
+  /**
+   * Constructs a {@code TokenVersionCache}.
+   *
+   * @param userRepository the repository reading and incrementing token versions
+   * @param ttl            how long a token version is cached
+   * @param maxSize        the maximum number of cached users
+   */
+  public TokenVersionCache(UserRepository userRepository,
+                           @Value("${jwt.user-version-check.ttl}") Duration ttl,
+                           @Value("${jwt.user-version-check.max-size}") long maxSize) {
+    this.userRepository = userRepository;
+    this.versions = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .build(userRepository::findTokenVersionByUsername);
+  }
+
+  /**
+   * Checks whether a token version is the current token version of its user.
+   *
+   * @param username     the subject of the token
+   * @param tokenVersion the token version carried by the token
+   * @return {@code true} if the check is disabled or the version is current, {@code false} if the tokens
+   * of the user were revoked or the user no longer exists
+   */
+  public boolean isCurrent(String username, int tokenVersion) {
+    if (!enabled) {
+      return true;
+    }
+    return versions.get(username).map(current -> current == tokenVersion).orElse(false);
+  }
+
+  /**
+   * Revokes all tokens issued to a user so far, by incrementing its token version.
+   *
+   * @param username the username of the user
+   * @return {@code true} if the user exists, otherwise {@code false}
+   */
+  @Transactional
+  public boolean revoke(String username) {
+    boolean revoked = userRepository.incrementTokenVersion(username) > 0;
+    versions.invalidate(username);
+    return revoked;
+  }
+}
@@ -31,6 +31,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
  * <li>{@code id} - The unique identifier for the user (auto-generated).</li>
  * <li>{@code username} - The unique username for the user, cannot be empty.</li>
  * <li>{@code password} - The user's password, cannot be empty.</li>
+ * <li>{@code tokenVersion} - The version of the user's tokens; incrementing it revokes the issued tokens.</li>
  * </ul>
  *
  * @since 1.0
@@ -67,4 +68,11 @@ public class User {
   @NotEmpty(message = "Password cannot be empty")
   @Column(name = "password", nullable = false)
   private String password;
+
+  /**
+   * The version of the user's tokens.
+   * Access tokens carry the version they were issued for and are rejected once it has been incremented.
+   */
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
 }
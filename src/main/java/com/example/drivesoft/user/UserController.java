@@ -0,0 +1,42 @@
+package com.example.drivesoft.user;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * UserController is a REST controller for administering users. It is restricted to the users listed in
+ * {@code admin.usernames}.
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/admin/users")
+public class UserController {
+
+  // Cache of token versions, which also revokes tokens.
+  private final TokenVersionCache tokenVersionCache;
+
+  /**
+   * Constructs a UserController with the specified TokenVersionCache.
+   *
+   * @param tokenVersionCache the cache of token versions
+   */
+  public UserController(TokenVersionCache tokenVersionCache) {
+    this.tokenVersionCache = tokenVersionCache;
+  }
+
+  /**
+   * Handles POST requests revoking all tokens issued to a user.
+   *
+   * @param username the username of the user
+   * @return a ResponseEntity with no content, or with status 404 if the user does not exist
+   */
+  @PostMapping("/{username}/revoke-tokens")
+  public ResponseEntity<Void> revokeTokens(@PathVariable String username) {
+    return new ResponseEntity<>(tokenVersionCache.revoke(username) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+  }
+}
@@ -12,12 +12,17 @@ import java.util.List;
  * This class is responsible for representing user-specific data (such as username and password)
  * for use by Spring Security during authentication and authorization processes.
  * </p>
+ * <p>
+ * During login it is built from the {@link User} entity. For authenticated API requests it is built from
+ * the claims of the access token, without a password and without reading the user from the database.
+ * </p>
  *
  * <p>Key Methods:</p>
  * <ul>
  * <li>{@code getAuthorities} - Returns the authorities (roles/permissions) granted to the user.</li>
  * <li>{@code getPassword} - Returns the password of the user.</li>
  * <li>{@code getUsername} - Returns the username (or email) of the user.</li>
+ * <li>{@code getTokenVersion} - Returns the version of the user's tokens.</li>
  * </ul>
  *
  * @since 1.0
@@ -26,14 +31,20 @@ public class UserDetailsImpl implements UserDetails {
   // Username for the user
   private final String username;
 
-  // Password for the user
+  // Password for the user; null for a principal built from token claims
   private final String password;
 
+  // Version of the user's tokens
+  private final int tokenVersion;
+
+  // Authorities granted to the user
+  private final List<GrantedAuthority> authorities;
+
   /**
    * Constructs a {@code UserDetailsImpl} instance using a {@link User} entity.
    * <p>
    * This constructor is used to convert a {@link User} entity to a Spring Security-specific
-   * {@link UserDetails} object.
+   * {@link UserDetails} object. No specific authorities are assigned.
    * </p>
    *
    * @param user the user entity to convert to UserDetails
@@ -41,20 +52,41 @@ public class UserDetailsImpl implements UserDetails {
   public UserDetailsImpl(User user) {
     this.username = user.getUsername();
     this.password = user.getPassword();
+    this.tokenVersion = user.getTokenVersion();
+    this.authorities = List.of();
+  }
+
+  /**
+   * Constructs a {@code UserDetailsImpl} instance from the claims of an access token.
+   *
+   * @param username     the subject of the token
+   * @param tokenVersion the token version the token was issued for
+   * @param authorities  the authorities listed in the token
+   */
+  public UserDetailsImpl(String username, int tokenVersion, Collection<? extends GrantedAuthority> authorities) {
+    this.username = username;
+    this.password = null;
+    this.tokenVersion = tokenVersion;
+    this.authorities = List.copyOf(authorities);
   }
 
   /**
    * Returns the authorities (roles/permissions) granted to the user.
-   * <p>
-   * In this implementation, no specific authorities are assigned, but this can be extended
-   * to include roles or permissions if needed.
-   * </p>
    *
-   * @return an empty list representing no granted authorities
+   * @return the granted authorities; empty unless roles are assigned
    */
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    return List.of(); // No authorities granted in this implementation
+    return authorities;
+  }
+
+  /**
+   * Returns the version of the user's tokens.
+   *
+   * @return the token version
+   */
+  public int getTokenVersion() {
+    return tokenVersion;
   }
 
   /**
@@ -1,7 +1,13 @@
 package com.example.drivesoft.user;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotEmpty;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -22,6 +28,8 @@ import java.util.Optional;
  * <p>Key Method:</p>
  * <ul>
  * <li>{@code findByUsername} - Retrieves a {@link User} entity based on the given username.</li>
+ * <li>{@code findTokenVersionByUsername} - Reads only the token version of a user.</li>
+ * <li>{@code incrementTokenVersion} - Revokes all tokens issued to a user.</li>
  * </ul>
  *
  * @since 1.0
@@ -35,9 +43,33 @@ public interface UserRepository extends JpaRepository<User, Integer> {
    * This method uses a custom query method to find a {@link User} entity based on the username. If the user is
    * not found, an {@link Optional} is returned to indicate the absence of the user.
    * </p>
+   * <p>
+   * The query result is cached, and the user itself is resolved from the second-level cache, so repeated
+   * logins for the same username do not reach the database.
+   * </p>
    *
    * @param username the username of the user to be retrieved
    * @return an {@link Optional} containing the user if found, otherwise {@link Optional#empty()}
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<User> findByUsername(@NotEmpty(message = "Username cannot be empty") String username);
+
+  /**
+   * Reads the token version of a user without loading the entity.
+   *
+   * @param username the username of the user
+   * @return an {@link Optional} containing the token version if the user exists, otherwise {@link Optional#empty()}
+   */
+  @Query("select u.tokenVersion from User u where u.username = :username")
+  Optional<Integer> findTokenVersionByUsername(@Param("username") String username);
+
+  /**
+   * Increments the token version of a user, which revokes all tokens issued before.
+   *
+   * @param username the username of the user
+   * @return the number of updated users, {@code 0} if the user does not exist
+   */
+  @Modifying
+  @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.username = :username")
+  int incrementTokenVersion(@Param("username") String username);
 }
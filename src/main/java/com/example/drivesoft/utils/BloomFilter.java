@@ -0,0 +1,106 @@
+package com.example.drivesoft.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code BloomFilter} class is a thread-safe, fixed-size Bloom filter for strings.
+ * <p>
+ * A Bloom filter answers "definitely absent" or "possibly present" for a key. It never reports a key
+ * that was added as absent, and reports an absent key as present with roughly the configured
+ * false-positive probability, as long as no more than the expected number of keys are added.
+ * </p>
+ * <p>
+ * Bits are stored in an {@link AtomicLongArray}, so keys can be added while other threads are querying
+ * without locking. Each key is hashed once with 64-bit FNV-1a, and the probe positions are derived from
+ * the hash and its halves swapped (Kirsch-Mitzenmacher double hashing), taken as unsigned 64-bit values
+ * so that every bit of a filter larger than 2<sup>31</sup> bits can be probed.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class BloomFilter {
+
+  // FNV-1a 64-bit constants
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  // Bit array backing the filter
+  private final AtomicLongArray bits;
+
+  // Number of bits in the filter
+  private final long bitCount;
+
+  // Number of probe positions per key
+  private final int hashCount;
+
+  /**
+   * Constructs a {@code BloomFilter} sized for the expected number of keys and false-positive probability.
+   *
+   * @param expectedInsertions       the number of keys the filter is expected to hold
+   * @param falsePositiveProbability the target false-positive probability, between 0 and 1 exclusive
+   * @throws IllegalArgumentException if either argument is out of range
+   */
+  public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+    }
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("False-positive probability must be in (0, 1): " + falsePositiveProbability);
+    }
+    long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+    int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+    this.bits = new AtomicLongArray(words);
+    this.bitCount = (long) words * 64;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * Adds a key to the filter.
+   *
+   * @param key the key to add
+   */
+  public void put(String key) {
+    long h1 = hash(key);
+    long h2 = Long.rotateLeft(h1, 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = bits.get(word);
+      while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+        current = bits.get(word);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a key may have been added to the filter.
+   *
+   * @param key the key to check
+   * @return {@code false} if the key was definitely never added; {@code true} if it possibly was
+   */
+  public boolean mightContain(String key) {
+    long h1 = hash(key);
+    long h2 = Long.rotateLeft(h1, 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long index(long combinedHash) {
+    return Long.remainderUnsigned(combinedHash, bitCount);
+  }
+
+  private static long hash(String key) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+}
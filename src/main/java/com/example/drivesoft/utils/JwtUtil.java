@@ -1,22 +1,39 @@
 package com.example.drivesoft.utils;
 
+import com.example.drivesoft.security.SigningKeyRing;
+import com.example.drivesoft.user.UserDetailsImpl;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * The {@code JwtUtil} class provides utility methods for working with JWT (JSON Web Tokens).
  * <p>
- * This class includes methods for generating, validating, and extracting information from JWT tokens.
+ * This class includes methods for generating and validating JWT tokens and for reading the user from their claims.
  * It also handles token signing using a secret key and ensures proper handling of token expiration.
  * </p>
+ * <p>
+ * Keys come from the shared {@link SigningKeyRing}: tokens are signed with its active key and name that
+ * key in their {@code kid} header, and are verified with whichever key of the ring they name, so every
+ * node accepts tokens issued by any other node.
+ * </p>
+ * <p>
+ * Tokens are parsed by a single, thread-safe {@link JwtParser} built once. {@link #parseToken} verifies
+ * the signature and expiration and returns the claims, so that a request parses its token only once.
+ * </p>
+ * <p>
+ * Tokens carry the identity of the user: the username as subject, the user's token version as
+ * {@code ver} and its authorities as {@code roles}. {@link #toPrincipal} rebuilds the principal from
+ * these claims, so authenticated requests do not load the user from the database.
+ * </p>
  *
  * <p>Annotations:</p>
  * <ul>
@@ -25,10 +42,9 @@ import java.util.function.Function;
  *
  * <p>Key Methods:</p>
  * <ul>
- * <li>{@code generateToken} - Generates a JWT token for the specified username.</li>
- * <li>{@code validateToken} - Validates the JWT token against user details and checks its expiration.</li>
- * <li>{@code extractUsername} - Extracts the username (subject) from the JWT token.</li>
- * <li>{@code extractExpiration} - Extracts the expiration date from the JWT token.</li>
+ * <li>{@code generateToken} - Generates a JWT token for the specified user.</li>
+ * <li>{@code parseToken} - Verifies the JWT token once and returns its claims.</li>
+ * <li>{@code toPrincipal} - Builds the authenticated user from verified claims.</li>
  * </ul>
  *
  * @since 1.0
@@ -36,31 +52,54 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-  // Secret key for signing the JWT tokens
-  private static final SecretKey SECRET = Jwts.SIG.HS256.key().build();
-
   // Token expiration time (30 minutes)
   private static final int EXPIRATION_TIME = 1000 * 60 * 30;
 
+  // Claim holding the token version of the user
+  private static final String VERSION_CLAIM = "ver";
+
+  // Claim holding the authorities of the user
+  private static final String ROLES_CLAIM = "roles";
+
+  // Key ring signing new tokens and verifying tokens by their key ID
+  private final SigningKeyRing signingKeyRing;
+
+  // Parser verifying tokens with the key ring; immutable and safe to share between threads
+  private final JwtParser parser;
+
+  /**
+   * Constructs a {@code JwtUtil}.
+   *
+   * @param signingKeyRing the key ring signing and verifying tokens
+   */
+  public JwtUtil(SigningKeyRing signingKeyRing) {
+    this.signingKeyRing = signingKeyRing;
+    this.parser = Jwts.parser()
+            .keyLocator(signingKeyRing) // Verify the token signature with the key named by its header
+            .build();
+  }
+
   /**
-   * Generates a JWT token for the given username.
+   * Generates a JWT token for the given user.
    * <p>
-   * This method creates a token with a subject (username) and an expiration time.
-   * The generated token is signed using the secret key.
+   * This method creates a token with a subject (username), the user's token version and authorities,
+   * and an expiration time. The generated token is signed using the secret key.
    * </p>
    *
-   * @param userName the username for which the token is generated
+   * @param user the authenticated user for which the token is generated
    * @return the generated JWT token as a string
    */
-  public String generateToken(String userName) {
+  public String generateToken(UserDetailsImpl user) {
     Map<String, Object> claims = new HashMap<>();
-    return createToken(claims, userName);
+    claims.put(VERSION_CLAIM, user.getTokenVersion());
+    claims.put(ROLES_CLAIM, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    return createToken(claims, user.getUsername());
   }
 
   /**
    * Creates a JWT token with the specified claims and subject (username).
    * <p>
-   * This method is used internally by {@link #generateToken(String)} to create the token,
+   * This method is used internally by {@link #generateToken(UserDetailsImpl)} to create the token,
    * including claims such as the username, issue date, and expiration time.
    * </p>
    *
@@ -70,100 +109,46 @@ public class JwtUtil {
    */
   private String createToken(Map<String, Object> claims, String userName) {
     return Jwts.builder()
+            .header().keyId(signingKeyRing.getActiveKeyId()).and() // Name the signing key
             .claims(claims) // Additional claims
             .subject(userName) // Set the subject (username)
             .issuedAt(new Date()) // Token issuance time
             .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME)) // Set expiration time
-            .signWith(SECRET) // Sign the token with the secret key
+            .signWith(signingKeyRing.getActiveKey()) // Sign the token with the active key
             .compact();
   }
 
   /**
-   * Extracts the username (subject) from the JWT token.
-   * <p>
-   * This method retrieves the subject (username) stored in the token's claims.
-   * </p>
-   *
-   * @param token the JWT token
-   * @return the extracted username from the token
-   */
-  public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
-  }
-
-  /**
-   * Extracts the expiration date from the JWT token.
-   * <p>
-   * This method retrieves the expiration date stored in the token's claims.
-   * </p>
-   *
-   * @param token the JWT token
-   * @return the expiration date of the token
-   */
-  public Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
-  }
-
-  /**
-   * Extracts a specific claim from the JWT token using the provided resolver function.
-   * <p>
-   * This method allows extracting any claim from the JWT token, such as username or expiration date,
-   * by passing an appropriate claim resolver function.
-   * </p>
-   *
-   * @param token          the JWT token
-   * @param claimsResolver the function used to extract a specific claim from the token
-   * @param <T>            the type of the claim being extracted
-   * @return the extracted claim of type {@code T}
-   */
-  public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
-  }
-
-  /**
-   * Extracts all claims from the JWT token.
-   * <p>
-   * This method parses the JWT token and returns all the claims stored within it.
-   * </p>
-   *
-   * @param token the JWT token
-   * @return the claims extracted from the token
-   */
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-            .verifyWith(SECRET) // Verify the token signature
-            .build() // Build the parser
-            .parseSignedClaims(token) // Parse the token
-            .getPayload(); // Get the token payload
-  }
-
-  /**
-   * Checks if the JWT token has expired.
+   * Parses the JWT token, verifying its signature and expiration.
    * <p>
-   * This method compares the current time with the expiration time of the token.
+   * The returned claims should be passed on instead of the token, so that the token is not parsed again.
    * </p>
    *
    * @param token the JWT token
-   * @return true if the token has expired, false otherwise
+   * @return the claims of the token
+   * @throws io.jsonwebtoken.ExpiredJwtException          if the token has expired
+   * @throws io.jsonwebtoken.security.SignatureException if the signature does not match
+   * @throws io.jsonwebtoken.JwtException                 if the token is malformed
    */
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+  public Claims parseToken(String token) {
+    return parser.parseSignedClaims(token).getPayload();
   }
 
   /**
-   * Validates the JWT token against user details and checks if the token is expired.
+   * Builds the authenticated user from the claims of a verified token.
    * <p>
-   * This method validates the token by checking if the username in the token matches the
-   * provided user details and if the token is not expired.
+   * Tokens issued before the version claim was introduced are treated as version {@code 0}.
    * </p>
    *
-   * @param token       the JWT token
-   * @param userDetails the user details to validate the token against
-   * @return true if the token is valid (username matches and token is not expired), false otherwise
+   * @param claims the claims returned by {@link #parseToken}
+   * @return the user described by the claims, without a password
    */
-  public boolean validateToken(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+  public UserDetailsImpl toPrincipal(Claims claims) {
+    Integer version = claims.get(VERSION_CLAIM, Integer.class);
+    List<?> roles = claims.get(ROLES_CLAIM, List.class);
+    List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+            .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+            .toList();
+    return new UserDetailsImpl(claims.getSubject(), version == null ? 0 : version, authorities);
   }
 }
@@ -0,0 +1,17 @@
+-- Log of the acctIDs changed in each generation of the account data, so that a node whose read store and
+-- caches hold an older generation only reloads the accounts changed since. Entries older than
+-- account.change-log.retention are pruned; pruned_through is the last generation whose entries may be
+-- missing, and nodes at an older generation reload everything. Generations that replace the whole table,
+-- such as a bulk load or a full refresh, set it to themselves.
+
+CREATE TABLE `account_change` (
+  `generation` bigint NOT NULL,
+  `acct_id` varchar(255) NOT NULL,
+  `changed_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`generation`, `acct_id`),
+  KEY `idx_account_change_changed_at` (`changed_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+ALTER TABLE `account_generation` ADD COLUMN `pruned_through` bigint NOT NULL DEFAULT 0;
+
+UPDATE `account_generation` SET `pruned_through` = `generation` WHERE `id` = 1;
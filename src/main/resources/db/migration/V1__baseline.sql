@@ -0,0 +1,50 @@
+-- Baseline schema: the "user" table and admin account from backup/drivesoft_data_dump.sql, plus the
+-- tables previously created by spring.jpa.hibernate.ddl-auto=update.
+--
+-- Every statement is idempotent, so this migration also runs cleanly on a database restored from the
+-- dump or created by an earlier version of the application (Flyway baselines those at version 0).
+
+CREATE TABLE IF NOT EXISTS `user` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `password` varchar(255) NOT NULL,
+  `username` varchar(255) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UKr43af9ap4edm43mmtq01oddj6` (`username`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO `user` (`id`, `password`, `username`)
+VALUES (1, '$2a$10$dN9n5njxSXm3xeuquPF25OPuywdAl7VRK8N7hOTKcjNg9bapTB6Za', 'admin');
+
+CREATE TABLE IF NOT EXISTS `account` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `contract_sales_price` decimal(38,2) DEFAULT NULL,
+  `acct_type` varchar(255) DEFAULT NULL,
+  `sales_group_person1_id` varchar(255) DEFAULT NULL,
+  `contract_date` date DEFAULT NULL,
+  `collateral_stock_number` varchar(255) DEFAULT NULL,
+  `collateral_year_model` varchar(255) DEFAULT NULL,
+  `collateral_make` varchar(255) DEFAULT NULL,
+  `collateral_model` varchar(255) DEFAULT NULL,
+  `borrower1_first_name` varchar(255) DEFAULT NULL,
+  `borrower1_last_name` varchar(255) DEFAULT NULL,
+  `acct_id` varchar(255) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_account_acct_id` (`acct_id`),
+  KEY `idx_acct_id` (`acct_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `sales_aggregate` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `dimension` varchar(20) NOT NULL,
+  `dimension_key` varchar(255) NOT NULL,
+  `account_count` bigint NOT NULL,
+  `total_sales_price` decimal(38,2) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_sales_aggregate_dimension_key` (`dimension`, `dimension_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `analytics_sketch` (
+  `name` varchar(191) NOT NULL,
+  `data` mediumblob NOT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,17 @@
+-- Switches account.id from AUTO_INCREMENT to the pooled "id_generator" table used by Hibernate,
+-- so that account inserts can be sent in JDBC batches.
+--
+-- The generator row is seeded so that the first block handed out (next_val - 49 .. next_val) starts
+-- after the highest existing id. On an empty table Hibernate creates the row itself.
+
+CREATE TABLE IF NOT EXISTS `id_generator` (
+  `sequence_name` varchar(255) NOT NULL,
+  `next_val` bigint DEFAULT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_generator` (`sequence_name`, `next_val`)
+SELECT 'account', MAX(`id`) + 50 FROM `account` HAVING MAX(`id`) IS NOT NULL
+ON DUPLICATE KEY UPDATE `next_val` = GREATEST(`next_val`, VALUES(`next_val`));
+
+ALTER TABLE `account` MODIFY `id` bigint NOT NULL;
@@ -0,0 +1,6 @@
+-- Adds the status column used to tombstone accounts that are no longer listed by IDMS.
+-- Existing accounts start out active; the next sync deactivates the ones IDMS no longer lists.
+
+ALTER TABLE `account`
+  ADD COLUMN `status` varchar(16) NOT NULL DEFAULT 'ACTIVE',
+  ADD KEY `idx_account_status` (`status`);
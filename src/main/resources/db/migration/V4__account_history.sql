@@ -0,0 +1,30 @@
+-- Append-only history of account versions (type 2 slowly changing dimension). A version is valid from
+-- its valid_from until the valid_from of the next version of the same acct_id.
+-- The current content of every existing account is recorded as its first version.
+
+CREATE TABLE `account_history` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `acct_id` varchar(255) NOT NULL,
+  `valid_from` datetime(6) NOT NULL,
+  `status` varchar(16) NOT NULL,
+  `contract_sales_price` decimal(38,2) DEFAULT NULL,
+  `acct_type` varchar(255) DEFAULT NULL,
+  `sales_group_person1_id` varchar(255) DEFAULT NULL,
+  `contract_date` date DEFAULT NULL,
+  `collateral_stock_number` varchar(255) DEFAULT NULL,
+  `collateral_year_model` varchar(255) DEFAULT NULL,
+  `collateral_make` varchar(255) DEFAULT NULL,
+  `collateral_model` varchar(255) DEFAULT NULL,
+  `borrower1_first_name` varchar(255) DEFAULT NULL,
+  `borrower1_last_name` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_account_history_acct_id_valid_from` (`acct_id`, `valid_from`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `account_history` (`contract_sales_price`, `acct_type`, `sales_group_person1_id`, `contract_date`,
+  `collateral_stock_number`, `collateral_year_model`, `collateral_make`, `collateral_model`,
+  `borrower1_first_name`, `borrower1_last_name`, `acct_id`, `status`, `valid_from`)
+SELECT `contract_sales_price`, `acct_type`, `sales_group_person1_id`, `contract_date`,
+  `collateral_stock_number`, `collateral_year_model`, `collateral_make`, `collateral_model`,
+  `borrower1_first_name`, `borrower1_last_name`, `acct_id`, `status`, CURRENT_TIMESTAMP(6)
+FROM `account`;
@@ -0,0 +1,8 @@
+-- Cold tier for accounts whose contract is older than account.tiering.max-age. Rows are moved here in
+-- batches by the tiering job and keep their id, content and status; reads include them on request only.
+-- The contract_date index lets the job find the next batch without scanning the hot table.
+
+ALTER TABLE `account`
+  ADD KEY `idx_account_contract_date` (`contract_date`);
+
+CREATE TABLE IF NOT EXISTS `account_archive` LIKE `account`;
@@ -0,0 +1,5 @@
+-- Adds the version of a user's tokens. Access tokens carry the version they were issued for, and
+-- incrementing it revokes every token issued before.
+
+ALTER TABLE `user`
+  ADD COLUMN `token_version` int NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Refresh tokens, stored as the SHA-256 hash of the token. Each login starts a family; every refresh
+-- marks the presented token used and adds its successor to the family. A used token presented again
+-- revokes its whole family.
+
+CREATE TABLE `refresh_token` (
+  `token_hash` char(64) NOT NULL,
+  `family_id` char(36) NOT NULL,
+  `username` varchar(255) NOT NULL,
+  `token_version` int NOT NULL,
+  `expires_at` datetime(6) NOT NULL,
+  `used` bit(1) NOT NULL DEFAULT b'0',
+  PRIMARY KEY (`token_hash`),
+  KEY `idx_refresh_token_family_id` (`family_id`),
+  KEY `idx_refresh_token_expires_at` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,18 @@
+-- idx_acct_id duplicates the unique key uk_account_acct_id, which already serves every lookup by acct_id,
+-- and only doubles the index maintenance of each write. account_archive was created LIKE account and
+-- carries the same duplicate. The index may be missing from account if a bulk load was interrupted, so
+-- each drop only runs if the index exists.
+
+SET @drop_account_idx = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE `account` DROP INDEX `idx_acct_id`', 'DO 0')
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE() AND table_name = 'account' AND index_name = 'idx_acct_id');
+PREPARE drop_account_idx FROM @drop_account_idx;
+EXECUTE drop_account_idx;
+DEALLOCATE PREPARE drop_account_idx;
+
+SET @drop_archive_idx = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE `account_archive` DROP INDEX `idx_acct_id`', 'DO 0')
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE() AND table_name = 'account_archive' AND index_name = 'idx_acct_id');
+PREPARE drop_archive_idx FROM @drop_archive_idx;
+EXECUTE drop_archive_idx;
+DEALLOCATE PREPARE drop_archive_idx;
@@ -0,0 +1,11 @@
+-- Generation of the account data, incremented in every transaction that changes the active accounts.
+-- Each node compares it with the generation of its memory-mapped read store and rewrites the store when
+-- they differ, so nodes that did not run the sync stop serving the previous data.
+
+CREATE TABLE `account_generation` (
+  `id` tinyint NOT NULL,
+  `generation` bigint NOT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `account_generation` (`id`, `generation`) VALUES (1, 0);
@@ -0,0 +1,98 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code AccountDTOFixtures} class builds deterministic {@link AccountDTO}s, the matching
+ * {@link Account} entities, and object mappers configured like the application's, for tests and
+ * benchmarks.
+ * <p>
+ * Values follow the shape of IDMS data: a few makes and account types, prices with two decimals, and
+ * some {@code null} fields.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class AccountDTOFixtures {
+
+  private static final String[] MAKES = {"Toyota", "Honda", "Ford", "Chevrolet", "Nissan", "Hyundai"};
+  private static final String[] MODELS = {"Camry", "Civic", "F-150", "Malibu", "Altima", "Elantra"};
+  private static final String[] TYPES = {"Retail", "Lease", "Fleet"};
+
+  private AccountDTOFixtures() {
+  }
+
+  /**
+   * Returns a new object mapper builder with the defaults of Spring Boot's auto-configured builder that
+   * affect account output: dates are written as ISO-8601 strings.
+   *
+   * @return the object mapper builder
+   */
+  public static Jackson2ObjectMapperBuilder applicationMapperBuilder() {
+    return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  /**
+   * Builds the given number of accounts, the same for every call.
+   *
+   * @param count the number of accounts
+   * @return the accounts
+   */
+  public static List<AccountDTO> accounts(int count) {
+    Random random = new Random(42);
+    List<AccountDTO> accounts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int make = random.nextInt(MAKES.length);
+      AccountDTO account = new AccountDTO();
+      account.setId((long) i + 1);
+      account.setVersion(0L);
+      account.setContractSalesPrice(BigDecimal.valueOf(500_000 + random.nextInt(5_000_000), 2));
+      account.setAcctType(TYPES[random.nextInt(TYPES.length)]);
+      account.setSalesGroupPerson1ID("SP" + random.nextInt(200));
+      account.setContractDate(i % 17 == 0 ? null : LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3650)));
+      account.setCollateralStockNumber("STK" + (100_000 + i));
+      account.setCollateralYearModel(String.valueOf(2005 + random.nextInt(20)));
+      account.setCollateralMake(MAKES[make]);
+      account.setCollateralModel(MODELS[make]);
+      account.setBorrower1FirstName(i % 23 == 0 ? null : "First" + random.nextInt(5000));
+      account.setBorrower1LastName("Last \"" + random.nextInt(5000) + "\"");
+      account.setAcctID("ACCT-" + (1_000_000 + i));
+      accounts.add(account);
+    }
+    return accounts;
+  }
+
+  /**
+   * Builds the entities of the accounts returned by {@link #accounts}, active and without an identifier
+   * or version, as they are before they are first saved.
+   *
+   * @param count the number of accounts
+   * @return the entities, in a mutable list
+   */
+  public static List<Account> entities(int count) {
+    List<Account> entities = new ArrayList<>(count);
+    for (AccountDTO accountDTO : accounts(count)) {
+      Account account = new Account();
+      account.setContractSalesPrice(accountDTO.getContractSalesPrice());
+      account.setAcctType(accountDTO.getAcctType());
+      account.setSalesGroupPerson1ID(accountDTO.getSalesGroupPerson1ID());
+      account.setContractDate(accountDTO.getContractDate());
+      account.setCollateralStockNumber(accountDTO.getCollateralStockNumber());
+      account.setCollateralYearModel(accountDTO.getCollateralYearModel());
+      account.setCollateralMake(accountDTO.getCollateralMake());
+      account.setCollateralModel(accountDTO.getCollateralModel());
+      account.setBorrower1FirstName(accountDTO.getBorrower1FirstName());
+      account.setBorrower1LastName(accountDTO.getBorrower1LastName());
+      account.setAcctID(accountDTO.getAcctID());
+      entities.add(account);
+    }
+    return entities;
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code AccountDTOSerializerBenchmark} class compares the serialization throughput of
+ * {@link AccountDTOSerializer} with Jackson's reflective bean serializer, for full and sparse fieldsets.
+ * <p>
+ * Run with {@code mvn -P benchmark test -Dbenchmark=AccountDTOSerializerBenchmark}.
+ * </p>
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountDTOSerializerBenchmark {
+
+  @Param({"1000"})
+  private int accountCount;
+
+  private ObjectMapper customMapper;
+  private ObjectMapper defaultMapper;
+  private List<AccountDTO> accounts;
+  private List<AccountDTO> sparseAccounts;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    customMapper = AccountDTOFixtures.applicationMapperBuilder().build();
+    defaultMapper = DefaultAccountDTOMapper.create();
+    accounts = AccountDTOFixtures.accounts(accountCount);
+    EnumSet<AccountField> fields = EnumSet.of(AccountField.ACCT_ID, AccountField.CONTRACT_SALES_PRICE,
+            AccountField.COLLATERAL_MAKE);
+    sparseAccounts = accounts.stream().map(account -> account.withFields(fields)).toList();
+  }
+
+  @Benchmark
+  public byte[] customSerializer() throws JsonProcessingException {
+    return customMapper.writeValueAsBytes(accounts);
+  }
+
+  @Benchmark
+  public byte[] beanSerializer() throws JsonProcessingException {
+    return defaultMapper.writeValueAsBytes(accounts);
+  }
+
+  @Benchmark
+  public byte[] customSerializerSparse() throws JsonProcessingException {
+    return customMapper.writeValueAsBytes(sparseAccounts);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(AccountDTOSerializerBenchmark.class.getSimpleName()).build()).run();
+  }
+}
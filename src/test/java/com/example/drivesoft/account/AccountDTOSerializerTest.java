@@ -0,0 +1,59 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that {@link AccountDTOSerializer} writes the same output as Jackson's bean serializer.
+ */
+class AccountDTOSerializerTest {
+
+  private final ObjectMapper mapper = AccountDTOFixtures.applicationMapperBuilder().build();
+  private final ObjectMapper defaultMapper = DefaultAccountDTOMapper.create();
+
+  @Test
+  void writesTheSameJsonAsTheBeanSerializer() throws Exception {
+    List<AccountDTO> accounts = AccountDTOFixtures.accounts(100);
+
+    assertThat(mapper.writeValueAsString(accounts)).isEqualTo(defaultMapper.writeValueAsString(accounts));
+  }
+
+  @Test
+  void writesNullValues() throws Exception {
+    AccountDTO account = new AccountDTO();
+    account.setAcctID("ACCT-1");
+
+    assertThat(mapper.writeValueAsString(account)).isEqualTo(defaultMapper.writeValueAsString(account));
+    assertThat(mapper.readTree(mapper.writeValueAsString(account)).get("contract_date").isNull()).isTrue();
+  }
+
+  @Test
+  void readsBackIntoAnEqualDTO() throws Exception {
+    for (AccountDTO account : AccountDTOFixtures.accounts(100)) {
+      AccountDTO read = mapper.readValue(mapper.writeValueAsBytes(account), AccountDTO.class);
+      // Identifier and version are never serialized
+      read.setId(account.getId());
+      read.setVersion(account.getVersion());
+
+      assertThat(read).isEqualTo(account);
+    }
+  }
+
+  @Test
+  void writesOnlyTheSelectedFieldsInOutputOrder() throws Exception {
+    AccountDTO account = AccountDTOFixtures.accounts(1).get(0)
+            .withFields(EnumSet.of(AccountField.ACCT_ID, AccountField.CONTRACT_SALES_PRICE));
+
+    JsonNode json = mapper.readTree(mapper.writeValueAsString(account));
+
+    assertThat(json.fieldNames()).toIterable().containsExactly("contract_sales_price", "acct_id");
+    assertThat(json.get("acct_id").asText()).isEqualTo(account.getAcctID());
+    assertThat(json.get("contract_sales_price").decimalValue()).isEqualTo(account.getContractSalesPrice());
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.drivesoft.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+
+/**
+ * The {@code DefaultAccountDTOMapper} class builds object mappers that write {@link AccountDTO} with
+ * Jackson's reflective bean serializer instead of {@link AccountDTOSerializer}, as the DTO was written
+ * before the custom serializer existed.
+ *
+ * @since 1.0
+ */
+final class DefaultAccountDTOMapper {
+
+  private DefaultAccountDTOMapper() {
+  }
+
+  /**
+   * Builds an object mapper configured like the application's, which ignores the {@code @JsonSerialize}
+   * annotation of {@link AccountDTO}.
+   *
+   * @return the object mapper
+   */
+  static ObjectMapper create() {
+    ObjectMapper mapper = AccountDTOFixtures.applicationMapperBuilder().build();
+    mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+      @Override
+      public Object findSerializer(Annotated annotated) {
+        return annotated.getRawType() == AccountDTO.class ? null : super.findSerializer(annotated);
+      }
+    });
+    return mapper;
+  }
+}
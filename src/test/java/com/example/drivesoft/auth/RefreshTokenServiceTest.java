@@ -0,0 +1,121 @@
+package com.example.drivesoft.auth;
+
+import com.example.drivesoft.auth.RefreshTokenRepository.StoredRefreshToken;
+import com.example.drivesoft.user.UserDetailsImpl;
+import com.example.drivesoft.user.UserRepository;
+import com.example.drivesoft.utils.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the rotation rules of {@link RefreshTokenService}: a token is exchanged once, a reused token
+ * revokes its family, and expired or revoked tokens are rejected.
+ */
+class RefreshTokenServiceTest {
+
+  private static final String FAMILY = "family-1";
+  private static final String USERNAME = "alice";
+
+  private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+  private final JwtUtil jwtUtil = mock(JwtUtil.class);
+  private final RefreshTokenService service =
+          new RefreshTokenService(refreshTokenRepository, userRepository, userDetailsService, jwtUtil);
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(service, "ttl", Duration.ofDays(14));
+    when(jwtUtil.generateToken(any())).thenReturn("access-token");
+  }
+
+  @Test
+  void exchangesATokenForItsSuccessorWithTheCurrentAuthorities() {
+    stored(false, Instant.now().plusSeconds(60), 3);
+    when(userRepository.findTokenVersionByUsername(USERNAME)).thenReturn(Optional.of(3));
+    when(userDetailsService.loadUserByUsername(USERNAME))
+            .thenReturn(new UserDetailsImpl(USERNAME, 3, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+    LoginResponseDTO response = service.refresh("presented");
+
+    ArgumentCaptor<String> presentedHash = ArgumentCaptor.forClass(String.class);
+    verify(refreshTokenRepository).findForUpdate(presentedHash.capture());
+    verify(refreshTokenRepository).markUsed(presentedHash.getValue());
+    verify(refreshTokenRepository).insert(anyString(), eq(FAMILY), eq(USERNAME), eq(3), any());
+    ArgumentCaptor<UserDetailsImpl> principal = ArgumentCaptor.forClass(UserDetailsImpl.class);
+    verify(jwtUtil).generateToken(principal.capture());
+    assertThat(principal.getValue().getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    assertThat(response.getRefreshToken()).isNotBlank().isNotEqualTo("presented");
+  }
+
+  @Test
+  void revokesTheFamilyOfAReusedToken() {
+    stored(true, Instant.now().plusSeconds(60), 3);
+
+    assertThatThrownBy(() -> service.refresh("presented")).isInstanceOf(BadCredentialsException.class);
+
+    verify(refreshTokenRepository).deleteFamily(FAMILY);
+    verifyNothingIssued();
+  }
+
+  @Test
+  void rejectsAnExpiredToken() {
+    stored(false, Instant.now().minusSeconds(1), 3);
+
+    assertThatThrownBy(() -> service.refresh("presented")).isInstanceOf(BadCredentialsException.class);
+
+    verifyNothingIssued();
+  }
+
+  @Test
+  void rejectsATokenOfARevokedVersion() {
+    stored(false, Instant.now().plusSeconds(60), 3);
+    when(userRepository.findTokenVersionByUsername(USERNAME)).thenReturn(Optional.of(4));
+
+    assertThatThrownBy(() -> service.refresh("presented")).isInstanceOf(BadCredentialsException.class);
+
+    verify(refreshTokenRepository).deleteFamily(FAMILY);
+    verifyNothingIssued();
+  }
+
+  @Test
+  void rejectsAnUnknownToken() {
+    when(refreshTokenRepository.findForUpdate(anyString())).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.refresh("presented")).isInstanceOf(BadCredentialsException.class);
+
+    verifyNothingIssued();
+  }
+
+  private void stored(boolean used, Instant expiresAt, int tokenVersion) {
+    when(refreshTokenRepository.findForUpdate(anyString()))
+            .thenReturn(Optional.of(new StoredRefreshToken(FAMILY, USERNAME, tokenVersion, expiresAt, used)));
+  }
+
+  private void verifyNothingIssued() {
+    verify(refreshTokenRepository, never()).markUsed(anyString());
+    verify(refreshTokenRepository, never()).insert(anyString(), anyString(), anyString(), anyInt(), any());
+    verify(jwtUtil, never()).generateToken(any());
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.drivesoft.configuration;
+
+import com.example.drivesoft.account.AccountDTO;
+import com.example.drivesoft.account.AccountDTOFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code ContentEncodingBenchmark} class compares the encode time of an account list in JSON, Smile
+ * and CBOR, using the object mappers configured by {@link ContentNegotiationConfig} on top of a builder
+ * with the application's defaults.
+ * <p>
+ * The payload size of each format does not vary between invocations, so it is measured once per trial
+ * and printed to the run log before the first iteration, outside the timed results.
+ * Run with {@code mvn -P benchmark test -Dbenchmark=ContentEncodingBenchmark}.
+ * </p>
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentEncodingBenchmark {
+
+  @Param({"json", "smile", "cbor"})
+  private String format;
+
+  @Param({"1000"})
+  private int accountCount;
+
+  private ObjectMapper mapper;
+  private List<AccountDTO> accounts;
+
+  @Setup(Level.Trial)
+  public void setUp() throws JsonProcessingException {
+    ContentNegotiationConfig config = new ContentNegotiationConfig();
+    mapper = switch (format) {
+      case "smile" -> config.smileHttpMessageConverter(AccountDTOFixtures.applicationMapperBuilder()).getObjectMapper();
+      case "cbor" -> config.cborHttpMessageConverter(AccountDTOFixtures.applicationMapperBuilder()).getObjectMapper();
+      default -> AccountDTOFixtures.applicationMapperBuilder().build();
+    };
+    accounts = AccountDTOFixtures.accounts(accountCount);
+    System.out.printf("%n%s payload of %d accounts: %d bytes%n", format, accountCount,
+            mapper.writeValueAsBytes(accounts).length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws JsonProcessingException {
+    return mapper.writeValueAsBytes(accounts);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ContentEncodingBenchmark.class.getSimpleName()).build()).run();
+  }
+}
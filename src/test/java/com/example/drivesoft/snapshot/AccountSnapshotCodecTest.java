@@ -0,0 +1,149 @@
+package com.example.drivesoft.snapshot;
+
+import com.example.drivesoft.account.Account;
+import com.example.drivesoft.account.AccountDTOFixtures;
+import com.example.drivesoft.account.AccountStatus;
+import com.example.drivesoft.snapshot.exception.InvalidSnapshotException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests that {@link AccountSnapshotCodec} reads back the accounts it wrote and rejects damaged snapshots.
+ */
+class AccountSnapshotCodecTest {
+
+  @Test
+  void readsBackEqualAccounts() throws Exception {
+    List<Account> accounts = AccountDTOFixtures.entities(1000);
+
+    assertThat(AccountSnapshotCodec.read(write(accounts))).isEqualTo(accounts);
+  }
+
+  @Test
+  void readsBackNullPricesAndDates() throws Exception {
+    List<Account> accounts = AccountDTOFixtures.entities(3);
+    Account account = accounts.get(1);
+    account.setContractSalesPrice(null);
+    account.setContractDate(null);
+    account.setBorrower1FirstName(null);
+
+    assertThat(AccountSnapshotCodec.read(write(accounts))).isEqualTo(accounts);
+  }
+
+  @Test
+  void readsBackPricesWhoseUnscaledValueExceedsALong() throws Exception {
+    List<Account> accounts = AccountDTOFixtures.entities(3);
+    accounts.get(0).setContractSalesPrice(new BigDecimal(BigInteger.ONE.shiftLeft(Long.SIZE + 10).negate(), 2));
+    accounts.get(1).setContractSalesPrice(new BigDecimal(BigInteger.valueOf(Long.MAX_VALUE), 4));
+
+    assertThat(AccountSnapshotCodec.read(write(accounts))).isEqualTo(accounts);
+  }
+
+  @Test
+  void readsBackInactiveAccounts() throws Exception {
+    List<Account> accounts = AccountDTOFixtures.entities(10);
+    accounts.get(3).setStatus(AccountStatus.INACTIVE);
+
+    List<Account> read = AccountSnapshotCodec.read(write(accounts));
+
+    assertThat(read).isEqualTo(accounts);
+    assertThat(read.get(3).getStatus()).isEqualTo(AccountStatus.INACTIVE);
+  }
+
+  @Test
+  void readsBackAColumnWithMoreDistinctValuesThanTheDictionaryHolds() throws Exception {
+    // 70,000 distinct last names among 140,000 rows would use dictionary mode without the size limit
+    List<Account> accounts = AccountDTOFixtures.entities(140_000);
+    for (int i = 0; i < accounts.size(); i++) {
+      accounts.get(i).setBorrower1LastName("Last" + (i % 70_000));
+    }
+
+    assertThat(AccountSnapshotCodec.read(write(accounts))).isEqualTo(accounts);
+  }
+
+  @Test
+  void readsBackASnapshotFile(@TempDir Path directory) throws Exception {
+    List<Account> accounts = AccountDTOFixtures.entities(1000);
+    Path file = Files.write(directory.resolve("accounts.dsnp"), write(accounts));
+
+    assertThat(AccountSnapshotCodec.read(file)).isEqualTo(accounts);
+  }
+
+  @Test
+  void rejectsAFlippedByteInASnapshotFile(@TempDir Path directory) throws Exception {
+    byte[] snapshot = write(AccountDTOFixtures.entities(100));
+    snapshot[snapshot.length / 2] ^= 0x01;
+    Path file = Files.write(directory.resolve("accounts.dsnp"), snapshot);
+
+    assertThatThrownBy(() -> AccountSnapshotCodec.read(file))
+            .isInstanceOf(InvalidSnapshotException.class)
+            .hasMessageContaining("checksum");
+  }
+
+  @Test
+  void rejectsAFlippedByte() throws Exception {
+    byte[] snapshot = write(AccountDTOFixtures.entities(100));
+    snapshot[snapshot.length / 2] ^= 0x01;
+
+    assertThatThrownBy(() -> AccountSnapshotCodec.read(snapshot))
+            .isInstanceOf(InvalidSnapshotException.class)
+            .hasMessageContaining("checksum");
+  }
+
+  @Test
+  void rejectsATruncatedSnapshot() throws Exception {
+    byte[] snapshot = write(AccountDTOFixtures.entities(100));
+    byte[] body = Arrays.copyOf(snapshot, snapshot.length - Integer.BYTES - 10);
+
+    assertThatThrownBy(() -> AccountSnapshotCodec.read(Arrays.copyOf(snapshot, snapshot.length - 1)))
+            .isInstanceOf(InvalidSnapshotException.class);
+    assertThatThrownBy(() -> AccountSnapshotCodec.read(withChecksum(body)))
+            .isInstanceOf(InvalidSnapshotException.class)
+            .hasMessageContaining("malformed");
+    assertThatThrownBy(() -> AccountSnapshotCodec.read(new byte[]{'D', 'S'}))
+            .isInstanceOf(InvalidSnapshotException.class)
+            .hasMessageContaining("truncated");
+  }
+
+  @Test
+  void rejectsDataAfterTheLastColumn() throws Exception {
+    byte[] snapshot = write(AccountDTOFixtures.entities(100));
+    byte[] body = Arrays.copyOf(snapshot, snapshot.length - Integer.BYTES + 1);
+
+    assertThatThrownBy(() -> AccountSnapshotCodec.read(withChecksum(body)))
+            .isInstanceOf(InvalidSnapshotException.class)
+            .hasMessageContaining("after the last column");
+  }
+
+  private static byte[] write(List<Account> accounts) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (AccountSnapshotCodec.Writer writer = AccountSnapshotCodec.newWriter()) {
+      for (Account account : accounts) {
+        writer.add(account);
+      }
+      writer.finish(out);
+    }
+    return out.toByteArray();
+  }
+
+  // Appends the CRC-32C trailer, so that a damaged body reaches the parser
+  private static byte[] withChecksum(byte[] body) {
+    CRC32C crc = new CRC32C();
+    crc.update(body);
+    return ByteBuffer.allocate(body.length + Integer.BYTES).put(body).putInt((int) crc.getValue()).array();
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.drivesoft.utils;
+
+import com.example.drivesoft.security.SigningKeyRing;
+import com.example.drivesoft.user.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code JwtParseBenchmark} class compares the cost of authenticating a request's token before and
+ * after {@link JwtUtil} shared its parser.
+ * <p>
+ * {@code tripleParse} repeats what the filter used to do: build a new parser for every claim read, and
+ * verify the token three times to read the subject, then the subject and the expiration again during
+ * validation. {@code singleParse} verifies it once with the shared parser and reads every claim from the
+ * result. Run with {@code mvn -P benchmark test -Dbenchmark=JwtParseBenchmark}.
+ * </p>
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParseBenchmark {
+
+  private SigningKeyRing signingKeyRing;
+  private JwtUtil jwtUtil;
+  private String token;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    signingKeyRing = new SigningKeyRing(event -> { });
+    ReflectionTestUtils.setField(signingKeyRing, "configuredKeys",
+            List.of("bench:" + Encoders.BASE64.encode(Jwts.SIG.HS256.key().build().getEncoded())));
+    ReflectionTestUtils.setField(signingKeyRing, "activeKid", "");
+    ReflectionTestUtils.setField(signingKeyRing, "keystorePath", "");
+    ReflectionTestUtils.setField(signingKeyRing, "keystorePassword", "");
+    ReflectionTestUtils.invokeMethod(signingKeyRing, "load");
+    jwtUtil = new JwtUtil(signingKeyRing);
+    token = jwtUtil.generateToken(new UserDetailsImpl("benchmark", 0, List.of(new SimpleGrantedAuthority("USER"))));
+  }
+
+  @Benchmark
+  public void tripleParse(Blackhole blackhole) {
+    String username = parseWithNewParser(token).getSubject();
+    blackhole.consume(username.equals(parseWithNewParser(token).getSubject())
+            && !parseWithNewParser(token).getExpiration().before(new Date()));
+  }
+
+  @Benchmark
+  public void singleParse(Blackhole blackhole) {
+    Claims claims = jwtUtil.parseToken(token);
+    blackhole.consume(claims.getSubject());
+    blackhole.consume(jwtUtil.toPrincipal(claims));
+  }
+
+  private Claims parseWithNewParser(String token) {
+    return Jwts.parser().keyLocator(signingKeyRing).build().parseSignedClaims(token).getPayload();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JwtParseBenchmark.class.getSimpleName()).build()).run();
+  }
+}